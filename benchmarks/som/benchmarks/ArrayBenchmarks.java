@@ -0,0 +1,75 @@
+package som.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+
+import som.vm.constants.Nil;
+import som.vmobjects.SArray;
+import som.vmobjects.SArray.ArrayType;
+import som.vmobjects.SInvokable;
+
+
+/**
+ * <code>Array>>#at:</code> and <code>Array>>#at:put:</code> for each
+ * {@link ArrayType}. The arrays are filled by SOM code, so that they go
+ * through the same transitions as in programs. The partially empty array
+ * keeps its first element empty, and <code>at:put:</code> only writes the
+ * others, so that it stays partially empty.
+ */
+public class ArrayBenchmarks extends SomBenchmark {
+
+  private static final String BENCHMARK = "ArrayBench = (\n"
+      + "  fill: arr from: start with: v = (\n"
+      + "    start to: arr length do: [:i | arr at: i put: v ] )\n"
+      + "  at: arr = ( | r |\n"
+      + "    1 to: arr length do: [:i | r := arr at: i ]. ^r )\n"
+      + "  at: arr put: v = (\n"
+      + "    2 to: arr length do: [:i | arr at: i put: v ] )\n"
+      + ")";
+
+  @Param({"EMPTY", "PARTIAL_EMPTY", "LONG", "DOUBLE", "BOOLEAN", "OBJECT"})
+  public ArrayType type;
+
+  private SArray array;
+  private Object value;
+
+  private SInvokable at;
+  private SInvokable atPut;
+
+  @Override
+  protected void setUp() {
+    loadBenchmark(BENCHMARK);
+    at    = method("at:");
+    atPut = method("at:put:");
+
+    array = SArray.create(OPERATIONS);
+    switch (type) {
+      case EMPTY:         value = Nil.nilObject; break;
+      case PARTIAL_EMPTY: value = universe.symbolFor("value"); break;
+      case LONG:          value = 42L; break;
+      case DOUBLE:        value = 4.2; break;
+      case BOOLEAN:       value = true; break;
+      case OBJECT:        value = universe.symbolFor("value"); break;
+    }
+    long start = type == ArrayType.PARTIAL_EMPTY ? 2 : 1;
+    method("fill:from:with:").invoke(benchmark, array, start, value);
+
+    if (array.getType() != type) {
+      throw new IllegalStateException("Expected a " + type
+          + " array, but got " + array.getType());
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS)
+  public Object at() {
+    return at.invoke(benchmark, array);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS - 1)
+  public Object atPut() {
+    return atPut.invoke(benchmark, array, value);
+  }
+}
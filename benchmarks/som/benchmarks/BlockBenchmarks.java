@@ -0,0 +1,48 @@
+package som.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+
+import som.vmobjects.SInvokable;
+
+
+/**
+ * Block evaluation with <code>value:</code>, and non-local returns, which
+ * unwind the stack from a block to its home method with an exception.
+ */
+public class BlockBenchmarks extends SomBenchmark {
+
+  private static final String BENCHMARK = "BlockBench = (\n"
+      + "  value = ( | b r |\n"
+      + "    b := [:x | x ].\n"
+      + "    1 to: " + OPERATIONS + " do: [:i | r := b value: i ].\n"
+      + "    ^r )\n"
+      + "  nonLocalReturn = ( | r |\n"
+      + "    1 to: " + OPERATIONS + " do: [:i | r := self returnFrom: i ].\n"
+      + "    ^r )\n"
+      + "  returnFrom: i = ( self evaluate: [ ^i ]. ^nil )\n"
+      + "  evaluate: block = ( ^block value )\n"
+      + ")";
+
+  private SInvokable value;
+  private SInvokable nonLocalReturn;
+
+  @Override
+  protected void setUp() {
+    loadBenchmark(BENCHMARK);
+    value          = method("value");
+    nonLocalReturn = method("nonLocalReturn");
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS)
+  public Object value() {
+    return value.invoke(benchmark);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS)
+  public Object nonLocalReturn() {
+    return nonLocalReturn.invoke(benchmark);
+  }
+}
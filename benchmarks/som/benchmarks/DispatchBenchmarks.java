@@ -0,0 +1,60 @@
+package som.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+
+import som.interpreter.nodes.dispatch.AbstractDispatchNode;
+import som.vm.Universe;
+import som.vmobjects.SArray;
+import som.vmobjects.SClass;
+import som.vmobjects.SInvokable;
+
+
+/**
+ * Message sends that go through the dispatch chain, which the
+ * {@link som.interpreter.nodes.dispatch.UninitializedDispatchNode} builds.
+ * The receivers are instances of 1, 3, or 8 classes, which makes the send
+ * monomorphic, polymorphic, or megamorphic, because 8 classes exceed the
+ * {@link AbstractDispatchNode#INLINE_CACHE_SIZE}.
+ */
+public class DispatchBenchmarks extends SomBenchmark {
+
+  private static final int RECEIVERS = 8;
+
+  private static final String BENCHMARK = "DispatchBench = (\n"
+      + "  send: receivers = ( | r n |\n"
+      + "    n := receivers length.\n"
+      + "    1 to: " + OPERATIONS + " do: [:i | r := (receivers at: i % n + 1) id ].\n"
+      + "    ^r )\n"
+      + ")";
+
+  @Param({"1", "3", "8"})
+  public int receiverClasses;
+
+  private SInvokable send;
+  private SArray     receivers;
+
+  @Override
+  protected void setUp() {
+    loadBenchmark(BENCHMARK);
+    send = method("send:");
+
+    SClass[] classes = new SClass[receiverClasses];
+    for (int i = 0; i < receiverClasses; i++) {
+      classes[i] = loadClass("DispatchReceiver" + i + " = ( id = ( ^" + i + " ) )");
+    }
+
+    Object[] rcvrs = new Object[RECEIVERS];
+    for (int i = 0; i < RECEIVERS; i++) {
+      rcvrs[i] = Universe.newInstance(classes[i % receiverClasses]);
+    }
+    receivers = SArray.create(rcvrs);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS)
+  public Object send() {
+    return send.invoke(benchmark, receivers);
+  }
+}
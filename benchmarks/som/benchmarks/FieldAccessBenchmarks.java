@@ -0,0 +1,87 @@
+package som.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+
+import som.interpreter.objectstorage.FieldAccessorNode;
+import som.interpreter.objectstorage.StorageLocation;
+import som.vmobjects.SInvokable;
+import som.vmobjects.SObject;
+
+
+/**
+ * Field reads and writes through the {@link FieldAccessorNode}s, for each
+ * kind of {@link StorageLocation}. All fields of the benchmark object hold
+ * values of the same type, so that the first field is stored directly in
+ * the object, and the last one in the extension array, because the object
+ * has only {@link SObject#NUM_PRIMITIVE_FIELDS} primitive and
+ * {@link SObject#NUM_OBJECT_FIELDS} object fields.
+ */
+public class FieldAccessBenchmarks extends SomBenchmark {
+
+  private static final String BENCHMARK = "FieldBench = (\n"
+      + "  | f1 f2 f3 f4 f5 f6 |\n"
+      + "  init: v = ( f1 := v. f2 := v. f3 := v. f4 := v. f5 := v. f6 := v )\n"
+      + "  readDirect = ( | r |\n"
+      + "    1 to: " + OPERATIONS + " do: [:i | r := f1 ]. ^r )\n"
+      + "  readExtension = ( | r |\n"
+      + "    1 to: " + OPERATIONS + " do: [:i | r := f6 ]. ^r )\n"
+      + "  writeDirect: v = (\n"
+      + "    1 to: " + OPERATIONS + " do: [:i | f1 := v ] )\n"
+      + "  writeExtension: v = (\n"
+      + "    1 to: " + OPERATIONS + " do: [:i | f6 := v ] )\n"
+      + ")";
+
+  @Param({"long", "double", "object"})
+  public String type;
+
+  private Object value;
+
+  private SInvokable readDirect;
+  private SInvokable readExtension;
+  private SInvokable writeDirect;
+  private SInvokable writeExtension;
+
+  @Override
+  protected void setUp() {
+    loadBenchmark(BENCHMARK);
+    readDirect     = method("readDirect");
+    readExtension  = method("readExtension");
+    writeDirect    = method("writeDirect:");
+    writeExtension = method("writeExtension:");
+
+    switch (type) {
+      case "long":   value = 42L; break;
+      case "double": value = 4.2; break;
+      case "object": value = universe.symbolFor("value"); break;
+      default:
+        throw new IllegalArgumentException("Unknown field type: " + type);
+    }
+    method("init:").invoke(benchmark, value);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS)
+  public Object readDirect() {
+    return readDirect.invoke(benchmark);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS)
+  public Object readExtension() {
+    return readExtension.invoke(benchmark);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS)
+  public Object writeDirect() {
+    return writeDirect.invoke(benchmark, value);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(OPERATIONS)
+  public Object writeExtension() {
+    return writeExtension.invoke(benchmark, value);
+  }
+}
@@ -0,0 +1,77 @@
+package som.benchmarks;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import som.vm.Universe;
+import som.vmobjects.SClass;
+import som.vmobjects.SInvokable;
+
+import com.oracle.truffle.api.source.Source;
+
+
+/**
+ * Base class of the microbenchmarks, which run small SOM methods in a
+ * universe that is set up once per fork.
+ *
+ * The benchmarked SOM methods execute the measured operation
+ * {@link #OPERATIONS} times in a loop, so that the cost of calling into SOM
+ * from Java does not dominate. Each fork starts with uninitialized ASTs,
+ * so the benchmarks should not be run with <code>-f 0</code>.
+ *
+ * The core library is taken from <code>Smalltalk</code>, or from the class
+ * path given with <code>-Dsom.benchmarks.classpath</code>.
+ */
+@State(Scope.Benchmark)
+public abstract class SomBenchmark {
+
+  public static final int OPERATIONS = 1000;
+
+  protected Universe universe;
+
+  /** The instance of the benchmark class, which runs its methods. */
+  protected Object benchmark;
+  private SClass   benchmarkClass;
+
+  @Setup
+  public final void setUpUniverse() {
+    universe = Universe.current();
+    universe.setAvoidExit(true);
+    universe.setupClassPath(System.getProperty("som.benchmarks.classpath",
+        "Smalltalk"));
+    universe.initializeObjectSystem();
+    setUp();
+  }
+
+  /**
+   * Load the SOM code of the benchmark, and prepare its receivers.
+   */
+  protected abstract void setUp();
+
+  /**
+   * Compile a class from its source, independent of the class path.
+   */
+  protected final SClass loadClass(final String source) {
+    String name = source.substring(0, source.indexOf('=')).trim();
+    return universe.loadClass(Source.fromText(source, name));
+  }
+
+  protected final void loadBenchmark(final String source) {
+    benchmarkClass = loadClass(source);
+    benchmark      = Universe.newInstance(benchmarkClass);
+  }
+
+  /**
+   * @return the method of the benchmark class with the given selector
+   */
+  protected final SInvokable method(final String selector) {
+    SInvokable invokable = benchmarkClass.lookupInvokable(
+        universe.symbolFor(selector));
+    if (invokable == null) {
+      throw new IllegalStateException(benchmarkClass.getName().getString()
+          + " does not implement #" + selector);
+    }
+    return invokable;
+  }
+}
@@ -0,0 +1,27 @@
+package som.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+
+import som.vmobjects.SSymbol;
+
+
+/**
+ * Looking up symbols with {@link som.vm.Universe#symbolFor(String)}, which
+ * the parser does for every identifier, and primitives such as
+ * <code>String>>#asSymbol</code> do at run time.
+ */
+public class SymbolBenchmarks extends SomBenchmark {
+
+  private String existing;
+
+  @Override
+  protected void setUp() {
+    existing = "benchmarkSymbol";
+    universe.symbolFor(existing);
+  }
+
+  @Benchmark
+  public SSymbol symbolForExisting() {
+    return universe.symbolFor(existing);
+  }
+}
@@ -40,9 +40,19 @@ import com.oracle.truffle.api.profiles.ValueProfile;
 public final class ClassGenerationContext {
   private static final ValueProfile storageType = ValueProfile.createClassProfile();
   private final Universe universe;
+  private final boolean  kernelClass;
 
   public ClassGenerationContext(final Universe universe) {
-    this.universe = universe;
+    this.universe    = universe;
+    this.kernelClass = universe.isLoadingKernel();
+  }
+
+  /**
+   * @return whether the class is part of the kernel, and its methods are
+   *         executed by all universes
+   */
+  public boolean isKernelClass() {
+    return kernelClass;
   }
 
   private SSymbol             name;
@@ -129,7 +139,7 @@ public final class ClassGenerationContext {
         SArray.create(classFields.toArray(new Object[0])));
     resultClass.setInstanceInvokables(
         SArray.create(classMethods.toArray(new Object[0])));
-    resultClass.setName(universe.symbolFor(ccname));
+    resultClass.setName(Universe.symbolFor(ccname));
 
     SClass superMClass = superClass.getSOMClass();
     resultClass.setSuperClass(superMClass);
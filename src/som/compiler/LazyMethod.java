@@ -0,0 +1,63 @@
+package som.compiler;
+
+import java.io.StringReader;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.source.Source;
+
+import som.compiler.Lexer.SourceCoordinate;
+import som.compiler.Parser.ParseError;
+import som.vm.StartupStatistics;
+import som.vm.StartupStatistics.Phase;
+import som.vm.Universe;
+import som.vmobjects.SInvokable.SMethod;
+
+
+/**
+ * The part of a method definition that is needed to parse its body on first
+ * invocation. Only the signature of a method is parsed when loading a class,
+ * the body is parsed again from the recorded start of the definition.
+ */
+public final class LazyMethod {
+
+  private final ClassGenerationContext holderGenc;
+  private final boolean                classSide;
+  private final SourceCoordinate       start;
+  private final Source                 source;
+  private final Universe               universe;
+
+  public LazyMethod(final ClassGenerationContext holderGenc,
+      final SourceCoordinate start, final Source source,
+      final Universe universe) {
+    this.holderGenc = holderGenc;
+    this.classSide  = holderGenc.isClassSide();
+    this.start      = start;
+    this.source     = source;
+    this.universe   = universe;
+  }
+
+  /**
+   * @throws som.vm.ExitException if the body has a syntax error, and the
+   *         VM does not exit on errors
+   */
+  @TruffleBoundary
+  public SMethod parse() {
+    // the class generation context is shared by all methods of the class,
+    // and the side it was on when the method was recorded has to be restored
+    synchronized (holderGenc) {
+      holderGenc.setClassSide(classSide);
+      long startTime = StartupStatistics.start();
+      Parser parser = new Parser(new StringReader(source.getCode()),
+          source.getLength(), source, universe, start);
+      try {
+        return (SMethod) parser.method(holderGenc);
+      } catch (ParseError pe) {
+        Universe.errorExit(pe.toString());
+        // not reached, errorExit() either exits or throws
+        throw new IllegalStateException(pe.toString());
+      } finally {
+        StartupStatistics.stopParsing(Phase.LAZY_PARSING, source, startTime);
+      }
+    }
+  }
+}
@@ -105,6 +105,26 @@ public final class Lexer {
     nextCharField = f;
   }
 
+  /**
+   * Create a lexer that starts reading at the given coordinate of the input,
+   * for instance to parse a single method of a class definition later on.
+   * The coordinates of all tokens are the same as if the input had been
+   * read from the beginning.
+   */
+  protected Lexer(final Reader reader, final long fileSize,
+      final SourceCoordinate start) {
+    this(reader, fileSize);
+    try {
+      infile.skip(start.charIndex - (start.startColumn - 1));
+    } catch (IOException ioe) {
+      throw new IllegalStateException("Error reading from input: "
+          + ioe.toString());
+    }
+    state.lineNumber = start.startLine - 1;
+    fillBuffer();
+    state.bufp = start.startColumn - 1;
+  }
+
   public static final class SourceCoordinate {
     public final int startLine;
     public final int startColumn;
@@ -358,8 +378,10 @@ public final class Lexer {
         e.printStackTrace();
       }
 
-      state.buf = infile.readLine();
-      if (state.buf == null) { return -1; }
+      // keep the last line at the end of the input, the buffer is never null
+      String line = infile.readLine();
+      if (line == null) { return -1; }
+      state.buf = line;
       ++state.lineNumber;
       state.bufp = 0;
       return state.buf.length();
@@ -30,16 +30,20 @@ import static som.interpreter.SNodeFactory.createFieldRead;
 import static som.interpreter.SNodeFactory.createFieldWrite;
 import static som.interpreter.SNodeFactory.createGlobalRead;
 import static som.interpreter.SNodeFactory.createNonLocalReturn;
+import static som.interpreter.SNodeFactory.createShellVariableRead;
+import static som.interpreter.SNodeFactory.createShellVariableWrite;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import som.compiler.Variable.Argument;
 import som.compiler.Variable.Local;
 import som.interpreter.LexicalScope;
 import som.interpreter.Method;
+import som.interpreter.bc.BytecodeGenerator;
 import som.interpreter.nodes.ExpressionNode;
 import som.interpreter.nodes.FieldNode.FieldReadNode;
 import som.interpreter.nodes.FieldNode.FieldWriteNode;
@@ -47,6 +51,8 @@ import som.interpreter.nodes.GlobalNode;
 import som.interpreter.nodes.ReturnNonLocalNode;
 import som.primitives.Primitives;
 import som.vm.Universe;
+import som.vm.Universe.Association;
+import som.vm.VmSettings;
 import som.vmobjects.SInvokable;
 import som.vmobjects.SInvokable.SMethod;
 import som.vmobjects.SSymbol;
@@ -78,6 +84,9 @@ public final class MethodGenerationContext {
 
   private final List<SMethod> embeddedBlockMethods;
 
+  // temporaries of the shell, for statements entered in it
+  private Map<String, Association> shellVariables;
+
 
   public MethodGenerationContext(final ClassGenerationContext holderGenc) {
     this(holderGenc, null, false);
@@ -178,9 +187,15 @@ public final class MethodGenerationContext {
       body = createCatchNonLocalReturn(body, getFrameOnStackMarkerSlot());
     }
 
+    ExpressionNode executableBody = body;
+    if (VmSettings.USE_BYTECODES) {
+      // translate a copy, the AST is still needed for inlining and splitting
+      executableBody = BytecodeGenerator.generateMethodBody(
+          (ExpressionNode) body.deepCopy());
+    }
     Method truffleMethod =
         new Method(getSourceSectionForMethod(sourceSection),
-            body, currentScope, (ExpressionNode) body.deepCopy());
+            executableBody, currentScope, (ExpressionNode) body.deepCopy());
 
     SInvokable meth = Universe.newMethod(signature, truffleMethod, false,
         embeddedBlockMethods.toArray(new SMethod[0]));
@@ -344,9 +359,42 @@ public final class MethodGenerationContext {
         holderGenc.getFieldIndex(fieldName), source);
   }
 
+  public void setShellVariables(final Map<String, Association> variables) {
+    assert outerGenc == null;
+    shellVariables = variables;
+  }
+
+  private Association getShellVariable(final String varName) {
+    if (outerGenc != null) {
+      return outerGenc.getShellVariable(varName);
+    }
+    return shellVariables == null ? null : shellVariables.get(varName);
+  }
+
+  public ExpressionNode getShellVariableRead(final String varName,
+      final SourceSection source) {
+    Association variable = getShellVariable(varName);
+    if (variable == null) {
+      return null;
+    }
+    return createShellVariableRead(variable, source);
+  }
+
+  public ExpressionNode getShellVariableWrite(final String varName,
+      final ExpressionNode exp, final SourceSection source) {
+    Association variable = getShellVariable(varName);
+    if (variable == null) {
+      return null;
+    }
+    return createShellVariableWrite(variable, exp, source);
+  }
+
   public GlobalNode getGlobalRead(final SSymbol varName,
       final Universe universe, final SourceSection source) {
-    return createGlobalRead(varName, universe, source);
+    // the kernel is shared, so its methods read the globals of the universe
+    // that executes them
+    return createGlobalRead(varName,
+        holderGenc.isKernelClass() ? null : universe, source);
   }
 
   public FieldWriteNode getObjectFieldWrite(final SSymbol fieldName,
@@ -65,7 +65,9 @@ import static som.interpreter.SNodeFactory.createSequence;
 import java.io.Reader;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.oracle.truffle.api.source.Source;
 import com.oracle.truffle.api.source.SourceSection;
@@ -92,8 +94,12 @@ import som.interpreter.nodes.specialized.IfTrueIfFalseInlinedLiteralsNode;
 import som.interpreter.nodes.specialized.IntToDoInlinedLiteralsNodeGen;
 import som.interpreter.nodes.specialized.whileloops.WhileInlinedLiteralsNode;
 import som.vm.Universe;
+import som.vm.Universe.Association;
+import som.vm.VmSettings;
+import som.vm.constants.Nil;
 import som.vmobjects.SArray;
 import som.vmobjects.SClass;
+import som.vmobjects.SInvokable;
 import som.vmobjects.SInvokable.SMethod;
 import som.vmobjects.SSymbol;
 
@@ -204,11 +210,24 @@ public final class Parser {
   }
 
   public Parser(final Reader reader, final long fileSize, final Source source, final Universe universe) {
+    this(new Lexer(reader, fileSize), source, universe);
+  }
+
+  /**
+   * Create a parser that starts at the given coordinate of the source,
+   * which is used to parse the body of lazily parsed methods.
+   */
+  public Parser(final Reader reader, final long fileSize, final Source source,
+      final Universe universe, final SourceCoordinate start) {
+    this(new Lexer(reader, fileSize, start), source, universe);
+  }
+
+  private Parser(final Lexer lexer, final Source source, final Universe universe) {
     this.universe = universe;
     this.source   = source;
+    this.lexer    = lexer;
 
     sym = NONE;
-    lexer = new Lexer(reader, fileSize);
     nextSym = NONE;
     getSymbolFromLexer();
   }
@@ -218,7 +237,7 @@ public final class Parser {
   }
 
   public void classdef(final ClassGenerationContext cgenc) throws ParseError {
-    cgenc.setName(universe.symbolFor(text));
+    cgenc.setName(Universe.symbolFor(text));
     expect(Identifier);
     expect(Equal);
 
@@ -229,11 +248,7 @@ public final class Parser {
 
     while (isIdentifier(sym) || sym == Keyword || sym == OperatorSequence
         || symIn(binaryOpSyms)) {
-      MethodGenerationContext mgenc = new MethodGenerationContext(cgenc);
-
-      ExpressionNode methodBody = method(mgenc);
-
-      cgenc.addInstanceMethod(mgenc.assemble(methodBody, lastMethodsSourceSection));
+      cgenc.addInstanceMethod(methodDefinition(cgenc));
     }
 
     if (accept(Separator)) {
@@ -241,22 +256,124 @@ public final class Parser {
       classFields(cgenc);
       while (isIdentifier(sym) || sym == Keyword || sym == OperatorSequence
           || symIn(binaryOpSyms)) {
-        MethodGenerationContext mgenc = new MethodGenerationContext(cgenc);
+        cgenc.addClassMethod(methodDefinition(cgenc));
+      }
+    }
+    expect(EndTerm);
+  }
 
-        ExpressionNode methodBody = method(mgenc);
-        cgenc.addClassMethod(mgenc.assemble(methodBody, lastMethodsSourceSection));
+  private SInvokable methodDefinition(final ClassGenerationContext cgenc)
+      throws ParseError {
+    // without a source, we could not come back to parse the body later
+    if (!VmSettings.LAZY_METHOD_PARSING || source == null) {
+      return method(cgenc);
+    }
+
+    SourceCoordinate coord = getCoordinate();
+    MethodGenerationContext mgenc = new MethodGenerationContext(cgenc);
+    pattern(mgenc);
+    expect(Equal);
+    if (sym == Primitive) {
+      mgenc.markAsPrimitive();
+      primitiveBlock();
+      return mgenc.assemble(null, null);
+    }
+
+    skipMethodBlock();
+    return Universe.newLazyMethod(mgenc.getSignature(),
+        new LazyMethod(cgenc, coord, source, universe));
+  }
+
+  /**
+   * Parse a complete method definition, i.e., its pattern and body,
+   * and assemble it.
+   */
+  public SInvokable method(final ClassGenerationContext cgenc) throws ParseError {
+    MethodGenerationContext mgenc = new MethodGenerationContext(cgenc);
+    ExpressionNode methodBody = method(mgenc);
+    return mgenc.assemble(methodBody, lastMethodsSourceSection);
+  }
+
+  /**
+   * Parse statements entered in the shell into a method <code>doIt:</code>,
+   * which takes the previous result as <code>it</code>, and returns the
+   * value of the last statement. Declared temporaries are added to the
+   * variables of the shell, so that later statements can use them, but only
+   * when the statements parse without error.
+   * The statements are terminated by a closing parenthesis, like the body of
+   * a method, because the end of the input is not distinguishable from an
+   * unknown binary operator.
+   */
+  public SInvokable shellStatements(final ClassGenerationContext cgenc,
+      final Map<String, Association> shellVariables) throws ParseError {
+    MethodGenerationContext mgenc = new MethodGenerationContext(cgenc);
+    mgenc.addArgumentIfAbsent("self");
+    mgenc.addArgumentIfAbsent("it");
+    mgenc.setSignature(Universe.symbolFor("doIt:"));
+
+    Map<String, Association> variables = new HashMap<>(shellVariables);
+    mgenc.setShellVariables(variables);
+
+    if (accept(Or)) {
+      while (isIdentifier(sym)) {
+        String name = variable();
+        if (!variables.containsKey(name)) {
+          variables.put(name,
+              new Association(Universe.symbolFor(name), Nil.nilObject));
+        }
       }
+      expect(Or);
     }
+
+    SourceCoordinate coord = getCoordinate();
+    List<ExpressionNode> expressions = new ArrayList<ExpressionNode>();
+    while (sym != EndTerm) {
+      boolean isReturn = accept(Exit);
+      expressions.add(expression(mgenc));
+      accept(Period);
+      if (isReturn) {
+        break;
+      }
+    }
+
+    ExpressionNode body = createSequenceNode(coord, expressions);
+    SourceSection source = getSource(coord);
     expect(EndTerm);
+    expect(NONE);
+
+    shellVariables.putAll(variables);
+    return mgenc.assemble(body, source);
+  }
+
+  /**
+   * Skip over a method body, only checking that the parentheses are balanced.
+   * Strings and comments are handled by the lexer, so that parentheses in
+   * them are not counted.
+   */
+  private void skipMethodBlock() throws ParseError {
+    expect(NewTerm);
+    int depth = 1;
+    while (depth > 0) {
+      if (sym == NewTerm) {
+        depth++;
+      } else if (sym == EndTerm) {
+        depth--;
+      } else if (sym == NONE) {
+        // reached the end of the input, or a character the lexer does not
+        // know, which it does not consume
+        expect(EndTerm);
+      }
+      getSymbolFromLexer();
+    }
   }
 
   private void superclass(final ClassGenerationContext cgenc) throws ParseError {
     SSymbol superName;
     if (sym == Identifier) {
-      superName = universe.symbolFor(text);
+      superName = Universe.symbolFor(text);
       accept(Identifier);
     } else {
-      superName = universe.symbolFor("Object");
+      superName = Universe.symbolFor("Object");
     }
     cgenc.setSuperName(superName);
 
@@ -311,7 +428,7 @@ public final class Parser {
     if (accept(Or)) {
       while (isIdentifier(sym)) {
         String var = variable();
-        cgenc.addInstanceField(universe.symbolFor(var));
+        cgenc.addInstanceField(Universe.symbolFor(var));
       }
       expect(Or);
     }
@@ -321,7 +438,7 @@ public final class Parser {
     if (accept(Or)) {
       while (isIdentifier(sym)) {
         String var = variable();
-        cgenc.addClassField(universe.symbolFor(var));
+        cgenc.addClassField(Universe.symbolFor(var));
       }
       expect(Or);
     }
@@ -383,7 +500,7 @@ public final class Parser {
     }
     while (sym == Keyword);
 
-    mgenc.setSignature(universe.symbolFor(kw.toString()));
+    mgenc.setSignature(Universe.symbolFor(kw.toString()));
   }
 
   private ExpressionNode methodBlock(final MethodGenerationContext mgenc) throws ParseError {
@@ -397,7 +514,7 @@ public final class Parser {
   }
 
   private SSymbol unarySelector() throws ParseError {
-    return universe.symbolFor(identifier());
+    return Universe.symbolFor(identifier());
   }
 
   private SSymbol binarySelector() throws ParseError {
@@ -413,7 +530,7 @@ public final class Parser {
     } else { expect(NONE); }
     // Checkstyle: resume
 
-    return universe.symbolFor(s);
+    return Universe.symbolFor(s);
   }
 
   private String identifier() throws ParseError {
@@ -660,7 +777,7 @@ public final class Parser {
     while (sym == Keyword);
 
     String msgStr = kw.toString();
-    SSymbol msg = universe.symbolFor(msgStr);
+    SSymbol msg = Universe.symbolFor(msgStr);
 
     SourceSection source = getSource(coord);
 
@@ -806,7 +923,7 @@ public final class Parser {
     expect(Pound);
     if (sym == STString) {
       String s = string();
-      symb = universe.symbolFor(s);
+      symb = Universe.symbolFor(s);
     } else {
       symb = selector();
     }
@@ -845,7 +962,7 @@ public final class Parser {
         return literalDouble(isNegativeNumber());
       case Identifier:
         expect(Identifier);
-        return universe.getGlobal(universe.symbolFor(new String(text)));
+        return universe.getGlobal(Universe.symbolFor(new String(text)));
       default:
         throw new ParseError("Could not parse literal array value", NONE, this);
     }
@@ -868,7 +985,7 @@ public final class Parser {
   private SSymbol keywordSelector() throws ParseError {
     String s = new String(text);
     expectOneOf(keywordSelectorSyms);
-    SSymbol symb = universe.symbolFor(s);
+    SSymbol symb = Universe.symbolFor(s);
     return symb;
   }
 
@@ -895,7 +1012,7 @@ public final class Parser {
       blockSig += ":";
     }
 
-    mgenc.setSignature(universe.symbolFor(blockSig));
+    mgenc.setSignature(Universe.symbolFor(blockSig));
 
     ExpressionNode expressions = blockContents(mgenc);
 
@@ -934,13 +1051,19 @@ public final class Parser {
     }
 
     // then object fields
-    SSymbol varName = universe.symbolFor(variableName);
+    SSymbol varName = Universe.symbolFor(variableName);
     FieldReadNode fieldRead = mgenc.getObjectFieldRead(varName, source);
 
     if (fieldRead != null) {
       return fieldRead;
     }
 
+    // then the temporaries of the shell
+    ExpressionNode shellRead = mgenc.getShellVariableRead(variableName, source);
+    if (shellRead != null) {
+      return shellRead;
+    }
+
     // and finally assume it is a global
     return mgenc.getGlobalRead(varName, universe, source);
   }
@@ -952,11 +1075,15 @@ public final class Parser {
       return mgenc.getLocalWriteNode(variableName, exp, source);
     }
 
-    SSymbol fieldName = universe.symbolFor(variableName);
+    SSymbol fieldName = Universe.symbolFor(variableName);
     FieldWriteNode fieldWrite = mgenc.getObjectFieldWrite(fieldName, exp, universe, source);
-
     if (fieldWrite != null) {
       return fieldWrite;
+    }
+
+    ExpressionNode shellWrite = mgenc.getShellVariableWrite(variableName, exp, source);
+    if (shellWrite != null) {
+      return shellWrite;
     } else {
       throw new RuntimeException("Neither a variable nor a field found "
           + "in current scope that is named " + variableName + ". Arguments are read-only.");
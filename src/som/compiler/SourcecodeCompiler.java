@@ -24,14 +24,18 @@
 
 package som.compiler;
 
-import java.io.File;
-import java.io.FileReader;
-import java.io.IOException;
 import java.io.StringReader;
+import java.util.Map;
 
 import som.compiler.Parser.ParseError;
+import som.vm.StartupStatistics;
+import som.vm.StartupStatistics.Phase;
 import som.vm.Universe;
+import som.vm.Universe.Association;
+import som.vm.VmManagement;
+import som.vm.constants.Classes;
 import som.vmobjects.SClass;
+import som.vmobjects.SInvokable;
 import som.vmobjects.SSymbol;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
@@ -40,16 +44,9 @@ import com.oracle.truffle.api.source.Source;
 public final class SourcecodeCompiler {
 
   @TruffleBoundary
-  public static SClass compileClass(final String path, final String file,
-      final SClass systemClass, final Universe universe)
-      throws IOException {
-    String fname = path + File.separator + file + ".som";
-    FileReader stream = new FileReader(fname);
-
-    Source source = Source.fromFileName(fname);
-    Parser parser = new Parser(stream, new File(fname).length(), source, universe);
-
-    SClass result = compile(parser, systemClass, universe);
+  public static SClass compileClass(final Source source, final String file,
+      final SClass systemClass, final Universe universe) {
+    SClass result = compileClass(source, systemClass, universe);
 
     SSymbol cname = result.getName();
     String cnameC = cname.getString();
@@ -62,31 +59,101 @@ public final class SourcecodeCompiler {
     return result;
   }
 
+  @TruffleBoundary
+  public static SClass compileClass(final Source source,
+      final SClass systemClass, final Universe universe) {
+    Parser parser = new Parser(new StringReader(source.getCode()),
+        source.getLength(), source, universe);
+    return compile(parser, source, systemClass, universe);
+  }
+
   @TruffleBoundary
   public static SClass compileClass(final String stmt, final SClass systemClass,
       final Universe universe) {
     Parser parser = new Parser(new StringReader(stmt), stmt.length(), null, universe);
 
-    SClass result = compile(parser, systemClass, universe);
+    SClass result = compile(parser, null, systemClass, universe);
     return result;
   }
 
-  private static SClass compile(final Parser parser, final SClass systemClass,
-      final Universe universe) {
+  /**
+   * Compile statements entered in the shell into a method of the shell
+   * class, without adding it to the class.
+   */
+  @TruffleBoundary
+  public static SInvokable compileShellStatements(final String stmts,
+      final SClass shellClass, final Map<String, Association> shellVariables,
+      final Universe universe) throws ParseError {
+    String code = stmts + "\n)";
+    Source source = Source.fromText(code, "shell");
+    Parser parser = new Parser(new StringReader(code), code.length(),
+        source, universe);
+
+    ClassGenerationContext cgc = new ClassGenerationContext(universe);
+    cgc.setName(shellClass.getName());
+
+    SInvokable result = parser.shellStatements(cgc, shellVariables);
+    result.setHolder(shellClass);
+    return result;
+  }
+
+  /**
+   * Compile an expression into a method <code>doIt</code> of the given
+   * class, without adding it to the class, so that the expression can
+   * access the fields of an instance of the class, and send to
+   * <code>super</code>.
+   */
+  @TruffleBoundary
+  public static SInvokable compileExpression(final String expression,
+      final SClass holder, final Universe universe) throws ParseError {
+    String code = "doIt = ( ^ (" + expression + ") )";
+    Source source = Source.fromText(code, "expression");
+    Parser parser = new Parser(new StringReader(code), code.length(),
+        source, universe);
+
+    ClassGenerationContext cgc = new ClassGenerationContext(universe);
+    String name = holder.getName().getString();
+    if (holder.getSOMClass() == Classes.metaclassClass) {
+      // super sends look up the class by the name of its instance side
+      cgc.setName(Universe.symbolFor(
+          name.substring(0, name.length() - " class".length())));
+      cgc.setClassSide(true);
+      cgc.setClassFieldsOfSuper(holder.getInstanceFields());
+    } else {
+      cgc.setName(holder.getName());
+      cgc.setInstanceFieldsOfSuper(holder.getInstanceFields());
+    }
+
+    SInvokable result = parser.method(cgc);
+    result.setHolder(holder);
+    return result;
+  }
+
+  private static SClass compile(final Parser parser, final Source source,
+      final SClass systemClass, final Universe universe) {
     ClassGenerationContext cgc = new ClassGenerationContext(universe);
 
     SClass result = systemClass;
+    long start = StartupStatistics.start();
     try {
       parser.classdef(cgc);
     } catch (ParseError pe) {
       Universe.errorExit(pe.toString());
+    } finally {
+      StartupStatistics.stopParsing(source, start);
     }
 
-    if (systemClass == null) {
-      result = cgc.assemble();
-    } else {
-      cgc.assembleSystemClass(result);
+    start = StartupStatistics.start();
+    try {
+      if (systemClass == null) {
+        result = cgc.assemble();
+      } else {
+        cgc.assembleSystemClass(result);
+      }
+    } finally {
+      StartupStatistics.stop(Phase.CLASS_ASSEMBLY, start);
     }
+    VmManagement.countClassLoaded();
 
     return result;
   }
@@ -0,0 +1,199 @@
+package som.interpreter;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import som.vm.VmSettings;
+import som.vm.constants.Classes;
+import som.vmobjects.SClass;
+import som.vmobjects.SObject;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameInstance;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.source.SourceSection;
+
+
+/**
+ * Counts the objects, arrays, and blocks allocated by SOM code, and
+ * estimates their size, per SOM class and per allocating source location.
+ * Allocations in primitives, such as <code>Class>>#new</code>, are
+ * attributed to the send in the calling method. Objects and arrays that the
+ * VM or other primitives allocate, such as literal arrays, argument arrays
+ * and the results of <code>String>>#split:</code>, are counted per class,
+ * and under {@link #VM_LOCATION}.
+ *
+ * The sizes assume a 64-bit JVM with compressed references. Arrays are
+ * counted with storage for references, which they get once they hold
+ * objects, and blocks with a closure count their materialized frame.
+ *
+ * Enabled with <code>-Dsom.allocationStats=true</code>. With
+ * <code>-Dsom.allocationSampling=n</code>, only every n-th allocation is
+ * recorded, which reduces the overhead, and the counts are extrapolated.
+ * The statistics are printed on exit, and are available with
+ * <code>system allocationStats</code>.
+ */
+public final class AllocationProfiler {
+
+  private static final int MAX_LOCATIONS = 50;
+
+  /** Location of the allocations without a SOM source location. */
+  public static final String VM_LOCATION = "VM or primitive (unknown location)";
+
+  private static final int HEADER_SIZE    = 16;
+  private static final int REFERENCE_SIZE = 4;
+  private static final int OBJECT_SIZE    = HEADER_SIZE
+      + SObject.NUM_PRIMITIVE_FIELDS * 8
+      + (SObject.NUM_OBJECT_FIELDS + 4) * REFERENCE_SIZE + 8;
+  private static final int BLOCK_SIZE     = HEADER_SIZE + 3 * REFERENCE_SIZE;
+  private static final int FRAME_SIZE     = 64;
+
+  private static final class Counter {
+    final LongAdder count = new LongAdder();
+    final LongAdder bytes = new LongAdder();
+
+    void add(final long size) {
+      count.add(VmSettings.ALLOCATION_SAMPLING);
+      bytes.add(size * VmSettings.ALLOCATION_SAMPLING);
+    }
+  }
+
+  private static final Map<String, Counter> byClass    = new ConcurrentHashMap<>();
+  private static final Map<String, Counter> byLocation = new ConcurrentHashMap<>();
+
+  // shared by all threads that allocate, for instance the requests of the
+  // server
+  private static final AtomicLong allocations = new AtomicLong();
+
+  /**
+   * @param site the node that allocates, or null if the VM allocates
+   */
+  public static void recordObject(final Node site, final SClass instanceClass) {
+    if (VmSettings.ALLOCATION_STATISTICS && isSampled()) {
+      int fields = instanceClass.getNumberOfInstanceFields();
+      record(site, instanceClass, OBJECT_SIZE + extensionSize(fields));
+    }
+  }
+
+  public static void recordBlock(final Node site, final SClass blockClass,
+      final boolean hasContext) {
+    if (VmSettings.ALLOCATION_STATISTICS && isSampled()) {
+      record(site, blockClass, BLOCK_SIZE + (hasContext ? FRAME_SIZE : 0));
+    }
+  }
+
+  /**
+   * @param site the node that allocates, or null if the VM allocates
+   */
+  public static void recordArray(final Node site, final long length) {
+    if (VmSettings.ALLOCATION_STATISTICS && isSampled()) {
+      record(site, Classes.arrayClass, HEADER_SIZE + 2 * REFERENCE_SIZE
+          + HEADER_SIZE + length * REFERENCE_SIZE);
+    }
+  }
+
+  private static boolean isSampled() {
+    return VmSettings.ALLOCATION_SAMPLING == 1
+        || allocations.incrementAndGet() % VmSettings.ALLOCATION_SAMPLING == 0;
+  }
+
+  private static int extensionSize(final int numberOfFields) {
+    int extension = numberOfFields - SObject.NUM_OBJECT_FIELDS;
+    if (extension <= 0) {
+      return 0;
+    }
+    // fields that do not fit into the object need both extension arrays
+    return 2 * HEADER_SIZE + extension * (8 + REFERENCE_SIZE);
+  }
+
+  @TruffleBoundary
+  private static void record(final Node site, final SClass cls,
+      final long size) {
+    count(byClass, describeClass(cls), size);
+    count(byLocation, site == null ? VM_LOCATION : describeLocation(site),
+        size);
+  }
+
+  private static String describeClass(final SClass cls) {
+    // the kernel classes are named only after they are allocated
+    if (cls == null || cls.getName() == null) {
+      return "(class not yet initialized)";
+    }
+    return cls.getName().getString();
+  }
+
+  private static void count(final Map<String, Counter> counters,
+      final String key, final long size) {
+    counters.computeIfAbsent(key, k -> new Counter()).add(size);
+  }
+
+  private static String describeLocation(final Node site) {
+    Node node = site;
+    if (site.getRootNode() instanceof Primitive) {
+      // the primitive is called by a send in the caller
+      FrameInstance caller = Truffle.getRuntime().getCallerFrame();
+      node = caller == null ? null : caller.getCallNode();
+    }
+
+    for (Node n = node; n != null; n = n.getParent()) {
+      SourceSection source = n.getSourceSection();
+      if (source != null) {
+        SourceSection method = n.getRootNode().getSourceSection();
+        String prefix = method == null ? "" : method.getIdentifier() + " ";
+        return prefix + source.getShortDescription();
+      }
+    }
+
+    if (site.getRootNode() instanceof Primitive) {
+      return ((Primitive) site.getRootNode()).getName();
+    }
+    RootCallTarget target = site.getRootNode().getCallTarget();
+    return target == null ? "unknown location" : target.toString();
+  }
+
+  @TruffleBoundary
+  public static String report() {
+    if (!VmSettings.ALLOCATION_STATISTICS) {
+      return "Allocation statistics are disabled, enable them with -Dsom.allocationStats=true\n";
+    }
+
+    StringBuilder result = new StringBuilder();
+    if (VmSettings.ALLOCATION_SAMPLING > 1) {
+      result.append("Allocations, extrapolated from every ");
+      result.append(VmSettings.ALLOCATION_SAMPLING).append("th");
+    } else {
+      result.append("Allocations");
+    }
+    result.append(" (count, estimated bytes) by class:\n");
+    appendSorted(result, byClass, Integer.MAX_VALUE);
+    result.append("Allocations by location (top ");
+    result.append(MAX_LOCATIONS).append("):\n");
+    appendSorted(result, byLocation, MAX_LOCATIONS);
+    return result.toString();
+  }
+
+  private static void appendSorted(final StringBuilder result,
+      final Map<String, Counter> counters, final int limit) {
+    ArrayList<Entry<String, Counter>> entries = new ArrayList<>();
+    for (Entry<String, Counter> e : counters.entrySet()) {
+      entries.add(new SimpleEntry<>(e.getKey(), e.getValue()));
+    }
+    entries.sort((a, b) -> Long.compare(b.getValue().bytes.sum(),
+        a.getValue().bytes.sum()));
+
+    for (int i = 0; i < entries.size() && i < limit; i++) {
+      Counter c = entries.get(i).getValue();
+      result.append(String.format("%10d  %12d  %s%n", c.count.sum(),
+          c.bytes.sum(), entries.get(i).getKey()));
+    }
+  }
+
+  private AllocationProfiler() { }
+}
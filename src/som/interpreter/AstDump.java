@@ -0,0 +1,331 @@
+package som.interpreter;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import som.interpreter.nodes.MessageSendNode.AbstractUninitializedMessageSendNode;
+import som.interpreter.nodes.MessageSendNode.GenericMessageSendNode;
+import som.interpreter.nodes.dispatch.AbstractDispatchNode.AbstractCachedDispatchNode;
+import som.interpreter.nodes.dispatch.CachedDnuNode;
+import som.interpreter.objectstorage.FieldAccessorNode;
+import som.interpreter.objectstorage.StorageLocation;
+import som.primitives.BlockPrims.ValueSendNode;
+import som.vm.Universe;
+import som.vm.VmSettings;
+import som.vmobjects.SInvokable;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.GeneratedBy;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.NodeCost;
+import com.oracle.truffle.api.nodes.NodeFieldAccessor;
+import com.oracle.truffle.api.nodes.NodeUtil;
+import com.oracle.truffle.api.source.SourceSection;
+
+
+/**
+ * Dumps the ASTs of the executed methods and blocks together with the
+ * state of their nodes: the node class, its cost, the active
+ * specializations of DSL nodes, e.g., <code>doLong(long, long)</code> for
+ * an <code>AdditionPrim</code> that only saw integers, the storage
+ * locations of field accesses, and the receivers in dispatch chains.
+ *
+ * The dump is either JSON, or a Graphviz graph with one cluster per method
+ * that can be rendered with <code>dot -Tsvg</code>. Enabled with
+ * <code>-Dsom.astDump=json</code> or <code>-Dsom.astDump=dot</code>, it is
+ * written on exit to the file given by <code>-Dsom.astDumpFile</code>.
+ * <code>system astDump: 'json'</code> returns it as a string.
+ */
+public final class AstDump {
+
+  public static final String JSON = "json";
+  public static final String DOT  = "dot";
+
+  private static final class DumpNode {
+    final String   type;
+    final NodeCost cost;
+    final String   source;
+    final String   childField;
+
+    final List<String>        specializations = new ArrayList<>();
+    final Map<String, Object> properties      = new LinkedHashMap<>();
+    final List<DumpNode>      children        = new ArrayList<>();
+
+    DumpNode(final Node node, final String childField) {
+      this.type       = node.getClass().getSimpleName();
+      this.cost       = node.getCost();
+      this.source     = describeSource(node.getSourceSection());
+      this.childField = childField;
+    }
+  }
+
+  public static boolean isSupportedFormat(final String format) {
+    return JSON.equals(format) || DOT.equals(format);
+  }
+
+  /**
+   * Write the dump in the format selected with <code>-Dsom.astDump</code>
+   * to the dump file.
+   *
+   * @return a note on where the dump was written to
+   */
+  @TruffleBoundary
+  public static String write(final Universe universe) {
+    if (!isSupportedFormat(VmSettings.AST_DUMP)) {
+      return "Unknown AST dump format " + VmSettings.AST_DUMP
+          + ", use -Dsom.astDump=" + JSON + " or -Dsom.astDump=" + DOT + "\n";
+    }
+
+    List<SInvokable> invokables = ParsedInvokables.collect(universe);
+    try (PrintWriter out = new PrintWriter(new OutputStreamWriter(
+        new FileOutputStream(VmSettings.AST_DUMP_FILE), StandardCharsets.UTF_8))) {
+      out.print(dump(invokables, VmSettings.AST_DUMP));
+    } catch (IOException e) {
+      return "Could not write " + VmSettings.AST_DUMP_FILE + ": "
+          + e.getMessage() + "\n";
+    }
+    return String.format("ASTs of %d methods and blocks written to %s%n",
+        invokables.size(), VmSettings.AST_DUMP_FILE);
+  }
+
+  /**
+   * @param format either {@link #JSON} or {@link #DOT}
+   */
+  @TruffleBoundary
+  public static String dump(final Universe universe, final String format) {
+    return dump(ParsedInvokables.collect(universe), format);
+  }
+
+  private static String dump(final List<SInvokable> invokables,
+      final String format) {
+    StringBuilder result = new StringBuilder();
+    if (JSON.equals(format)) {
+      appendJson(invokables, result);
+    } else {
+      assert DOT.equals(format);
+      appendDot(invokables, result);
+    }
+    return result.toString();
+  }
+
+  private static DumpNode build(final Node node, final String childField) {
+    DumpNode result = new DumpNode(node, childField);
+    describeState(node, result.properties);
+    addChildren(node, result);
+    return result;
+  }
+
+  private static void addChildren(final Node node, final DumpNode result) {
+    for (Node child : node.getChildren()) {
+      if (child == null) {
+        continue;
+      } else if (isSpecialization(node, child)) {
+        // the nodes generated by the DSL keep their specializations in a
+        // chain of children, which is summarized in the generated node
+        addSpecialization(child, result);
+        addChildren(child, result);
+      } else {
+        NodeFieldAccessor field = NodeUtil.findChildField(node, child);
+        result.children.add(build(child, field == null ? null : field.getName()));
+      }
+    }
+  }
+
+  /**
+   * The specialization nodes are generated for the same node class as their
+   * parent, but, unlike the generated node itself, do not extend it. This
+   * avoids depending on the DSL's internal base class of the
+   * specializations.
+   */
+  private static boolean isSpecialization(final Node node, final Node child) {
+    GeneratedBy parent = node.getClass().getAnnotation(GeneratedBy.class);
+    GeneratedBy generatedBy = child.getClass().getAnnotation(GeneratedBy.class);
+    return parent != null && generatedBy != null
+        && parent.value() == generatedBy.value()
+        && !parent.value().isInstance(child);
+  }
+
+  private static void addSpecialization(final Node specialization,
+      final DumpNode result) {
+    // the uninitialized and polymorphic nodes are not generated by a method
+    GeneratedBy generatedBy = specialization.getClass().getAnnotation(GeneratedBy.class);
+    if (generatedBy != null && !generatedBy.methodName().isEmpty()) {
+      result.specializations.add(generatedBy.methodName());
+    }
+  }
+
+  private static void describeState(final Node node,
+      final Map<String, Object> properties) {
+    if (node instanceof FieldAccessorNode) {
+      FieldAccessorNode access = (FieldAccessorNode) node;
+      properties.put("fieldIndex", access.getFieldIndex());
+      StorageLocation location = access.getStorageLocation();
+      if (location != null) {
+        properties.put("storage", location.getClass().getSimpleName());
+      }
+    } else if (node instanceof AbstractCachedDispatchNode) {
+      AbstractCachedDispatchNode cached = (AbstractCachedDispatchNode) node;
+      properties.put("receiver", cached.getGuard().describeReceiver());
+      if (cached instanceof CachedDnuNode) {
+        properties.put("doesNotUnderstand", true);
+      }
+    } else if (node instanceof GenericMessageSendNode) {
+      properties.put("selector", ((GenericMessageSendNode) node).getSelector().getString());
+    } else if (node instanceof AbstractUninitializedMessageSendNode) {
+      properties.put("selector",
+          ((AbstractUninitializedMessageSendNode) node).getSelector().getString());
+    } else if (node instanceof ValueSendNode) {
+      properties.put("selector", ((ValueSendNode) node).getSelector());
+    }
+  }
+
+  private static String describeSource(final SourceSection source) {
+    return source == null ? null : source.getShortDescription();
+  }
+
+  private static void appendJson(final List<SInvokable> invokables,
+      final StringBuilder out) {
+    out.append("{\"methods\": [");
+    boolean first = true;
+    for (SInvokable invokable : invokables) {
+      out.append(first ? "\n" : ",\n");
+      first = false;
+      out.append("  {\"method\": ").append(jsonString(invokable.toString()));
+      out.append(", \"source\": ").append(jsonString(
+          describeSource(invokable.getInvokable().getSourceSection())));
+      out.append(",\n   \"ast\": ");
+      appendJson(build(invokable.getInvokable(), null), "   ", out);
+      out.append("}");
+    }
+    out.append("\n]}\n");
+  }
+
+  private static void appendJson(final DumpNode node, final String indent,
+      final StringBuilder out) {
+    out.append("{\"node\": ").append(jsonString(node.type));
+    out.append(", \"cost\": ").append(jsonString(node.cost.toString()));
+    if (node.childField != null) {
+      out.append(", \"childField\": ").append(jsonString(node.childField));
+    }
+    if (node.source != null) {
+      out.append(", \"source\": ").append(jsonString(node.source));
+    }
+    if (!node.specializations.isEmpty()) {
+      out.append(", \"specializations\": [");
+      for (int i = 0; i < node.specializations.size(); i++) {
+        out.append(i == 0 ? "" : ", ").append(jsonString(node.specializations.get(i)));
+      }
+      out.append("]");
+    }
+    for (Entry<String, Object> e : node.properties.entrySet()) {
+      out.append(", ").append(jsonString(e.getKey())).append(": ");
+      Object value = e.getValue();
+      if (value instanceof Number || value instanceof Boolean) {
+        out.append(value);
+      } else {
+        out.append(jsonString(value.toString()));
+      }
+    }
+
+    if (!node.children.isEmpty()) {
+      String childIndent = indent + "  ";
+      out.append(",\n").append(childIndent).append("\"children\": [");
+      for (int i = 0; i < node.children.size(); i++) {
+        out.append(i == 0 ? "\n" : ",\n").append(childIndent).append("  ");
+        appendJson(node.children.get(i), childIndent + "  ", out);
+      }
+      out.append("]");
+    }
+    out.append("}");
+  }
+
+  private static String jsonString(final String value) {
+    if (value == null) {
+      return "null";
+    }
+    StringBuilder result = new StringBuilder("\"");
+    for (char c : value.toCharArray()) {
+      switch (c) {
+        case '"':  result.append("\\\""); break;
+        case '\\': result.append("\\\\"); break;
+        case '\n': result.append("\\n");  break;
+        case '\r': result.append("\\r");  break;
+        case '\t': result.append("\\t");  break;
+        default:
+          if (c < 0x20) {
+            result.append(String.format("\\u%04x", (int) c));
+          } else {
+            result.append(c);
+          }
+      }
+    }
+    return result.append('"').toString();
+  }
+
+  private static void appendDot(final List<SInvokable> invokables,
+      final StringBuilder out) {
+    out.append("digraph ast {\n");
+    out.append("  node [shape=box, fontname=\"monospace\", fontsize=10];\n");
+    out.append("  edge [fontsize=9];\n");
+    int[] nextId = {0};
+    for (int i = 0; i < invokables.size(); i++) {
+      SInvokable invokable = invokables.get(i);
+      out.append("  subgraph cluster_").append(i).append(" {\n");
+      out.append("    label=").append(dotString(invokable.toString())).append(";\n");
+      appendDot(build(invokable.getInvokable(), null), nextId, out);
+      out.append("  }\n");
+    }
+    out.append("}\n");
+  }
+
+  private static int appendDot(final DumpNode node, final int[] nextId,
+      final StringBuilder out) {
+    int id = nextId[0]++;
+
+    StringBuilder label = new StringBuilder(node.type);
+    label.append('\n').append(node.cost.toString().toLowerCase());
+    if (node.source != null) {
+      label.append("  ").append(node.source);
+    }
+    for (String specialization : node.specializations) {
+      label.append('\n').append(specialization);
+    }
+    for (Entry<String, Object> e : node.properties.entrySet()) {
+      label.append('\n').append(e.getKey()).append(": ").append(e.getValue());
+    }
+
+    out.append("    n").append(id).append(" [label=").append(dotString(label.toString()));
+    switch (node.cost) {
+      case UNINITIALIZED: out.append(", color=gray, fontcolor=gray"); break;
+      case POLYMORPHIC:   out.append(", color=orange"); break;
+      case MEGAMORPHIC:   out.append(", color=red"); break;
+      default: break;
+    }
+    out.append("];\n");
+
+    for (DumpNode child : node.children) {
+      int childId = appendDot(child, nextId, out);
+      out.append("    n").append(id).append(" -> n").append(childId);
+      if (child.childField != null) {
+        out.append(" [label=").append(dotString(child.childField)).append("]");
+      }
+      out.append(";\n");
+    }
+    return id;
+  }
+
+  private static String dotString(final String value) {
+    return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"")
+        .replace("\n", "\\n") + "\"";
+  }
+
+  private AstDump() { }
+}
@@ -0,0 +1,205 @@
+package som.interpreter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import som.interpreter.nodes.MessageSendNode.AbstractMessageSendNode;
+import som.interpreter.nodes.MessageSendNode.AbstractUninitializedMessageSendNode;
+import som.interpreter.nodes.MessageSendNode.GenericMessageSendNode;
+import som.interpreter.nodes.dispatch.AbstractDispatchNode;
+import som.interpreter.nodes.dispatch.AbstractDispatchNode.AbstractCachedDispatchNode;
+import som.interpreter.nodes.dispatch.CachedDnuNode;
+import som.interpreter.nodes.dispatch.DispatchChain.Cost;
+import som.primitives.BlockPrims.ValueSendNode;
+import som.primitives.reflection.AbstractSymbolDispatch;
+import som.vm.Universe;
+import som.vm.VmSettings;
+import som.vmobjects.SInvokable;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.nodes.DirectCallNode;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.NodeCost;
+import com.oracle.truffle.api.nodes.NodeUtil;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.SourceSection;
+
+
+/**
+ * Lists the call sites that dispatch on their receiver, i.e., message
+ * sends, block evaluations with <code>#value</code>, and performs, with
+ * the state of their dispatch chains and the number of times they were
+ * executed. The sites executed most often, which are polymorphic or
+ * megamorphic, are the candidates for restructuring the SOM code.
+ *
+ * Enabled with <code>-Dsom.callSiteReport=true</code>. The report is
+ * printed on exit, and is available with <code>system callSiteReport</code>.
+ * Methods that were never executed are not parsed for the report.
+ *
+ * When the runtime splits a method for a call site, the copy has its own
+ * dispatch chains and counts. The copies are found through the call nodes
+ * that use them, and their sites are listed separately, with the method
+ * marked as split.
+ */
+public final class CallSiteReport {
+
+  private static final class Site {
+    final String   kind;
+    final String   selector;
+    final String   location;
+    final NodeCost cost;
+    final int      chainLength;
+    final String   receivers;
+    final long     executions;
+
+    Site(final String kind, final String selector, final String location,
+        final NodeCost cost, final int chainLength, final String receivers,
+        final long executions) {
+      this.kind        = kind;
+      this.selector    = selector;
+      this.location    = location;
+      this.cost        = cost;
+      this.chainLength = chainLength;
+      this.receivers   = receivers;
+      this.executions  = executions;
+    }
+  }
+
+  @TruffleBoundary
+  public static String report(final Universe universe) {
+    if (!VmSettings.CALL_SITE_REPORT) {
+      return "The call site report is disabled, enable it with -Dsom.callSiteReport=true\n";
+    }
+
+    List<Site> sites = new ArrayList<>();
+    Set<RootNode> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (SInvokable invokable : ParsedInvokables.collect(universe)) {
+      visit(invokable.getInvokable(), invokable.toString(), sites, visited);
+    }
+    sites.sort((a, b) -> Long.compare(b.executions, a.executions));
+
+    StringBuilder result = new StringBuilder();
+    result.append("Call sites by number of executions:\n");
+    result.append(String.format("%10s  %-7s  %-13s  %5s  %-24s  %-40s  %s%n",
+        "count", "kind", "state", "chain", "selector", "location", "receivers"));
+    for (Site s : sites) {
+      result.append(String.format("%10d  %-7s  %-13s  %5s  %-24s  %-40s  %s%n",
+          s.executions, s.kind, s.cost.toString().toLowerCase(),
+          s.cost == NodeCost.MEGAMORPHIC ? "-" : String.valueOf(s.chainLength),
+          s.selector, s.location, s.receivers));
+    }
+    return result.toString();
+  }
+
+  private static void visit(final RootNode root, final String method,
+      final List<Site> sites, final Set<RootNode> visited) {
+    if (!visited.add(root)) {
+      return;
+    }
+    root.accept(node -> {
+      if (node instanceof DirectCallNode
+          && ((DirectCallNode) node).isCallTargetCloned()) {
+        RootNode split = ((RootCallTarget) ((DirectCallNode) node).
+            getClonedCallTarget()).getRootNode();
+        visit(split, describeSplit(split), sites, visited);
+      }
+      return visit(node, method, sites);
+    });
+  }
+
+  private static String describeSplit(final RootNode split) {
+    SourceSection source = split.getSourceSection();
+    String method = source == null ? split.toString() : source.getIdentifier();
+    return "Method(" + method + ") split";
+  }
+
+  private static boolean visit(final Node node, final String method,
+      final List<Site> sites) {
+    if (node instanceof GenericMessageSendNode) {
+      GenericMessageSendNode send = (GenericMessageSendNode) node;
+      addDispatchSite("send", send.getSelector().getString(),
+          send.getDispatchListHead(), send.getNumberOfExecutions(),
+          node, method, sites);
+    } else if (node instanceof ValueSendNode) {
+      ValueSendNode prim = (ValueSendNode) node;
+      addDispatchSite("value", prim.getSelector(), prim.getDispatchListHead(),
+          prim.getNumberOfExecutions(), node, method, sites);
+    } else if (node instanceof AbstractSymbolDispatch) {
+      addPerformSite((AbstractSymbolDispatch) node, method, sites);
+    }
+    return true;
+  }
+
+  private static void addDispatchSite(final String kind, final String selector,
+      final AbstractDispatchNode head, final long executions, final Node node,
+      final String method, final List<Site> sites) {
+    if (executions == 0) {
+      return;
+    }
+
+    StringBuilder receivers = new StringBuilder();
+    AbstractDispatchNode d = head;
+    while (d instanceof AbstractCachedDispatchNode) {
+      AbstractCachedDispatchNode cached = (AbstractCachedDispatchNode) d;
+      if (receivers.length() > 0) {
+        receivers.append(", ");
+      }
+      receivers.append(cached.getGuard().describeReceiver());
+      if (cached instanceof CachedDnuNode) {
+        receivers.append(" (dnu)");
+      }
+      d = cached.getNextInCache();
+    }
+
+    sites.add(new Site(kind, selector, describeLocation(node, method),
+        Cost.getCost(head), head.lengthOfDispatchChain(),
+        receivers.toString(), executions));
+  }
+
+  private static void addPerformSite(final AbstractSymbolDispatch node,
+      final String method, final List<Site> sites) {
+    if (node.getNumberOfExecutions() == 0) {
+      return;
+    }
+
+    // each cached selector has its own send, which is listed separately
+    StringBuilder selectors = new StringBuilder();
+    int cached = 0;
+    for (AbstractMessageSendNode send : NodeUtil.findAllNodeInstances(node,
+        AbstractMessageSendNode.class)) {
+      String selector;
+      if (send instanceof GenericMessageSendNode) {
+        selector = ((GenericMessageSendNode) send).getSelector().getString();
+      } else if (send instanceof AbstractUninitializedMessageSendNode) {
+        selector = ((AbstractUninitializedMessageSendNode) send).getSelector().getString();
+      } else {
+        continue;
+      }
+      if (cached > 0) {
+        selectors.append(", ");
+      }
+      selectors.append('#').append(selector);
+      cached++;
+    }
+
+    sites.add(new Site("perform", "(" + cached + " selectors)",
+        describeLocation(node, method), node.getCost(), cached,
+        selectors.toString(), node.getNumberOfExecutions()));
+  }
+
+  private static String describeLocation(final Node node, final String method) {
+    for (Node n = node; n != null; n = n.getParent()) {
+      SourceSection source = n.getSourceSection();
+      if (source != null) {
+        return method + " " + source.getShortDescription();
+      }
+    }
+    return method;
+  }
+
+  private CallSiteReport() { }
+}
@@ -0,0 +1,121 @@
+package som.interpreter;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import som.vm.VmSettings;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameInstance;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.source.SourceSection;
+
+
+/**
+ * Counts the transfers to the interpreter, i.e., deoptimizations of compiled
+ * code, by the reason given to {@link TruffleCompiler} and by the location
+ * in the SOM code that caused them. The slow paths taken in the interpreter,
+ * which are the ones that would deoptimize compiled code, are counted
+ * separately. Without Graal, only the latter are seen.
+ *
+ * Enabled with <code>-Dsom.deoptStats=true</code>. The statistics are
+ * printed on exit, and are available with <code>system deoptStats</code>.
+ */
+public final class DeoptStatistics {
+
+  private static final int MAX_LOCATIONS = 50;
+
+  private static final Counters fromCompiledCode = new Counters();
+  private static final Counters inInterpreter    = new Counters();
+
+  private static final class Counters {
+    private final Map<String, LongAdder> byReason   = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> byLocation = new ConcurrentHashMap<>();
+
+    void record(final String key, final Node node) {
+      count(byReason, key);
+      count(byLocation, key + " at " + describeLocation(node));
+    }
+
+    void append(final StringBuilder result, final String title) {
+      result.append(title).append(" by reason:\n");
+      appendSorted(result, byReason, Integer.MAX_VALUE);
+      result.append(title).append(" by location (top ");
+      result.append(MAX_LOCATIONS).append("):\n");
+      appendSorted(result, byLocation, MAX_LOCATIONS);
+    }
+  }
+
+  @TruffleBoundary
+  static void record(final String reason, final boolean invalidate,
+      final boolean inCompiledCode, final Node node) {
+    String key = invalidate ? reason + " (invalidate)" : reason;
+    if (inCompiledCode) {
+      fromCompiledCode.record(key, node);
+    } else {
+      inInterpreter.record(key, node);
+    }
+  }
+
+  private static void count(final Map<String, LongAdder> counters,
+      final String key) {
+    counters.computeIfAbsent(key, k -> new LongAdder()).increment();
+  }
+
+  private static String describeLocation(final Node node) {
+    for (Node n = node; n != null; n = n.getParent()) {
+      if (n.getSourceSection() != null) {
+        return n.getSourceSection().getShortDescription();
+      }
+    }
+
+    // without a node, the method that is executing is the best guess
+    FrameInstance frame = Truffle.getRuntime().getCurrentFrame();
+    if (frame != null && frame.getCallTarget() instanceof RootCallTarget) {
+      SourceSection source = ((RootCallTarget) frame.getCallTarget()).
+          getRootNode().getSourceSection();
+      if (source != null) {
+        return source.getShortDescription();
+      }
+    }
+    return "unknown location";
+  }
+
+  @TruffleBoundary
+  public static String report() {
+    if (!VmSettings.DEOPT_STATISTICS) {
+      return "Deoptimization statistics are disabled, enable them with -Dsom.deoptStats=true\n";
+    }
+
+    StringBuilder result = new StringBuilder();
+    fromCompiledCode.append(result,
+        "Transfers to the interpreter from compiled code");
+    inInterpreter.append(result, "Slow paths taken in the interpreter");
+    return result.toString();
+  }
+
+  private static void appendSorted(final StringBuilder result,
+      final Map<String, LongAdder> counters, final int limit) {
+    ArrayList<Entry<String, Long>> entries = new ArrayList<>();
+    for (Entry<String, LongAdder> e : counters.entrySet()) {
+      entries.add(new SimpleEntry<>(e.getKey(), e.getValue().sum()));
+    }
+    entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+
+    if (entries.isEmpty()) {
+      result.append("      none\n");
+    }
+    for (int i = 0; i < entries.size() && i < limit; i++) {
+      result.append(String.format("%10d  %s%n", entries.get(i).getValue(),
+          entries.get(i).getKey()));
+    }
+  }
+
+  private DeoptStatistics() { }
+}
@@ -3,6 +3,8 @@ package som.interpreter;
 import som.compiler.MethodGenerationContext;
 import som.compiler.Variable.Local;
 import som.interpreter.nodes.ExpressionNode;
+import som.vm.StartupStatistics;
+import som.vm.VmManagement;
 
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.Truffle;
@@ -28,6 +30,8 @@ public abstract class Invokable extends RootNode {
 
   @Override
   public final Object execute(final VirtualFrame frame) {
+    SamplingProfiler.poll();
+    StartupStatistics.methodEntered(this);
     return expressionOrSequence.executeGeneric(frame);
   }
 
@@ -45,6 +49,7 @@ public abstract class Invokable extends RootNode {
   }
 
   public final RootCallTarget createCallTarget() {
+    VmManagement.countCallTarget();
     return Truffle.getRuntime().createCallTarget(this);
   }
 
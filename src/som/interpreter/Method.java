@@ -27,7 +27,9 @@ import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.NodeUtil;
 import com.oracle.truffle.api.source.SourceSection;
 
+import som.interpreter.bc.BytecodeGenerator;
 import som.interpreter.nodes.ExpressionNode;
+import som.vm.VmSettings;
 
 
 public final class Method extends Invokable {
@@ -58,7 +60,7 @@ public final class Method extends Invokable {
         inlinedFrameDescriptor, outerScope);
     ExpressionNode  inlinedBody = SplitterForLexicallyEmbeddedCode.doInline(
         uninitializedBody, inlinedCurrentScope);
-    Method clone = new Method(getSourceSection(), inlinedBody,
+    Method clone = new Method(getSourceSection(), toExecutable(inlinedBody),
         inlinedCurrentScope, uninitializedBody);
     return clone;
   }
@@ -71,7 +73,7 @@ public final class Method extends Invokable {
         uninitializedBody, inliner, currentAdaptedScope);
     ExpressionNode uninitAdaptedBody = NodeUtil.cloneNode(adaptedBody);
 
-    Method clone = new Method(getSourceSection(), adaptedBody,
+    Method clone = new Method(getSourceSection(), toExecutable(adaptedBody),
         currentAdaptedScope, uninitAdaptedBody);
     return clone;
   }
@@ -85,10 +87,21 @@ public final class Method extends Invokable {
     ExpressionNode uninitAdaptedBody = NodeUtil.cloneNode(adaptedBody);
 
     Method clone = new Method(getSourceSection(),
-        adaptedBody, currentAdaptedScope, uninitAdaptedBody);
+        toExecutable(adaptedBody), currentAdaptedScope, uninitAdaptedBody);
     return clone;
   }
 
+  /**
+   * The clones are made from the uninitialized AST, and are translated to
+   * bytecodes again, like the method itself.
+   */
+  private static ExpressionNode toExecutable(final ExpressionNode body) {
+    if (VmSettings.USE_BYTECODES) {
+      return BytecodeGenerator.generateMethodBody(body);
+    }
+    return body;
+  }
+
   @Override
   public void propagateLoopCountThroughoutLexicalScope(final long count) {
     assert count >= 0;
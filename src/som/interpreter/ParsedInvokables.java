@@ -0,0 +1,70 @@
+package som.interpreter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import som.interpreter.nodes.literals.BlockNode;
+import som.vm.Universe;
+import som.vmobjects.SClass;
+import som.vmobjects.SInvokable;
+import som.vmobjects.SInvokable.SMethod;
+
+
+/**
+ * Finds the methods and blocks of the global classes that have been parsed,
+ * for the reports that inspect the state of their ASTs. With lazy parsing,
+ * these are the methods that were executed at least once.
+ *
+ * Only the original ASTs are found. Copies that the runtime split off for
+ * call sites are reachable through the call nodes of the ASTs.
+ */
+public final class ParsedInvokables {
+
+  /**
+   * @return the parsed methods of the global classes and their metaclasses,
+   *         each followed by its blocks
+   */
+  public static List<SInvokable> collect(final Universe universe) {
+    List<SInvokable> result = new ArrayList<>();
+    Set<SInvokable> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (SClass cls : universe.getGlobalClasses()) {
+      collect(cls, result, visited);
+      collect(cls.getSOMClass(), result, visited);
+    }
+    return result;
+  }
+
+  private static void collect(final SClass cls, final List<SInvokable> result,
+      final Set<SInvokable> visited) {
+    for (int i = 0; i < cls.getNumberOfInstanceInvokables(); i++) {
+      collect(cls.getInstanceInvokable(i), result, visited);
+    }
+  }
+
+  private static void collect(final SInvokable invokable,
+      final List<SInvokable> result, final Set<SInvokable> visited) {
+    // do not parse lazy methods only to report that they were not executed
+    if (!invokable.isParsed() || !visited.add(invokable)) {
+      return;
+    }
+    result.add(invokable);
+
+    if (invokable instanceof SMethod) {
+      for (SMethod block : ((SMethod) invokable).getEmbeddedBlocks()) {
+        collect(block, result, visited);
+      }
+    }
+
+    invokable.getInvokable().accept(node -> {
+      if (node instanceof BlockNode) {
+        collect(((BlockNode) node).getBlockMethod(), result, visited);
+      }
+      return true;
+    });
+  }
+
+  private ParsedInvokables() { }
+}
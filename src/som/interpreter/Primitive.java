@@ -13,10 +13,20 @@ import com.oracle.truffle.api.nodes.Node;
 
 public final class Primitive extends Invokable {
 
-  public Primitive(final ExpressionNode primitive,
+  private final String name;
+
+  public Primitive(final String name, final ExpressionNode primitive,
       final FrameDescriptor frameDescriptor,
       final ExpressionNode uninitialized) {
     super(null, frameDescriptor, primitive, uninitialized);
+    this.name = name;
+  }
+
+  /**
+   * @return the name of the primitive, as <code>Class>>#selector</code>
+   */
+  public String getName() {
+    return name;
   }
 
   @Override
@@ -27,7 +37,7 @@ public final class Primitive extends Invokable {
         outerContext);
     ExpressionNode  inlinedBody = SplitterForLexicallyEmbeddedCode.doInline(uninitializedBody,
         inlinedContext);
-    return new Primitive(inlinedBody, inlinedFrameDescriptor, uninitializedBody);
+    return new Primitive(name, inlinedBody, inlinedFrameDescriptor, uninitializedBody);
   }
 
   @Override
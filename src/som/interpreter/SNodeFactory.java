@@ -22,11 +22,14 @@ import som.interpreter.nodes.MessageSendNode.AbstractMessageSendNode;
 import som.interpreter.nodes.ReturnNonLocalNode;
 import som.interpreter.nodes.ReturnNonLocalNode.CatchNonLocalReturnNode;
 import som.interpreter.nodes.SequenceNode;
+import som.interpreter.nodes.ShellVariableNode.ShellVariableReadNode;
+import som.interpreter.nodes.ShellVariableNode.ShellVariableWriteNode;
 import som.interpreter.nodes.UninitializedVariableNode.UninitializedVariableReadNode;
 import som.interpreter.nodes.UninitializedVariableNode.UninitializedVariableWriteNode;
 import som.interpreter.nodes.literals.BlockNode;
 import som.interpreter.nodes.literals.BlockNode.BlockNodeWithContext;
 import som.vm.Universe;
+import som.vm.Universe.Association;
 import som.vmobjects.SInvokable.SMethod;
 import som.vmobjects.SSymbol;
 
@@ -49,11 +52,22 @@ public final class SNodeFactory {
 
   public static GlobalNode createGlobalRead(final String name,
       final Universe universe, final SourceSection source) {
-    return createGlobalRead(universe.symbolFor(name), universe, source);
+    return createGlobalRead(Universe.symbolFor(name), universe, source);
   }
   public static GlobalNode createGlobalRead(final SSymbol name,
       final Universe universe, final SourceSection source) {
-    return new UninitializedGlobalReadNode(name, source);
+    return new UninitializedGlobalReadNode(name, universe, source);
+  }
+
+  public static ShellVariableReadNode createShellVariableRead(
+      final Association variable, final SourceSection source) {
+    return new ShellVariableReadNode(variable, source);
+  }
+
+  public static ShellVariableWriteNode createShellVariableWrite(
+      final Association variable, final ExpressionNode exp,
+      final SourceSection source) {
+    return new ShellVariableWriteNode(variable, exp, source);
   }
 
   public static FieldWriteNode createFieldWrite(final ExpressionNode self,
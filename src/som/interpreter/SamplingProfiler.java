@@ -0,0 +1,172 @@
+package som.interpreter;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import som.vm.VmSettings;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.RootCallTarget;
+import com.oracle.truffle.api.Truffle;
+import com.oracle.truffle.api.frame.FrameInstance;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.SourceSection;
+
+
+/**
+ * Samples the stack of SOM methods in regular intervals.
+ *
+ * Truffle stacks can only be walked by the thread that executes them, so a
+ * timer thread only requests a sample, and the interpreter takes it the next
+ * time it calls {@link #poll()}, i.e., on entering a method or jumping back
+ * in a loop. Frames of compiled code are marked with the <code>_[j]</code>
+ * suffix that flame graph tools use to color JIT-compiled frames.
+ *
+ * Enabled with <code>-Dsom.profile=true</code>. On exit, the samples are
+ * written as collapsed stacks, one line per stack with its count, to the
+ * file given by <code>-Dsom.profileFile</code>, which can be turned into a
+ * flame graph with <code>flamegraph.pl</code>. The methods with the most
+ * samples on top of the stack are printed as a summary.
+ */
+public final class SamplingProfiler {
+
+  private static final int SUMMARY_SIZE = 20;
+
+  private static final Map<String, LongAdder> stacks = new ConcurrentHashMap<>();
+
+  private static volatile boolean sampleRequested;
+  private static Thread timer;
+
+  public static synchronized void start() {
+    if (!VmSettings.PROFILE || timer != null) {
+      return;
+    }
+
+    timer = new Thread(() -> {
+      try {
+        while (true) {
+          Thread.sleep(VmSettings.PROFILE_INTERVAL);
+          sampleRequested = true;
+        }
+      } catch (InterruptedException e) {
+        // done
+      }
+    }, "SOM sampling profiler");
+    timer.setDaemon(true);
+    timer.start();
+  }
+
+  /**
+   * Take a sample of the stack, if the timer requested one.
+   */
+  public static void poll() {
+    if (VmSettings.PROFILE && sampleRequested) {
+      takeSample(CompilerDirectives.inCompiledCode());
+    }
+  }
+
+  @TruffleBoundary
+  private static void takeSample(final boolean topIsCompiled) {
+    sampleRequested = false;
+
+    ArrayList<String> frames = new ArrayList<>();
+    FrameInstance current = Truffle.getRuntime().getCurrentFrame();
+    if (current != null) {
+      frames.add(describe(current, topIsCompiled));
+    }
+    Truffle.getRuntime().iterateFrames(frame -> {
+      // depending on the runtime, the iteration starts with the current frame
+      if (frame != current) {
+        frames.add(describe(frame, frame.isVirtualFrame()));
+      }
+      return null;
+    });
+
+    // collapsed stacks start with the outermost frame
+    StringBuilder stack = new StringBuilder();
+    for (int i = frames.size() - 1; i >= 0; i--) {
+      stack.append(frames.get(i));
+      if (i > 0) {
+        stack.append(';');
+      }
+    }
+    stacks.computeIfAbsent(stack.toString(), k -> new LongAdder()).increment();
+  }
+
+  private static String describe(final FrameInstance frame,
+      final boolean compiled) {
+    String name = "unknown";
+    if (frame.getCallTarget() instanceof RootCallTarget) {
+      RootNode root = ((RootCallTarget) frame.getCallTarget()).getRootNode();
+      SourceSection source = root.getSourceSection();
+      if (root instanceof Primitive) {
+        name = ((Primitive) root).getName();
+      } else if (source != null) {
+        name = source.getIdentifier();
+      }
+    }
+    // the separators of the collapsed format must not appear in the names
+    name = name.replace(';', ':').replace(' ', '_');
+    return compiled ? name + "_[j]" : name;
+  }
+
+  /**
+   * Write the collapsed stacks to the profile file.
+   *
+   * @return a summary of the samples
+   */
+  @TruffleBoundary
+  public static String report() {
+    if (!VmSettings.PROFILE) {
+      return "The profiler is disabled, enable it with -Dsom.profile=true\n";
+    }
+
+    long total = 0;
+    Map<String, Long> topOfStack = new HashMap<>();
+    StringBuilder result = new StringBuilder();
+    try (PrintWriter out = new PrintWriter(new OutputStreamWriter(
+        new FileOutputStream(VmSettings.PROFILE_FILE), StandardCharsets.UTF_8))) {
+      for (Entry<String, LongAdder> e : stacks.entrySet()) {
+        long count = e.getValue().sum();
+        out.println(e.getKey() + " " + count);
+
+        String stack = e.getKey();
+        String top = stack.substring(stack.lastIndexOf(';') + 1);
+        topOfStack.merge(top, count, Long::sum);
+        total += count;
+      }
+    } catch (IOException e) {
+      result.append("Could not write " + VmSettings.PROFILE_FILE + ": "
+          + e.getMessage() + "\n");
+    }
+
+    result.append(String.format("%d samples written to %s%n", total,
+        VmSettings.PROFILE_FILE));
+    result.append("Methods with the most samples on top of the stack:\n");
+
+    ArrayList<Entry<String, Long>> entries = new ArrayList<>();
+    for (Entry<String, Long> e : topOfStack.entrySet()) {
+      entries.add(new SimpleEntry<>(e.getKey(), e.getValue()));
+    }
+    entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+    for (int i = 0; i < entries.size() && i < SUMMARY_SIZE; i++) {
+      long count = entries.get(i).getValue();
+      result.append(String.format("%10d  %5.1f%%  %s%n", count,
+          100.0 * count / total, entries.get(i).getKey()));
+    }
+    return result.toString();
+  }
+
+  private SamplingProfiler() { }
+}
@@ -1,53 +1,178 @@
 package som.interpreter;
 
 import java.io.IOException;
+import java.math.BigInteger;
 
 import com.oracle.truffle.api.CallTarget;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.frame.MaterializedFrame;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.ProvidedTags;
+import com.oracle.truffle.api.instrumentation.StandardTags.CallTag;
+import com.oracle.truffle.api.instrumentation.StandardTags.RootTag;
+import com.oracle.truffle.api.instrumentation.StandardTags.StatementTag;
 import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RootNode;
 import com.oracle.truffle.api.source.Source;
 
-import som.vm.NotYetImplementedException;
+import som.interpreter.Tags.ExpressionTag;
+import som.interpreter.Tags.LiteralTag;
+import som.vm.Universe;
+import som.vm.constants.Nil;
+import som.vmobjects.LazyString;
+import som.vmobjects.SAbstractObject;
+import som.vmobjects.SArray;
+import som.vmobjects.SClass;
+import som.vmobjects.SInvokable;
 
 
+/**
+ * Entry point for running SOM in a Truffle engine, for instance a
+ * <code>PolyglotEngine</code> embedded in a Java application.
+ *
+ * Each engine gets its own {@link Universe}, isolated from the universes of
+ * other engines in the same JVM. The class path is taken from the
+ * <code>classpath</code> configuration option of the engine.
+ * A source is a class definition. Evaluating it defines the class as a
+ * global, and if the class implements <code>#run:</code>, runs it like the
+ * command line does, with the arguments of the call as array, converted
+ * with {@link #toSom(Object)}.
+ * Evaluating the same source again reuses the class, and with it the
+ * already compiled methods. All globals are exported.
+ *
+ * Nodes are tagged for instruments such as coverage tools and debuggers,
+ * see {@link som.interpreter.nodes.ExpressionNode}.
+ */
+@ProvidedTags({RootTag.class, StatementTag.class, CallTag.class,
+  ExpressionTag.class, LiteralTag.class})
 @TruffleLanguage.Registration(name = "SOM", version = "0.1.0", mimeType = SomLanguage.MIME_TYPE)
-public class SomLanguage extends TruffleLanguage<Object> {
+public final class SomLanguage extends TruffleLanguage<Universe> {
 
   public static final String MIME_TYPE = "application/x-newspeak-som";
 
+  public static final String CLASS_PATH = "classpath";
+
   public static final SomLanguage INSTANCE = new SomLanguage();
 
+  private SomLanguage() { }
+
   @Override
-  protected Object createContext(final Env env) {
-    throw new NotYetImplementedException();
+  protected Universe createContext(final Env env) {
+    Universe universe = Universe.create();
+    Object classPath = env.getConfig().get(CLASS_PATH);
+    universe.setupClassPath(classPath == null ? "" : classPath.toString());
+    universe.initializeObjectSystem();
+    return universe;
   }
 
   @Override
   protected CallTarget parse(final Source code, final Node context,
       final String... argumentNames) throws IOException {
-    throw new NotYetImplementedException();
+    return Truffle.getRuntime().createCallTarget(new EvaluateSourceNode(code));
   }
 
   @Override
-  protected Object findExportedSymbol(final Object context,
+  protected Object findExportedSymbol(final Universe context,
       final String globalName, final boolean onlyExplicit) {
-    throw new NotYetImplementedException();
+    // SOM has no explicit way to export a global, so all of them are
+    return context.getGlobal(Universe.symbolFor(globalName));
   }
 
   @Override
-  protected Object getLanguageGlobal(final Object context) {
-    throw new NotYetImplementedException();
+  protected Object getLanguageGlobal(final Universe context) {
+    return context.getSystemObject();
   }
 
   @Override
   protected boolean isObjectOfLanguage(final Object object) {
-    throw new NotYetImplementedException();
+    return object instanceof SAbstractObject;
   }
 
+  /**
+   * Evaluates the source as an expression with the receiver of the given
+   * frame as <code>self</code>, in the class of the receiver, so that its
+   * fields are accessible. The local variables of the frame are not.
+   */
   @Override
   protected Object evalInContext(final Source source, final Node node,
       final MaterializedFrame mFrame) throws IOException {
-    throw new NotYetImplementedException();
+    Universe universe = findContext(createFindContextNode());
+    Universe previous = Universe.setCurrent(universe);
+    try {
+      return universe.evaluateExpression(source.getCode(),
+          SArguments.rcvr(mFrame));
+    } finally {
+      Universe.setCurrent(previous);
+    }
+  }
+
+  private static final class EvaluateSourceNode extends RootNode {
+    private final Source source;
+
+    @Child private Node findContext;
+
+    EvaluateSourceNode(final Source source) {
+      super(SomLanguage.class, null, null);
+      this.source      = source;
+      this.findContext = INSTANCE.createFindContextNode();
+    }
+
+    @Override
+    public Object execute(final VirtualFrame frame) {
+      return evaluate(INSTANCE.findContext(findContext), frame.getArguments());
+    }
+
+    @TruffleBoundary
+    private Object evaluate(final Universe universe, final Object[] arguments) {
+      Universe previous = Universe.setCurrent(universe);
+      try {
+        SClass clazz = universe.loadClass(source);
+        SInvokable run = clazz.lookupInvokable(Universe.symbolFor("run:"));
+        if (run == null) {
+          return clazz;
+        }
+        return run.invoke(Universe.newInstance(clazz),
+            toSomArray(arguments));
+      } finally {
+        Universe.setCurrent(previous);
+      }
+    }
+  }
+
+  private static SArray toSomArray(final Object[] values) {
+    Object[] result = new Object[values.length];
+    for (int i = 0; i < values.length; i++) {
+      result[i] = toSom(values[i]);
+    }
+    return SArray.create(result);
+  }
+
+  /**
+   * Convert a value passed from Java or another language to the
+   * representation SOM uses: integers are longs, floats are doubles, and
+   * characters are strings of length one.
+   */
+  public static Object toSom(final Object value) {
+    if (value == null) {
+      return Nil.nilObject;
+    } else if (value instanceof Integer || value instanceof Short
+        || value instanceof Byte) {
+      return ((Number) value).longValue();
+    } else if (value instanceof Float) {
+      return ((Float) value).doubleValue();
+    } else if (value instanceof Character) {
+      return value.toString();
+    } else if (value instanceof Object[]) {
+      return toSomArray((Object[]) value);
+    } else if (value instanceof Long || value instanceof BigInteger
+        || value instanceof Double || value instanceof Boolean
+        || value instanceof String || value instanceof LazyString
+        || value instanceof SAbstractObject) {
+      return value;
+    }
+    throw new IllegalArgumentException("SOM does not support arguments of "
+        + value.getClass().getName() + ": " + value);
   }
 }
@@ -0,0 +1,23 @@
+package som.interpreter;
+
+import com.oracle.truffle.api.instrumentation.StandardTags;
+
+
+/**
+ * Tags for instrumenting SOM nodes, in addition to the {@link StandardTags}
+ * root, statement, and call.
+ */
+public final class Tags {
+
+  /** Expressions with a source section, which includes all other tags. */
+  public static final class ExpressionTag {
+    private ExpressionTag() { }
+  }
+
+  /** Literals, including block literals that are not inlined. */
+  public static final class LiteralTag {
+    private LiteralTag() { }
+  }
+
+  private Tags() { }
+}
@@ -1,14 +1,44 @@
 package som.interpreter;
 
+import som.vm.VmManagement;
+import som.vm.VmSettings;
+
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.nodes.Node;
 
 
 public final class TruffleCompiler {
   public static void transferToInterpreter(final String reason) {
+    transferToInterpreter(reason, null);
+  }
+
+  public static void transferToInterpreter(final String reason,
+      final Node location) {
+    // only a transfer from compiled code leaves it, the interpreter just
+    // takes the slow path
+    boolean inCompiledCode = CompilerDirectives.inCompiledCode();
     CompilerDirectives.transferToInterpreter();
+    if (inCompiledCode) {
+      VmManagement.countTransferToInterpreter(false);
+    }
+    if (VmSettings.DEOPT_STATISTICS) {
+      DeoptStatistics.record(reason, false, inCompiledCode, location);
+    }
   }
 
   public static void transferToInterpreterAndInvalidate(final String reason) {
+    transferToInterpreterAndInvalidate(reason, null);
+  }
+
+  public static void transferToInterpreterAndInvalidate(final String reason,
+      final Node location) {
+    boolean inCompiledCode = CompilerDirectives.inCompiledCode();
     CompilerDirectives.transferToInterpreterAndInvalidate();
+    if (inCompiledCode) {
+      VmManagement.countTransferToInterpreter(true);
+    }
+    if (VmSettings.DEOPT_STATISTICS) {
+      DeoptStatistics.record(reason, true, inCompiledCode, location);
+    }
   }
 }
@@ -28,18 +28,21 @@ import som.vm.constants.Globals;
 import som.vmobjects.SAbstractObject;
 import som.vmobjects.SArray;
 import som.vmobjects.SBlock;
+import som.vmobjects.LazyString;
 import som.vmobjects.SClass;
 import som.vmobjects.SInvokable;
 import som.vmobjects.SObject;
 import som.vmobjects.SSymbol;
 
 import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.dsl.ImplicitCast;
 import com.oracle.truffle.api.dsl.TypeSystem;
 
 @TypeSystem({   boolean.class,
                    long.class,
              BigInteger.class,
                  String.class,
+             LazyString.class,
                  double.class,
                  SClass.class,
                 SObject.class,
@@ -51,6 +54,15 @@ import com.oracle.truffle.api.dsl.TypeSystem;
                Object[].class}) // Object[] is only for argument passing
 public class Types {
 
+  /**
+   * Primitives without a specialization for lazy strings get them as flat
+   * strings.
+   */
+  @ImplicitCast
+  public static String castLazyString(final LazyString str) {
+    return str.toString();
+  }
+
   public static SClass getClassOf(final Object obj) {
     CompilerAsserts.neverPartOfCompilation();
     assert obj != null;
@@ -65,7 +77,7 @@ public class Types {
       }
     } else if (obj instanceof Long || obj instanceof BigInteger) {
       return Classes.integerClass;
-    } else if (obj instanceof String) {
+    } else if (obj instanceof String || obj instanceof LazyString) {
       return Classes.stringClass;
     } else if (obj instanceof Double) {
       return Classes.doubleClass;
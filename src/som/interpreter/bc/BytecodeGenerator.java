@@ -0,0 +1,351 @@
+package som.interpreter.bc;
+
+import static som.interpreter.SNodeFactory.createCatchNonLocalReturn;
+import static som.interpreter.bc.Bytecodes.EXECUTE_AST;
+import static som.interpreter.bc.Bytecodes.JUMP;
+import static som.interpreter.bc.Bytecodes.JUMP_IF_FALSE;
+import static som.interpreter.bc.Bytecodes.JUMP_IF_TRUE;
+import static som.interpreter.bc.Bytecodes.POP;
+import static som.interpreter.bc.Bytecodes.PUSH_ARGUMENT;
+import static som.interpreter.bc.Bytecodes.PUSH_CONSTANT;
+import static som.interpreter.bc.Bytecodes.PUSH_LOCAL;
+import static som.interpreter.bc.Bytecodes.PUSH_NIL;
+import static som.interpreter.bc.Bytecodes.PUSH_OUTER_ARGUMENT;
+import static som.interpreter.bc.Bytecodes.PUSH_OUTER_LOCAL;
+import static som.interpreter.bc.Bytecodes.READ_FIELD;
+import static som.interpreter.bc.Bytecodes.RETURN_LOCAL;
+import static som.interpreter.bc.Bytecodes.SEND;
+import static som.interpreter.bc.Bytecodes.SEND_ARITHMETIC;
+import static som.interpreter.bc.Bytecodes.STORE_LOCAL;
+import static som.interpreter.bc.Bytecodes.STORE_OUTER_LOCAL;
+import static som.interpreter.bc.Bytecodes.WRITE_FIELD;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import som.interpreter.nodes.ArgumentReadNode.LocalArgumentReadNode;
+import som.interpreter.nodes.ArgumentReadNode.NonLocalArgumentReadNode;
+import som.interpreter.nodes.ExpressionNode;
+import som.interpreter.nodes.FieldNode.FieldReadNode;
+import som.interpreter.nodes.FieldNode.FieldWriteNode;
+import som.interpreter.nodes.MessageSendNode;
+import som.interpreter.nodes.MessageSendNode.AbstractMessageSendNode;
+import som.interpreter.nodes.MessageSendNode.AbstractUninitializedMessageSendNode;
+import som.interpreter.nodes.ReturnNonLocalNode.CatchNonLocalReturnNode;
+import som.interpreter.nodes.SequenceNode;
+import som.interpreter.nodes.UninitializedVariableNode.UninitializedVariableReadNode;
+import som.interpreter.nodes.UninitializedVariableNode.UninitializedVariableWriteNode;
+import som.interpreter.nodes.literals.BigIntegerLiteralNode;
+import som.interpreter.nodes.literals.DoubleLiteralNode;
+import som.interpreter.nodes.literals.IntegerLiteralNode;
+import som.interpreter.nodes.literals.StringLiteralNode;
+import som.interpreter.nodes.literals.SymbolLiteralNode;
+import som.interpreter.nodes.specialized.IfInlinedLiteralNode;
+import som.interpreter.nodes.specialized.IfTrueIfFalseInlinedLiteralsNode;
+import som.interpreter.nodes.specialized.whileloops.WhileInlinedLiteralsNode;
+import som.interpreter.objectstorage.FieldAccessorNode;
+import som.interpreter.objectstorage.FieldAccessorNode.AbstractReadFieldNode;
+import som.interpreter.objectstorage.FieldAccessorNode.AbstractWriteFieldNode;
+import som.vmobjects.SSymbol;
+
+import com.oracle.truffle.api.source.SourceSection;
+
+
+/**
+ * Translates the uninitialized AST of a method, as produced by the
+ * {@link som.compiler.Parser}, into bytecodes for the
+ * {@link BytecodeLoopNode}.
+ *
+ * The generator covers the nodes that dominate typical method bodies:
+ * variable and field accesses, literals, message sends, and the inlined
+ * control structures. Everything else, for instance blocks, super sends,
+ * globals, and non-local returns, is kept as AST and embedded with the
+ * EXECUTE_AST bytecode. Since locals are kept in the Truffle frame, both
+ * forms can be freely mixed.
+ */
+public final class BytecodeGenerator {
+
+  /**
+   * Translate the body of a method or block. The handler for non-local
+   * returns wraps the whole body, and stays around the bytecodes.
+   */
+  public static ExpressionNode generateMethodBody(final ExpressionNode body) {
+    if (body instanceof CatchNonLocalReturnNode) {
+      CatchNonLocalReturnNode catchNode = (CatchNonLocalReturnNode) body;
+      ExpressionNode methodBody = catchNode.getFirstMethodBodyNode();
+      return createCatchNonLocalReturn(
+          generate(methodBody, methodBody.getSourceSection()),
+          catchNode.getFrameOnStackMarker());
+    }
+    return generate(body, body.getSourceSection());
+  }
+
+  public static BytecodeLoopNode generate(final ExpressionNode body,
+      final SourceSection source) {
+    BytecodeGenerator gen = new BytecodeGenerator();
+    gen.emitExpression(body);
+    gen.emit(RETURN_LOCAL);
+    gen.pop();
+    assert gen.stackDepth == 0;
+
+    return new BytecodeLoopNode(gen.getBytecodes(),
+        gen.constants.toArray(),
+        gen.sends.toArray(new AbstractMessageSendNode[0]),
+        gen.getQuickenedSends(),
+        gen.fieldReads.toArray(new AbstractReadFieldNode[0]),
+        gen.fieldWrites.toArray(new AbstractWriteFieldNode[0]),
+        gen.astNodes.toArray(new ExpressionNode[0]),
+        gen.maxStackDepth, source);
+  }
+
+  private byte[] bytecodes;
+  private int    length;
+
+  private final List<Object>                  constants;
+  private final List<AbstractMessageSendNode> sends;
+  private final List<Byte>                    quickenedSends;
+  private final List<AbstractReadFieldNode>   fieldReads;
+  private final List<AbstractWriteFieldNode>  fieldWrites;
+  private final List<ExpressionNode>          astNodes;
+
+  private int stackDepth;
+  private int maxStackDepth;
+
+  private BytecodeGenerator() {
+    bytecodes      = new byte[32];
+    constants      = new ArrayList<>();
+    sends          = new ArrayList<>();
+    quickenedSends = new ArrayList<>();
+    fieldReads     = new ArrayList<>();
+    fieldWrites    = new ArrayList<>();
+    astNodes       = new ArrayList<>();
+  }
+
+  private byte[] getBytecodes() {
+    return Arrays.copyOf(bytecodes, length);
+  }
+
+  private byte[] getQuickenedSends() {
+    byte[] result = new byte[quickenedSends.size()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = quickenedSends.get(i);
+    }
+    return result;
+  }
+
+  private void emitExpression(final ExpressionNode node) {
+    if (node instanceof SequenceNode) {
+      emitSequence((SequenceNode) node);
+    } else if (node instanceof IntegerLiteralNode
+        || node instanceof BigIntegerLiteralNode
+        || node instanceof DoubleLiteralNode
+        || node instanceof StringLiteralNode
+        || node instanceof SymbolLiteralNode) {
+      // these literals are immutable and do not depend on the frame
+      emitWithIndex(PUSH_CONSTANT, addConstant(node.executeGeneric(null)));
+      push();
+    } else if (node instanceof LocalArgumentReadNode) {
+      emitWithIndex(PUSH_ARGUMENT,
+          ((LocalArgumentReadNode) node).getArgumentIndex());
+      push();
+    } else if (node instanceof NonLocalArgumentReadNode) {
+      NonLocalArgumentReadNode read = (NonLocalArgumentReadNode) node;
+      emitWithIndex(PUSH_OUTER_ARGUMENT, read.getArgumentIndex());
+      emitShort(read.getContextLevel());
+      push();
+    } else if (node instanceof UninitializedVariableReadNode) {
+      emitVariableRead((UninitializedVariableReadNode) node);
+    } else if (node instanceof UninitializedVariableWriteNode) {
+      emitVariableWrite((UninitializedVariableWriteNode) node);
+    } else if (node instanceof FieldReadNode) {
+      FieldReadNode read = (FieldReadNode) node;
+      emitExpression(read.getSelf());
+      fieldReads.add(FieldAccessorNode.createRead(read.getFieldIndex()));
+      emitWithIndex(READ_FIELD, fieldReads.size() - 1);
+    } else if (node instanceof FieldWriteNode) {
+      FieldWriteNode write = (FieldWriteNode) node;
+      emitExpression(write.getSelf());
+      emitExpression(write.getValue());
+      fieldWrites.add(FieldAccessorNode.createWrite(write.getFieldIndex()));
+      emitWithIndex(WRITE_FIELD, fieldWrites.size() - 1);
+      pop();
+    } else if (node instanceof AbstractUninitializedMessageSendNode
+        && !((AbstractUninitializedMessageSendNode) node).isSuperSend()) {
+      emitSend((AbstractUninitializedMessageSendNode) node);
+    } else if (node instanceof IfInlinedLiteralNode) {
+      emitIf((IfInlinedLiteralNode) node);
+    } else if (node instanceof IfTrueIfFalseInlinedLiteralsNode) {
+      emitIfTrueIfFalse((IfTrueIfFalseInlinedLiteralsNode) node);
+    } else if (node instanceof WhileInlinedLiteralsNode) {
+      emitWhile((WhileInlinedLiteralsNode) node);
+    } else {
+      astNodes.add(node);
+      emitWithIndex(EXECUTE_AST, astNodes.size() - 1);
+      push();
+    }
+  }
+
+  private void emitSequence(final SequenceNode node) {
+    ExpressionNode[] expressions = node.getExpressions();
+    for (int i = 0; i < expressions.length; i++) {
+      emitExpression(expressions[i]);
+      if (i < expressions.length - 1) {
+        emit(POP);
+        pop();
+      }
+    }
+  }
+
+  private void emitVariableRead(final UninitializedVariableReadNode node) {
+    int slot = addConstant(node.getLocal().getSlot());
+    if (node.getContextLevel() == 0) {
+      emitWithIndex(PUSH_LOCAL, slot);
+    } else {
+      emitWithIndex(PUSH_OUTER_LOCAL, slot);
+      emitShort(node.getContextLevel());
+    }
+    push();
+  }
+
+  private void emitVariableWrite(final UninitializedVariableWriteNode node) {
+    emitExpression(node.getExp());
+    int slot = addConstant(node.getLocal().getSlot());
+    if (node.getContextLevel() == 0) {
+      emitWithIndex(STORE_LOCAL, slot);
+    } else {
+      emitWithIndex(STORE_OUTER_LOCAL, slot);
+      emitShort(node.getContextLevel());
+    }
+  }
+
+  private void emitSend(final AbstractUninitializedMessageSendNode node) {
+    ExpressionNode[] arguments = node.getArguments();
+    for (ExpressionNode arg : arguments) {
+      emitExpression(arg);
+    }
+
+    SSymbol selector = node.getSelector();
+    byte quickened = Bytecodes.getQuickenedArithmetic(selector.getString());
+    sends.add(MessageSendNode.createForPerformNodes(selector));
+    quickenedSends.add(quickened);
+    int sendIdx = sends.size() - 1;
+
+    if (arguments.length == 2 && quickened != -1) {
+      emitWithIndex(SEND_ARITHMETIC, sendIdx);
+    } else {
+      assert arguments.length <= 0xFF;
+      emitWithIndex(SEND, sendIdx);
+      emitByte(arguments.length);
+    }
+
+    for (int i = 0; i < arguments.length; i++) {
+      pop();
+    }
+    push();
+  }
+
+  private void emitIf(final IfInlinedLiteralNode node) {
+    emitExpression(node.getConditionNode());
+    int jumpToElse = emitJump(node.getExpectedBool() ? JUMP_IF_FALSE : JUMP_IF_TRUE);
+    pop();
+
+    emitExpression(node.getBodyNode());
+    int jumpToEnd = emitJump(JUMP);
+    pop();
+
+    patchJumpTarget(jumpToElse, length);
+    emit(PUSH_NIL);
+    push();
+    patchJumpTarget(jumpToEnd, length);
+  }
+
+  private void emitIfTrueIfFalse(final IfTrueIfFalseInlinedLiteralsNode node) {
+    emitExpression(node.getConditionNode());
+    int jumpToFalse = emitJump(JUMP_IF_FALSE);
+    pop();
+
+    emitExpression(node.getTrueNode());
+    int jumpToEnd = emitJump(JUMP);
+    pop();
+
+    patchJumpTarget(jumpToFalse, length);
+    emitExpression(node.getFalseNode());
+    patchJumpTarget(jumpToEnd, length);
+  }
+
+  private void emitWhile(final WhileInlinedLiteralsNode node) {
+    int loopStart = length;
+    emitExpression(node.getConditionNode());
+    int jumpToEnd = emitJump(node.getExpectedBool() ? JUMP_IF_FALSE : JUMP_IF_TRUE);
+    pop();
+
+    emitExpression(node.getBodyNode());
+    emit(POP);
+    pop();
+    int jumpBack = emitJump(JUMP);
+    patchJumpTarget(jumpBack, loopStart);
+
+    patchJumpTarget(jumpToEnd, length);
+    emit(PUSH_NIL);
+    push();
+  }
+
+  private int addConstant(final Object value) {
+    int idx = constants.indexOf(value);
+    if (idx >= 0) {
+      return idx;
+    }
+    constants.add(value);
+    return constants.size() - 1;
+  }
+
+  private void push() {
+    stackDepth++;
+    maxStackDepth = Math.max(maxStackDepth, stackDepth);
+  }
+
+  private void pop() {
+    stackDepth--;
+    assert stackDepth >= 0;
+  }
+
+  /**
+   * @return the position of the jump target operand, to be patched later
+   */
+  private int emitJump(final byte jump) {
+    emitWithIndex(jump, 0);
+    return length - 2;
+  }
+
+  private void patchJumpTarget(final int operandPosition, final int target) {
+    bytecodes[operandPosition]     = (byte) (target >> 8);
+    bytecodes[operandPosition + 1] = (byte) target;
+  }
+
+  private void emitWithIndex(final byte bytecode, final int index) {
+    emit(bytecode);
+    emitShort(index);
+  }
+
+  private void emitShort(final int value) {
+    if (value > 0xFFFF) {
+      throw new IllegalStateException(
+          "Method too large to be translated to bytecodes.");
+    }
+    emitByte(value >> 8);
+    emitByte(value);
+  }
+
+  private void emit(final byte bytecode) {
+    emitByte(bytecode);
+  }
+
+  private void emitByte(final int value) {
+    if (length == bytecodes.length) {
+      bytecodes = Arrays.copyOf(bytecodes, bytecodes.length * 2);
+    }
+    bytecodes[length] = (byte) value;
+    length++;
+  }
+}
@@ -0,0 +1,359 @@
+package som.interpreter.bc;
+
+import static som.interpreter.bc.Bytecodes.ADD_LONG;
+import static som.interpreter.bc.Bytecodes.EQUAL_LONG;
+import static som.interpreter.bc.Bytecodes.EXECUTE_AST;
+import static som.interpreter.bc.Bytecodes.GREATER_THAN_EQUAL_LONG;
+import static som.interpreter.bc.Bytecodes.GREATER_THAN_LONG;
+import static som.interpreter.bc.Bytecodes.JUMP;
+import static som.interpreter.bc.Bytecodes.JUMP_IF_FALSE;
+import static som.interpreter.bc.Bytecodes.JUMP_IF_TRUE;
+import static som.interpreter.bc.Bytecodes.LESS_THAN_EQUAL_LONG;
+import static som.interpreter.bc.Bytecodes.LESS_THAN_LONG;
+import static som.interpreter.bc.Bytecodes.MULTIPLY_LONG;
+import static som.interpreter.bc.Bytecodes.POP;
+import static som.interpreter.bc.Bytecodes.PUSH_ARGUMENT;
+import static som.interpreter.bc.Bytecodes.PUSH_CONSTANT;
+import static som.interpreter.bc.Bytecodes.PUSH_LOCAL;
+import static som.interpreter.bc.Bytecodes.PUSH_NIL;
+import static som.interpreter.bc.Bytecodes.PUSH_OUTER_ARGUMENT;
+import static som.interpreter.bc.Bytecodes.PUSH_OUTER_LOCAL;
+import static som.interpreter.bc.Bytecodes.READ_FIELD;
+import static som.interpreter.bc.Bytecodes.RETURN_LOCAL;
+import static som.interpreter.bc.Bytecodes.SEND;
+import static som.interpreter.bc.Bytecodes.SEND_ARITHMETIC;
+import static som.interpreter.bc.Bytecodes.SEND_BINARY;
+import static som.interpreter.bc.Bytecodes.STORE_LOCAL;
+import static som.interpreter.bc.Bytecodes.STORE_OUTER_LOCAL;
+import static som.interpreter.bc.Bytecodes.SUBTRACT_LONG;
+import static som.interpreter.bc.Bytecodes.WRITE_FIELD;
+
+import som.interpreter.Invokable;
+import som.interpreter.SArguments;
+import som.interpreter.SamplingProfiler;
+import som.interpreter.TruffleCompiler;
+import som.interpreter.nodes.ExpressionNode;
+import som.interpreter.nodes.MessageSendNode.AbstractMessageSendNode;
+import som.interpreter.objectstorage.FieldAccessorNode.AbstractReadFieldNode;
+import som.interpreter.objectstorage.FieldAccessorNode.AbstractWriteFieldNode;
+import som.vm.constants.Nil;
+import som.vmobjects.SBlock;
+import som.vmobjects.SObject;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.dsl.UnsupportedSpecializationException;
+import com.oracle.truffle.api.frame.Frame;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.FrameSlotKind;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.RootNode;
+import com.oracle.truffle.api.source.SourceSection;
+
+
+/**
+ * Executes the bytecodes of a method produced by the
+ * {@link BytecodeGenerator}.
+ *
+ * Each send, field access, and embedded AST node has its own child node,
+ * which acts as the inline cache of the corresponding bytecode.
+ * Binary arithmetic sends are quickened to direct operations on longs when
+ * they first see two long operands, and are rewritten back to normal sends
+ * as soon as that assumption fails.
+ *
+ * The node is designed for the interpreter on a standard JVM. With Graal,
+ * the AST interpreter is the better choice.
+ */
+public final class BytecodeLoopNode extends ExpressionNode {
+
+  /** Rewritten by quickening, and therefore copied with the node. */
+  @CompilationFinal private byte[] bytecodes;
+  @CompilationFinal private final Object[] constants;
+
+  /** The quickened bytecode for each arithmetic send, indexed by send. */
+  @CompilationFinal private final byte[] quickenedSends;
+
+  @Children private final AbstractMessageSendNode[] sends;
+  @Children private final AbstractReadFieldNode[]   fieldReads;
+  @Children private final AbstractWriteFieldNode[]  fieldWrites;
+  @Children private final ExpressionNode[]          astNodes;
+
+  private final int maxStackDepth;
+
+  public BytecodeLoopNode(final byte[] bytecodes, final Object[] constants,
+      final AbstractMessageSendNode[] sends, final byte[] quickenedSends,
+      final AbstractReadFieldNode[] fieldReads,
+      final AbstractWriteFieldNode[] fieldWrites,
+      final ExpressionNode[] astNodes, final int maxStackDepth,
+      final SourceSection source) {
+    super(source);
+    this.bytecodes      = bytecodes;
+    this.constants      = constants;
+    this.sends          = sends;
+    this.quickenedSends = quickenedSends;
+    this.fieldReads     = fieldReads;
+    this.fieldWrites    = fieldWrites;
+    this.astNodes       = astNodes;
+    this.maxStackDepth  = maxStackDepth;
+  }
+
+  @Override
+  public Node copy() {
+    BytecodeLoopNode copy = (BytecodeLoopNode) super.copy();
+    copy.bytecodes = bytecodes.clone();
+    return copy;
+  }
+
+  @Override
+  public Object executeGeneric(final VirtualFrame frame) {
+    final Object[] stack = new Object[maxStackDepth];
+    int sp = 0;
+    int pc = 0;
+    long backJumps = 0;
+
+    try {
+      while (true) {
+        byte bc = bytecodes[pc];
+        switch (bc) {
+          case PUSH_CONSTANT:
+            stack[sp++] = constants[operand(pc)];
+            break;
+
+          case PUSH_NIL:
+            stack[sp++] = Nil.nilObject;
+            break;
+
+          case PUSH_ARGUMENT:
+            stack[sp++] = SArguments.arg(frame, operand(pc));
+            break;
+
+          case PUSH_OUTER_ARGUMENT:
+            stack[sp++] = SArguments.arg(
+                determineContext(frame, secondOperand(pc)), operand(pc));
+            break;
+
+          case PUSH_LOCAL:
+            stack[sp++] = readSlot(frame, slot(pc));
+            break;
+
+          case PUSH_OUTER_LOCAL:
+            stack[sp++] = readSlot(
+                determineContext(frame, secondOperand(pc)), slot(pc));
+            break;
+
+          case STORE_LOCAL:
+            writeSlot(frame, slot(pc), stack[sp - 1]);
+            break;
+
+          case STORE_OUTER_LOCAL:
+            writeSlot(determineContext(frame, secondOperand(pc)), slot(pc),
+                stack[sp - 1]);
+            break;
+
+          case READ_FIELD:
+            stack[sp - 1] = fieldReads[operand(pc)].read((SObject) stack[sp - 1]);
+            break;
+
+          case WRITE_FIELD: {
+            Object value = stack[--sp];
+            stack[sp - 1] = fieldWrites[operand(pc)].write(
+                (SObject) stack[sp - 1], value);
+            break;
+          }
+
+          case SEND: {
+            int numArgs = bytecodes[pc + 3] & 0xFF;
+            Object[] args = new Object[numArgs];
+            sp -= numArgs;
+            System.arraycopy(stack, sp, args, 0, numArgs);
+            stack[sp++] = sends[operand(pc)].doPreEvaluated(frame, args);
+            break;
+          }
+
+          case SEND_ARITHMETIC:
+            sp--;
+            stack[sp - 1] = quickenArithmetic(frame, pc, stack[sp - 1], stack[sp]);
+            break;
+
+          case SEND_BINARY:
+            sp--;
+            stack[sp - 1] = sends[operand(pc)].doPreEvaluated(frame,
+                new Object[] {stack[sp - 1], stack[sp]});
+            break;
+
+          case ADD_LONG:
+          case SUBTRACT_LONG:
+          case MULTIPLY_LONG:
+          case LESS_THAN_LONG:
+          case LESS_THAN_EQUAL_LONG:
+          case GREATER_THAN_LONG:
+          case GREATER_THAN_EQUAL_LONG:
+          case EQUAL_LONG:
+            sp--;
+            stack[sp - 1] = doQuickenedArithmetic(frame, bc, pc,
+                stack[sp - 1], stack[sp]);
+            break;
+
+          case EXECUTE_AST:
+            stack[sp++] = astNodes[operand(pc)].executeGeneric(frame);
+            break;
+
+          case POP:
+            sp--;
+            break;
+
+          case JUMP: {
+            int target = operand(pc);
+            if (target < pc) {
+              backJumps++;
+              SamplingProfiler.poll();
+            }
+            pc = target;
+            continue;
+          }
+
+          case JUMP_IF_TRUE:
+            if (condition(stack[--sp])) {
+              pc = operand(pc);
+              continue;
+            }
+            break;
+
+          case JUMP_IF_FALSE:
+            if (!condition(stack[--sp])) {
+              pc = operand(pc);
+              continue;
+            }
+            break;
+
+          case RETURN_LOCAL:
+            return stack[sp - 1];
+
+          default:
+            CompilerDirectives.transferToInterpreter();
+            throw new IllegalStateException("Unknown bytecode " + bc + " at " + pc);
+        }
+        pc += Bytecodes.getLength(bc);
+      }
+    } finally {
+      if (CompilerDirectives.inInterpreter() && backJumps > 0) {
+        reportLoopCount(backJumps);
+      }
+    }
+  }
+
+  private int operand(final int pc) {
+    return ((bytecodes[pc + 1] & 0xFF) << 8) | (bytecodes[pc + 2] & 0xFF);
+  }
+
+  private int secondOperand(final int pc) {
+    return ((bytecodes[pc + 3] & 0xFF) << 8) | (bytecodes[pc + 4] & 0xFF);
+  }
+
+  private FrameSlot slot(final int pc) {
+    return (FrameSlot) constants[operand(pc)];
+  }
+
+  private static Frame determineContext(final VirtualFrame frame,
+      final int contextLevel) {
+    SBlock self = (SBlock) SArguments.rcvr(frame);
+    int i = contextLevel - 1;
+
+    while (i > 0) {
+      self = (SBlock) self.getOuterSelf();
+      i--;
+    }
+    return self.getContext();
+  }
+
+  private static Object readSlot(final Frame frame, final FrameSlot slot) {
+    Object value = frame.getValue(slot);
+    if (value == null) {
+      // slot was not yet written
+      return Nil.nilObject;
+    }
+    return value;
+  }
+
+  private void writeSlot(final Frame frame, final FrameSlot slot,
+      final Object value) {
+    // the AST nodes for variable access rely on the slot kind, so, we need
+    // to keep it consistent with what we store into the frame
+    if (slot.getKind() != FrameSlotKind.Object) {
+      TruffleCompiler.transferToInterpreterAndInvalidate(
+          "Bytecode writes to a primitive frame slot", this);
+      slot.setKind(FrameSlotKind.Object);
+    }
+    frame.setObject(slot, value);
+  }
+
+  private boolean condition(final Object value) {
+    if (value instanceof Boolean) {
+      return (boolean) value;
+    }
+    CompilerDirectives.transferToInterpreter();
+    throw new UnsupportedSpecializationException(this, new Node[0], value);
+  }
+
+  private Object quickenArithmetic(final VirtualFrame frame, final int pc,
+      final Object left, final Object right) {
+    TruffleCompiler.transferToInterpreterAndInvalidate("Quicken arithmetic bytecode", this);
+    if (left instanceof Long && right instanceof Long) {
+      byte quickened = quickenedSends[operand(pc)];
+      bytecodes[pc] = quickened;
+      return doQuickenedArithmetic(frame, quickened, pc, left, right);
+    }
+    return deoptimizeToSend(frame, pc, left, right);
+  }
+
+  private Object doQuickenedArithmetic(final VirtualFrame frame, final byte bc,
+      final int pc, final Object left, final Object right) {
+    if (!(left instanceof Long && right instanceof Long)) {
+      return deoptimizeToSend(frame, pc, left, right);
+    }
+
+    long l = (long) left;
+    long r = (long) right;
+    try {
+      switch (bc) {
+        case ADD_LONG:                return Math.addExact(l, r);
+        case SUBTRACT_LONG:           return Math.subtractExact(l, r);
+        case MULTIPLY_LONG:           return Math.multiplyExact(l, r);
+        case LESS_THAN_LONG:          return l < r;
+        case LESS_THAN_EQUAL_LONG:    return l <= r;
+        case GREATER_THAN_LONG:       return l > r;
+        case GREATER_THAN_EQUAL_LONG: return l >= r;
+        case EQUAL_LONG:              return l == r;
+        default:
+          CompilerDirectives.transferToInterpreter();
+          throw new IllegalStateException("Not a quickened bytecode: " + bc);
+      }
+    } catch (ArithmeticException e) {
+      // overflow, let the primitives take care of promoting to BigInteger
+      return deoptimizeToSend(frame, pc, left, right);
+    }
+  }
+
+  /**
+   * The quickening assumption failed, so, rewrite the bytecode permanently to
+   * a generic send. SEND_BINARY has the same length as the quickened
+   * bytecodes, while SEND would need the additional argument count.
+   */
+  private Object deoptimizeToSend(final VirtualFrame frame, final int pc,
+      final Object left, final Object right) {
+    TruffleCompiler.transferToInterpreterAndInvalidate("Quickened bytecode with non-integer operands", this);
+    bytecodes[pc] = SEND_BINARY;
+    return sends[operand(pc)].doPreEvaluated(frame, new Object[] {left, right});
+  }
+
+  private void reportLoopCount(final long count) {
+    Node current = getParent();
+    while (current != null && !(current instanceof RootNode)) {
+      current = current.getParent();
+    }
+    if (current != null) {
+      ((Invokable) current).propagateLoopCountThroughoutLexicalScope(count);
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package som.interpreter.bc;
+
+
+/**
+ * The instruction set of the bytecode interpreter.
+ *
+ * Each bytecode is one byte, followed by its operands. Unless noted
+ * otherwise, operands are unsigned 16-bit values in big-endian order.
+ * The interpreter is stack based, but the local variables of a method live
+ * in the Truffle frame, so that blocks and embedded AST nodes see the same
+ * state as they would in the AST interpreter.
+ *
+ * <pre>
+ * PUSH_CONSTANT        const       push constants[const]
+ * PUSH_NIL                         push nil
+ * PUSH_ARGUMENT        idx         push argument idx of the current frame
+ * PUSH_OUTER_ARGUMENT  idx, level  push argument idx of the outer context
+ * PUSH_LOCAL           slot        push the frame slot in constants[slot]
+ * PUSH_OUTER_LOCAL     slot, level push the slot of an outer context
+ * STORE_LOCAL          slot        store top of stack, leaves it on stack
+ * STORE_OUTER_LOCAL    slot, level store top of stack into outer context
+ * READ_FIELD           node        pop object, push its field
+ * WRITE_FIELD          node        pop value and object, push value
+ * SEND                 node, argc  pop argc values, dispatch, push result
+ * SEND_ARITHMETIC      node        binary send, quickened on first execution
+ * SEND_BINARY          node        binary send, after quickening failed
+ * EXECUTE_AST          node        push the result of an embedded AST node
+ * POP                              drop top of stack
+ * JUMP                 target      unconditional jump
+ * JUMP_IF_TRUE         target      pop boolean, jump if true
+ * JUMP_IF_FALSE        target      pop boolean, jump if false
+ * RETURN_LOCAL                     return top of stack
+ *
+ * SEND_BINARY and the following quickened forms of SEND_ARITHMETIC are
+ * only created at run time, and take the same operand:
+ * ADD_LONG, SUBTRACT_LONG, MULTIPLY_LONG, LESS_THAN_LONG,
+ * LESS_THAN_EQUAL_LONG, GREATER_THAN_LONG, GREATER_THAN_EQUAL_LONG,
+ * EQUAL_LONG
+ * </pre>
+ */
+public final class Bytecodes {
+
+  public static final byte PUSH_CONSTANT            =  0;
+  public static final byte PUSH_NIL                 =  1;
+  public static final byte PUSH_ARGUMENT            =  2;
+  public static final byte PUSH_OUTER_ARGUMENT      =  3;
+  public static final byte PUSH_LOCAL               =  4;
+  public static final byte PUSH_OUTER_LOCAL         =  5;
+  public static final byte STORE_LOCAL              =  6;
+  public static final byte STORE_OUTER_LOCAL        =  7;
+  public static final byte READ_FIELD               =  8;
+  public static final byte WRITE_FIELD              =  9;
+  public static final byte SEND                     = 10;
+  public static final byte SEND_ARITHMETIC          = 11;
+  public static final byte EXECUTE_AST              = 12;
+  public static final byte POP                      = 13;
+  public static final byte JUMP                     = 14;
+  public static final byte JUMP_IF_TRUE             = 15;
+  public static final byte JUMP_IF_FALSE            = 16;
+  public static final byte RETURN_LOCAL             = 17;
+
+  // bytecodes only ever created at run time by quickening
+  public static final byte SEND_BINARY              = 18;
+  public static final byte ADD_LONG                 = 19;
+  public static final byte SUBTRACT_LONG            = 20;
+  public static final byte MULTIPLY_LONG            = 21;
+  public static final byte LESS_THAN_LONG           = 22;
+  public static final byte LESS_THAN_EQUAL_LONG     = 23;
+  public static final byte GREATER_THAN_LONG        = 24;
+  public static final byte GREATER_THAN_EQUAL_LONG  = 25;
+  public static final byte EQUAL_LONG               = 26;
+
+  private static final String[] NAMES = new String[] {
+    "PUSH_CONSTANT",
+    "PUSH_NIL",
+    "PUSH_ARGUMENT",
+    "PUSH_OUTER_ARGUMENT",
+    "PUSH_LOCAL",
+    "PUSH_OUTER_LOCAL",
+    "STORE_LOCAL",
+    "STORE_OUTER_LOCAL",
+    "READ_FIELD",
+    "WRITE_FIELD",
+    "SEND",
+    "SEND_ARITHMETIC",
+    "EXECUTE_AST",
+    "POP",
+    "JUMP",
+    "JUMP_IF_TRUE",
+    "JUMP_IF_FALSE",
+    "RETURN_LOCAL",
+    "SEND_BINARY",
+    "ADD_LONG",
+    "SUBTRACT_LONG",
+    "MULTIPLY_LONG",
+    "LESS_THAN_LONG",
+    "LESS_THAN_EQUAL_LONG",
+    "GREATER_THAN_LONG",
+    "GREATER_THAN_EQUAL_LONG",
+    "EQUAL_LONG"
+  };
+
+  private static final int[] LENGTHS = new int[] {
+    3, // PUSH_CONSTANT
+    1, // PUSH_NIL
+    3, // PUSH_ARGUMENT
+    5, // PUSH_OUTER_ARGUMENT
+    3, // PUSH_LOCAL
+    5, // PUSH_OUTER_LOCAL
+    3, // STORE_LOCAL
+    5, // STORE_OUTER_LOCAL
+    3, // READ_FIELD
+    3, // WRITE_FIELD
+    4, // SEND, argc is a single byte
+    3, // SEND_ARITHMETIC
+    3, // EXECUTE_AST
+    1, // POP
+    3, // JUMP
+    3, // JUMP_IF_TRUE
+    3, // JUMP_IF_FALSE
+    1, // RETURN_LOCAL
+    3, // SEND_BINARY
+    3, // ADD_LONG
+    3, // SUBTRACT_LONG
+    3, // MULTIPLY_LONG
+    3, // LESS_THAN_LONG
+    3, // LESS_THAN_EQUAL_LONG
+    3, // GREATER_THAN_LONG
+    3, // GREATER_THAN_EQUAL_LONG
+    3  // EQUAL_LONG
+  };
+
+  public static String getName(final byte bytecode) {
+    return NAMES[bytecode];
+  }
+
+  public static int getLength(final byte bytecode) {
+    return LENGTHS[bytecode];
+  }
+
+  /**
+   * @return the quickened bytecode for a binary selector on two longs,
+   *         or -1 if there is none
+   */
+  public static byte getQuickenedArithmetic(final String selector) {
+    switch (selector) {
+      case "+":  return ADD_LONG;
+      case "-":  return SUBTRACT_LONG;
+      case "*":  return MULTIPLY_LONG;
+      case "<":  return LESS_THAN_LONG;
+      case "<=": return LESS_THAN_EQUAL_LONG;
+      case ">":  return GREATER_THAN_LONG;
+      case ">=": return GREATER_THAN_EQUAL_LONG;
+      case "=":  return EQUAL_LONG;
+      default:   return -1;
+    }
+  }
+
+  private Bytecodes() { }
+}
@@ -19,6 +19,10 @@ public abstract class ArgumentReadNode {
       this.argumentIndex = argumentIndex;
     }
 
+    public final int getArgumentIndex() {
+      return argumentIndex;
+    }
+
     @Override
     public final Object executeGeneric(final VirtualFrame frame) {
       return SArguments.arg(frame, argumentIndex);
@@ -42,6 +46,10 @@ public abstract class ArgumentReadNode {
       this.argumentIndex = argumentIndex;
     }
 
+    public final int getArgumentIndex() {
+      return argumentIndex;
+    }
+
     @Override
     public final Object executeGeneric(final VirtualFrame frame) {
       return SArguments.arg(determineContext(frame), argumentIndex);
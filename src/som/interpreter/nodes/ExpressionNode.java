@@ -23,6 +23,8 @@ package som.interpreter.nodes;
 
 import java.math.BigInteger;
 
+import som.interpreter.Invokable;
+import som.interpreter.Tags.ExpressionTag;
 import som.interpreter.TypesGen;
 import som.vmobjects.SAbstractObject;
 import som.vmobjects.SArray;
@@ -33,9 +35,17 @@ import som.vmobjects.SObject;
 import som.vmobjects.SSymbol;
 
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.InstrumentableFactory.WrapperNode;
+import com.oracle.truffle.api.instrumentation.Instrumentable;
+import com.oracle.truffle.api.instrumentation.StandardTags.RootTag;
+import com.oracle.truffle.api.instrumentation.StandardTags.StatementTag;
+import com.oracle.truffle.api.nodes.Node;
+import com.oracle.truffle.api.nodes.NodeFieldAccessor;
+import com.oracle.truffle.api.nodes.NodeUtil;
 import com.oracle.truffle.api.nodes.UnexpectedResultException;
 import com.oracle.truffle.api.source.SourceSection;
 
+@Instrumentable(factory = ExpressionNodeWrapper.class)
 public abstract class ExpressionNode extends SOMNode {
 
   public ExpressionNode(final SourceSection sourceSection) {
@@ -47,6 +57,52 @@ public abstract class ExpressionNode extends SOMNode {
   @Override
   public ExpressionNode getFirstMethodBodyNode() { return this; }
 
+  /**
+   * Expressions with a source section are tagged for instrumentation, the
+   * body of a method as root, and the expressions of a sequence as
+   * statements. Instruments replace tagged nodes with a wrapper, so that
+   * the untagged trees are executed without any overhead.
+   */
+  @Override
+  protected boolean isTaggedWith(final Class<?> tag) {
+    if (getSourceSection() == null || !canBeWrapped()) {
+      return false;
+    }
+
+    Node parent = getParent();
+    if (parent instanceof WrapperNode) {
+      parent = parent.getParent();
+    }
+
+    if (tag == ExpressionTag.class) {
+      return true;
+    } else if (tag == RootTag.class) {
+      return parent instanceof Invokable;
+    } else if (tag == StatementTag.class) {
+      return parent instanceof SequenceNode ||
+          (parent instanceof Invokable && !(this instanceof SequenceNode));
+    }
+    return false;
+  }
+
+  private boolean canBeWrapped() {
+    // a wrapped super read would turn a super send into a normal send
+    if (this instanceof ISuperReadNode || getParent() == null) {
+      return false;
+    }
+
+    // the wrapper is only an ExpressionNode, which not all fields accept
+    NodeFieldAccessor field = NodeUtil.findChildField(getParent(), this);
+    if (field == null) {
+      return false;
+    }
+    Class<?> type = field.getType();
+    if (type.isArray()) {
+      type = type.getComponentType();
+    }
+    return type.isAssignableFrom(ExpressionNode.class);
+  }
+
   public boolean executeBoolean(final VirtualFrame frame) throws UnexpectedResultException {
     return TypesGen.expectBoolean(executeGeneric(frame));
   }
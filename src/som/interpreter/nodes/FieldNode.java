@@ -40,7 +40,9 @@ public abstract class FieldNode extends ExpressionNode {
     super(source);
   }
 
-  protected abstract ExpressionNode getSelf();
+  public abstract ExpressionNode getSelf();
+
+  public abstract int getFieldIndex();
 
   public static final class FieldReadNode extends FieldNode
       implements PreevaluatedExpression {
@@ -59,10 +61,15 @@ public abstract class FieldNode extends ExpressionNode {
     }
 
     @Override
-    protected ExpressionNode getSelf() {
+    public ExpressionNode getSelf() {
       return self;
     }
 
+    @Override
+    public int getFieldIndex() {
+      return read.getFieldIndex();
+    }
+
     public Object executeEvaluated(final SObject obj) {
        return read.read(obj);
     }
@@ -114,6 +121,13 @@ public abstract class FieldNode extends ExpressionNode {
       this(node.write.getFieldIndex(), node.getSourceSection());
     }
 
+    public abstract ExpressionNode getValue();
+
+    @Override
+    public final int getFieldIndex() {
+      return write.getFieldIndex();
+    }
+
     public final Object executeEvaluated(final VirtualFrame frame,
         final SObject self, final Object value) {
       return write.write(self, value);
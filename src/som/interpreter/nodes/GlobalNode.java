@@ -30,6 +30,7 @@ import som.vmobjects.SAbstractObject;
 import som.vmobjects.SSymbol;
 
 import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.source.SourceSection;
 
@@ -44,6 +45,11 @@ public abstract class GlobalNode extends ExpressionNode {
     this.globalName = globalName;
   }
 
+  /**
+   * Reads the global of the universe that loaded the class of the node.
+   * Kernel classes are shared by all universes, their nodes have no universe
+   * and read the global of the universe that executes them.
+   */
   public abstract static class AbstractUninitializedGlobalReadNode extends GlobalNode {
     private final Universe universe;
 
@@ -57,7 +63,7 @@ public abstract class GlobalNode extends ExpressionNode {
 
     @Override
     public Object executeGeneric(final VirtualFrame frame) {
-      TruffleCompiler.transferToInterpreterAndInvalidate("Uninitialized Global Node");
+      TruffleCompiler.transferToInterpreterAndInvalidate("Uninitialized Global Node", this);
 
       // first let's check whether it is one of the well known globals
       switch (globalName.getString()) {
@@ -73,21 +79,28 @@ public abstract class GlobalNode extends ExpressionNode {
       }
 
       // Get the global from the universe
-      Association assoc = universe.getGlobalsAssociation(globalName);
-      if (assoc != null) {
-        return replace(new CachedGlobalReadNode(globalName, assoc,
-            getSourceSection())).executeGeneric(frame);
-      } else {
+      Universe executing = universe != null ? universe : Universe.current();
+      Association assoc = executing.getGlobalsAssociation(globalName);
+      if (assoc == null) {
         return executeUnknownGlobal(frame);
       }
+
+      GlobalNode cached;
+      if (universe != null) {
+        cached = new CachedGlobalReadNode(globalName, assoc, getSourceSection());
+      } else {
+        cached = new CachedKernelGlobalReadNode(globalName, assoc, executing,
+            this, getSourceSection());
+      }
+      return replace(cached).executeGeneric(frame);
     }
   }
 
   public static final class UninitializedGlobalReadNode extends AbstractUninitializedGlobalReadNode {
 
     public UninitializedGlobalReadNode(final SSymbol globalName,
-        final SourceSection source) {
-      super(globalName, Universe.current(), source);
+        final Universe universe, final SourceSection source) {
+      super(globalName, universe, source);
     }
 
     @Override
@@ -103,8 +116,8 @@ public abstract class GlobalNode extends ExpressionNode {
 
   public static final class UninitializedGlobalReadWithoutErrorNode extends AbstractUninitializedGlobalReadNode {
     public UninitializedGlobalReadWithoutErrorNode(final SSymbol globalName,
-        final SourceSection source) {
-      super(globalName, Universe.current(), source);
+        final Universe universe, final SourceSection source) {
+      super(globalName, universe, source);
     }
 
     @Override
@@ -124,10 +137,68 @@ public abstract class GlobalNode extends ExpressionNode {
 
     @Override
     public Object executeGeneric(final VirtualFrame frame) {
+      // a constant in compiled code, until the global changes too often
       return assoc.getValue();
     }
   }
 
+  /**
+   * Caches the global of the first universe that executes the kernel node,
+   * which is the only one as long as there is a single universe.
+   */
+  private static final class CachedKernelGlobalReadNode extends GlobalNode {
+    private final Association assoc;
+    private final Universe    universe;
+    private final AbstractUninitializedGlobalReadNode uninitialized;
+
+    private CachedKernelGlobalReadNode(final SSymbol globalName,
+        final Association assoc, final Universe universe,
+        final AbstractUninitializedGlobalReadNode uninitialized,
+        final SourceSection source) {
+      super(globalName, source);
+      this.assoc    = assoc;
+      this.universe = universe;
+      this.uninitialized = uninitialized;
+    }
+
+    @Override
+    public Object executeGeneric(final VirtualFrame frame) {
+      if (Universe.isCurrent(universe)) {
+        // a constant in compiled code, until the global changes too often
+        return assoc.getValue();
+      }
+
+      TruffleCompiler.transferToInterpreterAndInvalidate(
+          "Global read in another universe", this);
+      return replace(new AnyUniverseGlobalReadNode(uninitialized)).
+          executeGeneric(frame);
+    }
+  }
+
+  /**
+   * Reads the global from the current universe on every execution, once
+   * the kernel node was executed by multiple universes.
+   */
+  private static final class AnyUniverseGlobalReadNode extends GlobalNode {
+    private final AbstractUninitializedGlobalReadNode uninitialized;
+
+    private AnyUniverseGlobalReadNode(
+        final AbstractUninitializedGlobalReadNode uninitialized) {
+      super(uninitialized.globalName, uninitialized.getSourceSection());
+      this.uninitialized = uninitialized;
+    }
+
+    @Override
+    public Object executeGeneric(final VirtualFrame frame) {
+      Object value = Universe.current().getGlobal(globalName);
+      if (value != null) {
+        return value;
+      }
+      CompilerDirectives.transferToInterpreter();
+      return uninitialized.executeUnknownGlobal(frame);
+    }
+  }
+
   private static final class TrueGlobalNode extends GlobalNode {
     public TrueGlobalNode(final SSymbol globalName, final SourceSection source) {
       super(globalName, source);
@@ -138,7 +138,7 @@ public abstract class LocalVariableNode extends ExpressionNode {
         return true;
       }
       if (slot.getKind() == FrameSlotKind.Illegal) {
-        transferToInterpreter("LocalVar.writeBoolToUninit");
+        transferToInterpreter("LocalVar.writeBoolToUninit", this);
         slot.setKind(FrameSlotKind.Boolean);
         return true;
       }
@@ -150,7 +150,7 @@ public abstract class LocalVariableNode extends ExpressionNode {
         return true;
       }
       if (slot.getKind() == FrameSlotKind.Illegal) {
-        transferToInterpreter("LocalVar.writeIntToUninit");
+        transferToInterpreter("LocalVar.writeIntToUninit", this);
         slot.setKind(FrameSlotKind.Long);
         return true;
       }
@@ -162,7 +162,7 @@ public abstract class LocalVariableNode extends ExpressionNode {
         return true;
       }
       if (slot.getKind() == FrameSlotKind.Illegal) {
-        transferToInterpreter("LocalVar.writeDoubleToUninit");
+        transferToInterpreter("LocalVar.writeDoubleToUninit", this);
         slot.setKind(FrameSlotKind.Double);
         return true;
       }
@@ -171,7 +171,7 @@ public abstract class LocalVariableNode extends ExpressionNode {
 
     protected final void ensureObjectKind() {
       if (slot.getKind() != FrameSlotKind.Object) {
-        transferToInterpreter("LocalVar.writeObjectToUninit");
+        transferToInterpreter("LocalVar.writeObjectToUninit", this);
         slot.setKind(FrameSlotKind.Object);
       }
     }
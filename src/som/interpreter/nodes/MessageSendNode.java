@@ -2,10 +2,13 @@ package som.interpreter.nodes;
 
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.InstrumentableFactory.WrapperNode;
+import com.oracle.truffle.api.instrumentation.StandardTags.CallTag;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 import com.oracle.truffle.api.nodes.NodeCost;
 import com.oracle.truffle.api.source.SourceSection;
 
+import som.interpreter.Tags.ExpressionTag;
 import som.interpreter.TruffleCompiler;
 import som.interpreter.TypesGen;
 import som.interpreter.nodes.dispatch.AbstractDispatchNode;
@@ -19,6 +22,7 @@ import som.interpreter.nodes.nary.EagerTernaryPrimitiveNode;
 import som.interpreter.nodes.nary.EagerUnaryPrimitiveNode;
 import som.interpreter.nodes.specialized.AndMessageNodeFactory;
 import som.interpreter.nodes.specialized.AndMessageNodeFactory.AndBoolMessageNodeFactory;
+import som.interpreter.nodes.specialized.ConcatChainNode;
 import som.interpreter.nodes.specialized.IfMessageNodeGen;
 import som.interpreter.nodes.specialized.IfTrueIfFalseMessageNodeGen;
 import som.interpreter.nodes.specialized.IntDownToDoMessageNodeGen;
@@ -65,6 +69,7 @@ import som.primitives.arrays.NewPrimFactory;
 import som.primitives.arrays.PutAllNodeFactory;
 import som.primitives.arrays.ToArgumentsArrayNodeGen;
 import som.vm.NotYetImplementedException;
+import som.vm.VmSettings;
 import som.vm.constants.Classes;
 import som.vmobjects.SArray;
 import som.vmobjects.SBlock;
@@ -103,6 +108,18 @@ public final class MessageSendNode {
       return argumentNodes[0] instanceof ISuperReadNode;
     }
 
+    public ExpressionNode[] getArguments() {
+      return argumentNodes;
+    }
+
+    @Override
+    protected boolean isTaggedWith(final Class<?> tag) {
+      if (tag == CallTag.class) {
+        return super.isTaggedWith(ExpressionTag.class);
+      }
+      return super.isTaggedWith(tag);
+    }
+
     @Override
     public final Object executeGeneric(final VirtualFrame frame) {
       Object[] arguments = evaluateArguments(frame);
@@ -131,6 +148,10 @@ public final class MessageSendNode {
       this.selector = selector;
     }
 
+    public SSymbol getSelector() {
+      return selector;
+    }
+
     @Override
     public final Object doPreEvaluated(final VirtualFrame frame,
         final Object[] arguments) {
@@ -139,7 +160,7 @@ public final class MessageSendNode {
     }
 
     private PreevaluatedExpression specialize(final Object[] arguments) {
-      TruffleCompiler.transferToInterpreterAndInvalidate("Specialize Message Node");
+      TruffleCompiler.transferToInterpreterAndInvalidate("Specialize Message Node", this);
 
       // first option is a super send, super sends are treated specially because
       // the receiver class is lexically determined
@@ -170,6 +191,17 @@ public final class MessageSendNode {
 
     protected abstract PreevaluatedExpression makeSuperSend();
 
+    /**
+     * Block literals are wrapped when an instrument is attached, which must
+     * not prevent the sends that take them from being inlined.
+     */
+    private static ExpressionNode unwrap(final ExpressionNode node) {
+      if (node instanceof WrapperNode) {
+        return (ExpressionNode) ((WrapperNode) node).getDelegateNode();
+      }
+      return node;
+    }
+
     private GenericMessageSendNode makeGenericSend() {
       GenericMessageSendNode send = new GenericMessageSendNode(selector,
           argumentNodes,
@@ -185,25 +217,26 @@ public final class MessageSendNode {
         case "length":
           if (receiver instanceof SArray) {
             return replace(new EagerUnaryPrimitiveNode(selector,
-                argumentNodes[0], LengthPrimFactory.create(null)));
+                argumentNodes[0], LengthPrimFactory.create(null), getSourceSection()));
           }
           break;
         case "value":
           if (receiver instanceof SBlock || receiver instanceof Boolean) {
             return replace(new EagerUnaryPrimitiveNode(selector,
-                argumentNodes[0], ValueNonePrimFactory.create(null)));
+                argumentNodes[0], ValueNonePrimFactory.create(null), getSourceSection()));
           }
           break;
         case "not":
           if (receiver instanceof Boolean) {
             return replace(new EagerUnaryPrimitiveNode(selector,
-                argumentNodes[0], NotMessageNodeFactory.create(getSourceSection(), null)));
+                argumentNodes[0], NotMessageNodeFactory.create(getSourceSection(), null),
+                getSourceSection()));
           }
           break;
         case "abs":
           if (receiver instanceof Long) {
             return replace(new EagerUnaryPrimitiveNode(selector,
-                argumentNodes[0], AbsPrimFactory.create(null)));
+                argumentNodes[0], AbsPrimFactory.create(null), getSourceSection()));
           }
           break;
         case "isNil":
@@ -216,68 +249,77 @@ public final class MessageSendNode {
 
     protected PreevaluatedExpression specializeBinary(final Object[] arguments) {
       switch (selector.getString()) {
+        case ",":
+        case "concatenate:":
+          if (ConcatChainNode.isString(arguments[0]) &&
+              ConcatChainNode.isString(arguments[1])) {
+            return replace(ConcatChainNode.create(selector, argumentNodes[0],
+                argumentNodes[1], getSourceSection()));
+          }
+          break;
         case "at:":
           if (arguments[0] instanceof SArray) {
             return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
                 argumentNodes[1],
-                AtPrimFactory.create(null, null)));
+                AtPrimFactory.create(null, null), getSourceSection()));
           }
           break;
         case "new:":
           if (arguments[0] == Classes.arrayClass) {
             return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
                 argumentNodes[1],
-                NewPrimFactory.create(null, null)));
+                NewPrimFactory.create(null, null), getSourceSection()));
           }
           break;
         case "instVarAt:":
           return replace(new EagerBinaryPrimitiveNode(selector,
               argumentNodes[0], argumentNodes[1],
-              InstVarAtPrimFactory.create(null, null)));
+              InstVarAtPrimFactory.create(null, null), getSourceSection()));
         case "doIndexes:":
           if (arguments[0] instanceof SArray) {
             return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
                 argumentNodes[1],
-                DoIndexesPrimFactory.create(null, null)));
+                DoIndexesPrimFactory.create(null, null), getSourceSection()));
           }
           break;
         case "do:":
           if (arguments[0] instanceof SArray) {
             return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
                 argumentNodes[1],
-                DoPrimFactory.create(null, null)));
+                DoPrimFactory.create(null, null), getSourceSection()));
           }
           break;
         case "putAll:":
           return replace(new EagerBinaryPrimitiveNode(selector,
                 argumentNodes[0], argumentNodes[1],
-                PutAllNodeFactory.create(null, null, LengthPrimFactory.create(null))));
+                PutAllNodeFactory.create(null, null, LengthPrimFactory.create(null)),
+                getSourceSection()));
         case "whileTrue:": {
-          if (argumentNodes[1] instanceof BlockNode &&
-              argumentNodes[0] instanceof BlockNode) {
-            BlockNode argBlockNode = (BlockNode) argumentNodes[1];
+          if (unwrap(argumentNodes[1]) instanceof BlockNode &&
+              unwrap(argumentNodes[0]) instanceof BlockNode) {
+            BlockNode argBlockNode = (BlockNode) unwrap(argumentNodes[1]);
             SBlock    argBlock     = (SBlock)    arguments[1];
             return replace(new WhileTrueStaticBlocksNode(
-                (BlockNode) argumentNodes[0], argBlockNode,
+                (BlockNode) unwrap(argumentNodes[0]), argBlockNode,
                 (SBlock) arguments[0],
                 argBlock, getSourceSection()));
           }
           break; // use normal send
         }
         case "whileFalse:":
-          if (argumentNodes[1] instanceof BlockNode &&
-              argumentNodes[0] instanceof BlockNode) {
-            BlockNode argBlockNode = (BlockNode) argumentNodes[1];
+          if (unwrap(argumentNodes[1]) instanceof BlockNode &&
+              unwrap(argumentNodes[0]) instanceof BlockNode) {
+            BlockNode argBlockNode = (BlockNode) unwrap(argumentNodes[1]);
             SBlock    argBlock     = (SBlock)    arguments[1];
             return replace(new WhileFalseStaticBlocksNode(
-                (BlockNode) argumentNodes[0], argBlockNode,
+                (BlockNode) unwrap(argumentNodes[0]), argBlockNode,
                 (SBlock) arguments[0], argBlock, getSourceSection()));
           }
           break; // use normal send
         case "and:":
         case "&&":
           if (arguments[0] instanceof Boolean) {
-            if (argumentNodes[1] instanceof BlockNode) {
+            if (unwrap(argumentNodes[1]) instanceof BlockNode) {
               return replace(AndMessageNodeFactory.create((SBlock) arguments[1],
                   getSourceSection(), argumentNodes[0], argumentNodes[1]));
             } else if (arguments[1] instanceof Boolean) {
@@ -289,7 +331,7 @@ public final class MessageSendNode {
         case "or:":
         case "||":
           if (arguments[0] instanceof Boolean) {
-            if (argumentNodes[1] instanceof BlockNode) {
+            if (unwrap(argumentNodes[1]) instanceof BlockNode) {
               return replace(OrMessageNodeGen.create((SBlock) arguments[1],
                   getSourceSection(),
                   argumentNodes[0], argumentNodes[1]));
@@ -305,7 +347,7 @@ public final class MessageSendNode {
           if (arguments[0] instanceof SBlock) {
             return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
                 argumentNodes[1],
-                ValueOnePrimFactory.create(null, null)));
+                ValueOnePrimFactory.create(null, null), getSourceSection()));
           }
           break;
 
@@ -319,7 +361,7 @@ public final class MessageSendNode {
           if (arguments[0] instanceof Long) {
             return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
                 argumentNodes[1],
-                ToPrimFactory.create(null, null)));
+                ToPrimFactory.create(null, null), getSourceSection()));
           }
           break;
 
@@ -327,81 +369,81 @@ public final class MessageSendNode {
         case "<":
           return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
               argumentNodes[1],
-              LessThanPrimFactory.create(null, null)));
+              LessThanPrimFactory.create(null, null), getSourceSection()));
         case "<=":
           return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
               argumentNodes[1],
-              LessThanOrEqualPrimFactory.create(null, null)));
+              LessThanOrEqualPrimFactory.create(null, null), getSourceSection()));
         case ">":
           return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
               argumentNodes[1],
-              GreaterThanPrimFactory.create(null, null)));
+              GreaterThanPrimFactory.create(null, null), getSourceSection()));
         case "+":
           return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
               argumentNodes[1],
-              AdditionPrimFactory.create(null, null)));
+              AdditionPrimFactory.create(null, null), getSourceSection()));
         case "-":
           return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
               argumentNodes[1],
-              SubtractionPrimFactory.create(null, null)));
+              SubtractionPrimFactory.create(null, null), getSourceSection()));
         case "*":
           return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
               argumentNodes[1],
-              MultiplicationPrimFactory.create(null, null)));
+              MultiplicationPrimFactory.create(null, null), getSourceSection()));
         case "=":
           return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
               argumentNodes[1],
-              EqualsPrimFactory.create(null, null)));
+              EqualsPrimFactory.create(null, null), getSourceSection()));
         case "<>":
           return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
               argumentNodes[1],
-              UnequalsPrimFactory.create(null, null)));
+              UnequalsPrimFactory.create(null, null), getSourceSection()));
         case "~=":
           return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
               argumentNodes[1],
-              UnequalsPrimFactory.create(null, null)));
+              UnequalsPrimFactory.create(null, null), getSourceSection()));
         case "==":
           return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
               argumentNodes[1],
-              EqualsEqualsPrimFactory.create(null, null)));
+              EqualsEqualsPrimFactory.create(null, null), getSourceSection()));
         case "bitXor:":
           return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
               argumentNodes[1],
-              BitXorPrimFactory.create(null, null)));
+              BitXorPrimFactory.create(null, null), getSourceSection()));
         case "//":
           return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
               argumentNodes[1],
-              DoubleDivPrimFactory.create(null, null)));
+              DoubleDivPrimFactory.create(null, null), getSourceSection()));
         case "%":
           return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
               argumentNodes[1],
-              ModuloPrimFactory.create(null, null)));
+              ModuloPrimFactory.create(null, null), getSourceSection()));
         case "rem:":
           return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
               argumentNodes[1],
-              RemainderPrimFactory.create(null, null)));
+              RemainderPrimFactory.create(null, null), getSourceSection()));
         case "/":
           return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
               argumentNodes[1],
-              DividePrimFactory.create(null, null)));
+              DividePrimFactory.create(null, null), getSourceSection()));
         case "&":
           return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
               argumentNodes[1],
-              LogicAndPrimFactory.create(null, null)));
+              LogicAndPrimFactory.create(null, null), getSourceSection()));
 
         // eagerly but cautious:
         case "<<":
           if (arguments[0] instanceof Long) {
             return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
                 argumentNodes[1],
-                LeftShiftPrimFactory.create(null, null)));
+                LeftShiftPrimFactory.create(null, null), getSourceSection()));
           }
           break;
         case ">>>":
           if (arguments[0] instanceof Long) {
             return replace(new EagerBinaryPrimitiveNode(selector, argumentNodes[0],
                 argumentNodes[1],
-                UnsignedRightShiftPrimFactory.create(null, null)));
+                UnsignedRightShiftPrimFactory.create(null, null), getSourceSection()));
           }
           break;
 
@@ -416,7 +458,7 @@ public final class MessageSendNode {
           if (arguments[0] instanceof SArray) {
             return replace(new EagerTernaryPrimitiveNode(selector, argumentNodes[0],
                 argumentNodes[1], argumentNodes[2],
-                AtPutPrimFactory.create(null, null, null)));
+                AtPutPrimFactory.create(null, null, null), getSourceSection()));
           }
           break;
         case "ifTrue:ifFalse:":
@@ -537,6 +579,8 @@ public final class MessageSendNode {
 
     @Child private AbstractDispatchNode dispatchNode;
 
+    private long numberOfExecutions;
+
     private GenericMessageSendNode(final SSymbol selector,
         final ExpressionNode[] arguments,
         final AbstractDispatchNode dispatchNode, final SourceSection source) {
@@ -548,9 +592,24 @@ public final class MessageSendNode {
     @Override
     public Object doPreEvaluated(final VirtualFrame frame,
         final Object[] arguments) {
+      if (VmSettings.CALL_SITE_REPORT) {
+        numberOfExecutions++;
+      }
       return dispatchNode.executeDispatch(frame, arguments);
     }
 
+    public SSymbol getSelector() {
+      return selector;
+    }
+
+    public AbstractDispatchNode getDispatchListHead() {
+      return dispatchNode;
+    }
+
+    public long getNumberOfExecutions() {
+      return numberOfExecutions;
+    }
+
     public void replaceDispatchListHead(
         final GenericDispatchNode replacement) {
       CompilerAsserts.neverPartOfCompilation();
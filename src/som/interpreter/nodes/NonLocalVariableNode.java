@@ -137,7 +137,7 @@ public abstract class NonLocalVariableNode extends ContextualNode {
         return true;
       }
       if (slot.getKind() == FrameSlotKind.Illegal) {
-        transferToInterpreter("LocalVar.writeBoolToUninit");
+        transferToInterpreter("LocalVar.writeBoolToUninit", this);
         slot.setKind(FrameSlotKind.Boolean);
         return true;
       }
@@ -149,7 +149,7 @@ public abstract class NonLocalVariableNode extends ContextualNode {
         return true;
       }
       if (slot.getKind() == FrameSlotKind.Illegal) {
-        transferToInterpreter("LocalVar.writeIntToUninit");
+        transferToInterpreter("LocalVar.writeIntToUninit", this);
         slot.setKind(FrameSlotKind.Long);
         return true;
       }
@@ -161,7 +161,7 @@ public abstract class NonLocalVariableNode extends ContextualNode {
         return true;
       }
       if (slot.getKind() == FrameSlotKind.Illegal) {
-        transferToInterpreter("LocalVar.writeDoubleToUninit");
+        transferToInterpreter("LocalVar.writeDoubleToUninit", this);
         slot.setKind(FrameSlotKind.Double);
         return true;
       }
@@ -170,7 +170,7 @@ public abstract class NonLocalVariableNode extends ContextualNode {
 
     protected final void ensureObjectKind() {
       if (slot.getKind() != FrameSlotKind.Object) {
-        transferToInterpreter("LocalVar.writeObjectToUninit");
+        transferToInterpreter("LocalVar.writeObjectToUninit", this);
         slot.setKind(FrameSlotKind.Object);
       }
     }
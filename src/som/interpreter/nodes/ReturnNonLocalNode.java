@@ -27,6 +27,7 @@ import som.interpreter.InlinerForLexicallyEmbeddedMethods;
 import som.interpreter.ReturnException;
 import som.interpreter.SArguments;
 import som.interpreter.SplitterForLexicallyEmbeddedCode;
+import som.vm.VmManagement;
 import som.vmobjects.SAbstractObject;
 import som.vmobjects.SBlock;
 
@@ -73,6 +74,7 @@ public final class ReturnNonLocalNode extends ContextualNode {
     FrameOnStackMarker marker = getMarkerFromContext(ctx);
 
     if (marker.isOnStack()) {
+      VmManagement.countNonLocalReturn();
       throw new ReturnException(result, marker);
     } else {
       blockEscaped.enter();
@@ -149,6 +151,7 @@ public final class ReturnNonLocalNode extends ContextualNode {
       // captured as a value and passed around. Because, we should only ever
       // do the inlining for blocks where we know this doesn't happen.
       assert marker.isOnStack();
+      VmManagement.countNonLocalReturn();
       throw new ReturnException(result, marker);
 
 //      if (marker.isOnStack()) {
@@ -193,6 +196,10 @@ public final class ReturnNonLocalNode extends ContextualNode {
       return methodBody;
     }
 
+    public FrameSlot getFrameOnStackMarker() {
+      return frameOnStackMarker;
+    }
+
     @Override
     public Object executeGeneric(final VirtualFrame frame) {
       FrameOnStackMarker marker = new FrameOnStackMarker();
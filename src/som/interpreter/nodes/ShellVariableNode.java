@@ -0,0 +1,52 @@
+package som.interpreter.nodes;
+
+import som.vm.Universe.Association;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.source.SourceSection;
+
+
+/**
+ * Access to a temporary declared in the shell. It lives as long as the
+ * shell, so that later statements can use it, and is stored like a global
+ * in an {@link Association}.
+ */
+public abstract class ShellVariableNode extends ExpressionNode {
+
+  protected final Association variable;
+
+  protected ShellVariableNode(final Association variable,
+      final SourceSection source) {
+    super(source);
+    this.variable = variable;
+  }
+
+  public static final class ShellVariableReadNode extends ShellVariableNode {
+    public ShellVariableReadNode(final Association variable,
+        final SourceSection source) {
+      super(variable, source);
+    }
+
+    @Override
+    public Object executeGeneric(final VirtualFrame frame) {
+      return variable.getValue();
+    }
+  }
+
+  public static final class ShellVariableWriteNode extends ShellVariableNode {
+    @Child private ExpressionNode exp;
+
+    public ShellVariableWriteNode(final Association variable,
+        final ExpressionNode exp, final SourceSection source) {
+      super(variable, source);
+      this.exp = exp;
+    }
+
+    @Override
+    public Object executeGeneric(final VirtualFrame frame) {
+      Object value = exp.executeGeneric(frame);
+      variable.setValue(value);
+      return value;
+    }
+  }
+}
@@ -28,6 +28,10 @@ public abstract class UninitializedVariableNode extends ContextualNode {
     this.variable = variable;
   }
 
+  public final Local getLocal() {
+    return variable;
+  }
+
   public static final class UninitializedVariableReadNode extends UninitializedVariableNode {
     public UninitializedVariableReadNode(final Local variable,
         final int contextLevel, final SourceSection source) {
@@ -42,7 +46,7 @@ public abstract class UninitializedVariableNode extends ContextualNode {
 
     @Override
     public Object executeGeneric(final VirtualFrame frame) {
-      transferToInterpreterAndInvalidate("UninitializedVariableReadNode");
+      transferToInterpreterAndInvalidate("UninitializedVariableReadNode", this);
 
       if (contextLevel > 0) {
         NonLocalVariableReadNode node = NonLocalVariableReadNodeGen.create(
@@ -114,9 +118,13 @@ public abstract class UninitializedVariableNode extends ContextualNode {
           node.contextLevel, node.exp, node.getSourceSection());
     }
 
+    public ExpressionNode getExp() {
+      return exp;
+    }
+
     @Override
     public Object executeGeneric(final VirtualFrame frame) {
-      transferToInterpreterAndInvalidate("UninitializedVariableWriteNode");
+      transferToInterpreterAndInvalidate("UninitializedVariableWriteNode", this);
 
       if (accessesOuterContext()) {
         NonLocalVariableWriteNode node = NonLocalVariableWriteNodeGen.create(
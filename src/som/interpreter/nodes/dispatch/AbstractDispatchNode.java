@@ -27,6 +27,12 @@ public abstract class AbstractDispatchNode extends Node implements DispatchChain
       this.nextInCache  = nextInCache;
     }
 
+    public abstract DispatchGuard getGuard();
+
+    public final AbstractDispatchNode getNextInCache() {
+      return nextInCache;
+    }
+
     @Override
     public final int lengthOfDispatchChain() {
       return 1 + nextInCache.lengthOfDispatchChain();
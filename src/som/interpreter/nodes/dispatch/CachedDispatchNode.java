@@ -1,9 +1,9 @@
 package som.interpreter.nodes.dispatch;
 
+import som.interpreter.TruffleCompiler;
 import som.interpreter.nodes.dispatch.AbstractDispatchNode.AbstractCachedDispatchNode;
 
 import com.oracle.truffle.api.CallTarget;
-import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.InvalidAssumptionException;
 
@@ -29,9 +29,14 @@ public final class CachedDispatchNode extends AbstractCachedDispatchNode {
         return nextInCache.executeDispatch(frame, arguments);
       }
     } catch (InvalidAssumptionException e) {
-      CompilerDirectives.transferToInterpreter();
+      TruffleCompiler.transferToInterpreter("Outdated object layout in dispatch", this);
       return replace(nextInCache).
           executeDispatch(frame, arguments);
     }
   }
+
+  @Override
+  public DispatchGuard getGuard() {
+    return guard;
+  }
 }
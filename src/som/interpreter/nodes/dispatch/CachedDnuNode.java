@@ -1,13 +1,13 @@
 package som.interpreter.nodes.dispatch;
 
 import som.interpreter.SArguments;
+import som.interpreter.TruffleCompiler;
 import som.interpreter.nodes.dispatch.AbstractDispatchNode.AbstractCachedDispatchNode;
 import som.vm.Universe;
 import som.vmobjects.SClass;
 import som.vmobjects.SSymbol;
 
 import com.oracle.truffle.api.CallTarget;
-import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.InvalidAssumptionException;
 
@@ -33,7 +33,7 @@ public final class CachedDnuNode extends AbstractCachedDispatchNode {
         return nextInCache.executeDispatch(frame, arguments);
       }
     } catch (InvalidAssumptionException e) {
-      CompilerDirectives.transferToInterpreter();
+      TruffleCompiler.transferToInterpreter("Outdated object layout in dispatch", this);
       return replace(nextInCache).
           executeDispatch(frame, arguments);
     }
@@ -41,7 +41,7 @@ public final class CachedDnuNode extends AbstractCachedDispatchNode {
 
   public static CallTarget getDnuCallTarget(final SClass rcvrClass) {
     return rcvrClass.lookupInvokable(
-          Universe.current().symbolFor("doesNotUnderstand:arguments:")).
+          Universe.symbolFor("doesNotUnderstand:arguments:")).
         getCallTarget();
   }
 
@@ -51,4 +51,9 @@ public final class CachedDnuNode extends AbstractCachedDispatchNode {
         rcvr, selector, SArguments.getArgumentsWithoutReceiver(arguments) };
     return cachedMethod.call(frame, argsArr);
   }
+
+  @Override
+  public DispatchGuard getGuard() {
+    return guard;
+  }
 }
@@ -1,6 +1,8 @@
 package som.interpreter.nodes.dispatch;
 
+import som.interpreter.Types;
 import som.interpreter.objectstorage.ObjectLayout;
+import som.vmobjects.LazyString;
 import som.vmobjects.SBlock;
 import som.vmobjects.SClass;
 import som.vmobjects.SInvokable;
@@ -12,6 +14,11 @@ import com.oracle.truffle.api.nodes.InvalidAssumptionException;
 public abstract class DispatchGuard {
   public abstract boolean entryMatches(Object obj) throws InvalidAssumptionException;
 
+  /**
+   * @return the receivers that match, for reports on the call sites
+   */
+  public abstract String describeReceiver();
+
   public static DispatchGuard create(final Object obj) {
     if (obj == Boolean.TRUE) {
       return new CheckTrue();
@@ -29,7 +36,11 @@ public abstract class DispatchGuard {
       return new CheckSObject(((SObject) obj).getObjectLayout());
     }
 
-    return new CheckClass(obj.getClass());
+    if (obj instanceof String || obj instanceof LazyString) {
+      return new CheckString();
+    }
+
+    return new CheckClass(obj.getClass(), Types.getClassOf(obj));
   }
 
   public static DispatchGuard createForBlock(final SBlock block) {
@@ -47,20 +58,48 @@ public abstract class DispatchGuard {
     public boolean entryMatches(final Object obj) throws InvalidAssumptionException {
       return ((SBlock) obj).getMethod() == expected;
     }
+
+    @Override
+    public String describeReceiver() {
+      return "Block of " + expected.toString();
+    }
   }
 
   private static final class CheckClass extends DispatchGuard {
 
     private final Class<?> expected;
+    private final SClass   somClass;
 
-    public CheckClass(final Class<?> expectedClass) {
+    public CheckClass(final Class<?> expectedClass, final SClass somClass) {
       this.expected = expectedClass;
+      this.somClass = somClass;
     }
 
     @Override
     public boolean entryMatches(final Object obj) throws InvalidAssumptionException {
       return obj.getClass() == expected;
     }
+
+    @Override
+    public String describeReceiver() {
+      return somClass.getName().getString();
+    }
+  }
+
+  /**
+   * Strings are represented by Java strings, and by the slices and ropes
+   * of {@link LazyString}, which all share one cache entry.
+   */
+  private static final class CheckString extends DispatchGuard {
+    @Override
+    public boolean entryMatches(final Object obj) throws InvalidAssumptionException {
+      return obj instanceof String || obj instanceof LazyString;
+    }
+
+    @Override
+    public String describeReceiver() {
+      return "String";
+    }
   }
 
   private static final class CheckTrue extends DispatchGuard {
@@ -68,6 +107,11 @@ public abstract class DispatchGuard {
     public boolean entryMatches(final Object obj) throws InvalidAssumptionException {
       return obj == Boolean.TRUE;
     }
+
+    @Override
+    public String describeReceiver() {
+      return "True";
+    }
   }
 
   private static final class CheckFalse extends DispatchGuard {
@@ -75,6 +119,11 @@ public abstract class DispatchGuard {
     public boolean entryMatches(final Object obj) throws InvalidAssumptionException {
       return obj == Boolean.FALSE;
     }
+
+    @Override
+    public String describeReceiver() {
+      return "False";
+    }
   }
 
   private static final class CheckSClass extends DispatchGuard {
@@ -91,6 +140,11 @@ public abstract class DispatchGuard {
       return obj instanceof SClass &&
           ((SClass) obj).getObjectLayout() == expected;
     }
+
+    @Override
+    public String describeReceiver() {
+      return expected.getForClass().getName().getString();
+    }
   }
 
   private static final class CheckSObject extends DispatchGuard {
@@ -107,5 +161,10 @@ public abstract class DispatchGuard {
       return obj instanceof SObject &&
           ((SObject) obj).getObjectLayout() == expected;
     }
+
+    @Override
+    public String describeReceiver() {
+      return expected.getForClass().getName().getString();
+    }
   }
 }
@@ -1,6 +1,7 @@
 package som.interpreter.nodes.dispatch;
 
 import static som.interpreter.TruffleCompiler.transferToInterpreterAndInvalidate;
+import som.vm.VmManagement;
 import som.vmobjects.SInvokable;
 
 import com.oracle.truffle.api.Truffle;
@@ -33,7 +34,7 @@ public abstract class InvokeOnCache extends Node implements DispatchChain {
     }
 
     private InvokeOnCache specialize(final SInvokable invokable) {
-      transferToInterpreterAndInvalidate("Initialize a dispatch node.");
+      transferToInterpreterAndInvalidate("Initialize a dispatch node.", this);
 
       if (depth < INLINE_CACHE_SIZE) {
         CachedDispatchNode specialized = new CachedDispatchNode(invokable,
@@ -43,6 +44,7 @@ public abstract class InvokeOnCache extends Node implements DispatchChain {
       }
 
       InvokeOnCache headNode = determineChainHead();
+      VmManagement.countMegamorphicSite();
       GenericDispatchNode generic = new GenericDispatchNode();
       return headNode.replace(generic);
     }
@@ -3,6 +3,7 @@ package som.interpreter.nodes.dispatch;
 import static som.interpreter.TruffleCompiler.transferToInterpreterAndInvalidate;
 import som.interpreter.Types;
 import som.interpreter.nodes.MessageSendNode.GenericMessageSendNode;
+import som.vm.VmManagement;
 import som.vmobjects.SClass;
 import som.vmobjects.SInvokable;
 import som.vmobjects.SObject;
@@ -21,7 +22,7 @@ public final class UninitializedDispatchNode extends AbstractDispatchNode {
   }
 
   private AbstractDispatchNode specialize(final Object[] arguments) {
-    transferToInterpreterAndInvalidate("Initialize a dispatch node.");
+    transferToInterpreterAndInvalidate("Initialize a dispatch node.", this);
 
     // Determine position in dispatch node chain, i.e., size of inline cache
     Node i = this;
@@ -66,6 +67,7 @@ public final class UninitializedDispatchNode extends AbstractDispatchNode {
     // the chain is longer than the maximum defined by INLINE_CACHE_SIZE and
     // thus, this callsite is considered to be megaprophic, and we generalize
     // it.
+    VmManagement.countMegamorphicSite();
     GenericDispatchNode genericReplacement = new GenericDispatchNode(selector);
     GenericMessageSendNode sendNode = (GenericMessageSendNode) first.getParent();
     sendNode.replaceDispatchListHead(genericReplacement);
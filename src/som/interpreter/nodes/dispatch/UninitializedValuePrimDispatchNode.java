@@ -2,6 +2,7 @@ package som.interpreter.nodes.dispatch;
 
 import static som.interpreter.TruffleCompiler.transferToInterpreterAndInvalidate;
 import som.primitives.BlockPrims.ValuePrimitiveNode;
+import som.vm.VmManagement;
 import som.vmobjects.SBlock;
 import som.vmobjects.SInvokable;
 
@@ -13,7 +14,7 @@ public final class UninitializedValuePrimDispatchNode
     extends AbstractDispatchNode {
 
   private AbstractDispatchNode specialize(final SBlock rcvr) {
-    transferToInterpreterAndInvalidate("Initialize a dispatch node.");
+    transferToInterpreterAndInvalidate("Initialize a dispatch node.", this);
 
     // Determine position in dispatch node chain, i.e., size of inline cache
     Node i = this;
@@ -34,6 +35,7 @@ public final class UninitializedValuePrimDispatchNode
           DispatchGuard.createForBlock(rcvr), method.getCallTarget(), uninitialized);
       return replace(node);
     } else {
+      VmManagement.countMegamorphicSite();
       GenericBlockDispatchNode generic = new GenericBlockDispatchNode();
       primitiveNode.adoptNewDispatchListHead(generic);
       return generic;
@@ -2,18 +2,19 @@ package som.interpreter.nodes.literals;
 
 import som.compiler.MethodGenerationContext;
 import som.compiler.Variable.Local;
+import som.interpreter.AllocationProfiler;
 import som.interpreter.InlinerAdaptToEmbeddedOuterContext;
 import som.interpreter.InlinerForLexicallyEmbeddedMethods;
 import som.interpreter.Invokable;
 import som.interpreter.Method;
 import som.interpreter.SplitterForLexicallyEmbeddedCode;
+import som.interpreter.TruffleCompiler;
 import som.interpreter.nodes.ExpressionNode;
 import som.vm.Universe;
 import som.vmobjects.SBlock;
 import som.vmobjects.SClass;
 import som.vmobjects.SInvokable.SMethod;
 
-import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.source.SourceSection;
@@ -29,6 +30,10 @@ public class BlockNode extends LiteralNode {
     this.blockMethod = blockMethod;
   }
 
+  public SMethod getBlockMethod() {
+    return blockMethod;
+  }
+
   protected void setBlockClass() {
     switch (blockMethod.getNumberOfArguments()) {
       case 1: blockClass = Universe.current().getBlockClass(1); break;
@@ -42,9 +47,10 @@ public class BlockNode extends LiteralNode {
   @Override
   public SBlock executeSBlock(final VirtualFrame frame) {
     if (blockClass == null) {
-      CompilerDirectives.transferToInterpreter();
+      TruffleCompiler.transferToInterpreter("Initialize block class", this);
       setBlockClass();
     }
+    AllocationProfiler.recordBlock(this, blockClass, false);
     return Universe.newBlock(blockMethod, blockClass, null);
   }
 
@@ -109,9 +115,10 @@ public class BlockNode extends LiteralNode {
     @Override
     public SBlock executeSBlock(final VirtualFrame frame) {
       if (blockClass == null) {
-        CompilerDirectives.transferToInterpreter();
+        TruffleCompiler.transferToInterpreter("Initialize block class", this);
         setBlockClass();
       }
+      AllocationProfiler.recordBlock(this, blockClass, true);
       return Universe.newBlock(blockMethod, blockClass, frame.materialize());
     }
 
@@ -23,6 +23,8 @@ package som.interpreter.nodes.literals;
 
 import som.compiler.MethodGenerationContext;
 import som.compiler.Variable.Local;
+import som.interpreter.Tags.ExpressionTag;
+import som.interpreter.Tags.LiteralTag;
 import som.interpreter.nodes.ExpressionNode;
 import som.interpreter.nodes.PreevaluatedExpression;
 
@@ -39,6 +41,14 @@ public abstract class LiteralNode extends ExpressionNode
     super(source);
   }
 
+  @Override
+  protected boolean isTaggedWith(final Class<?> tag) {
+    if (tag == LiteralTag.class) {
+      return super.isTaggedWith(ExpressionTag.class);
+    }
+    return super.isTaggedWith(tag);
+  }
+
   @Override
   public final Object doPreEvaluated(final VirtualFrame frame,
       final Object[] arguments) {
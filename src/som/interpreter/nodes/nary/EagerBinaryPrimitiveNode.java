@@ -1,5 +1,6 @@
 package som.interpreter.nodes.nary;
 
+import som.interpreter.Tags.ExpressionTag;
 import som.interpreter.TruffleCompiler;
 import som.interpreter.nodes.ExpressionNode;
 import som.interpreter.nodes.MessageSendNode;
@@ -8,6 +9,8 @@ import som.vmobjects.SSymbol;
 
 import com.oracle.truffle.api.dsl.UnsupportedSpecializationException;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.StandardTags.CallTag;
+import com.oracle.truffle.api.source.SourceSection;
 
 
 public final class EagerBinaryPrimitiveNode extends BinaryExpressionNode {
@@ -22,14 +25,23 @@ public final class EagerBinaryPrimitiveNode extends BinaryExpressionNode {
       final SSymbol selector,
       final ExpressionNode receiver,
       final ExpressionNode argument,
-      final BinaryExpressionNode primitive) {
-    super(null);
+      final BinaryExpressionNode primitive,
+      final SourceSection source) {
+    super(source);
     this.receiver  = receiver;
     this.argument  = argument;
     this.primitive = primitive;
     this.selector = selector;
   }
 
+  @Override
+  protected boolean isTaggedWith(final Class<?> tag) {
+    if (tag == CallTag.class) {
+      return super.isTaggedWith(ExpressionTag.class);
+    }
+    return super.isTaggedWith(tag);
+  }
+
   @Override
   public Object executeGeneric(final VirtualFrame frame) {
     Object rcvr = receiver.executeGeneric(frame);
@@ -44,7 +56,7 @@ public final class EagerBinaryPrimitiveNode extends BinaryExpressionNode {
     try {
       return primitive.executeEvaluated(frame, receiver, argument);
     } catch (UnsupportedSpecializationException e) {
-      TruffleCompiler.transferToInterpreterAndInvalidate("Eager Primitive with unsupported specialization.");
+      TruffleCompiler.transferToInterpreterAndInvalidate("Eager Primitive with unsupported specialization.", this);
       return makeGenericSend().doPreEvaluated(frame,
           new Object[] {receiver, argument});
     }
@@ -1,5 +1,6 @@
 package som.interpreter.nodes.nary;
 
+import som.interpreter.Tags.ExpressionTag;
 import som.interpreter.TruffleCompiler;
 import som.interpreter.nodes.ExpressionNode;
 import som.interpreter.nodes.MessageSendNode;
@@ -9,6 +10,8 @@ import som.vmobjects.SSymbol;
 
 import com.oracle.truffle.api.dsl.UnsupportedSpecializationException;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.StandardTags.CallTag;
+import com.oracle.truffle.api.source.SourceSection;
 
 
 public final class EagerTernaryPrimitiveNode extends TernaryExpressionNode {
@@ -25,8 +28,9 @@ public final class EagerTernaryPrimitiveNode extends TernaryExpressionNode {
       final ExpressionNode receiver,
       final ExpressionNode argument1,
       final ExpressionNode argument2,
-      final TernaryExpressionNode primitive) {
-    super(null);
+      final TernaryExpressionNode primitive,
+      final SourceSection source) {
+    super(source);
     this.receiver  = receiver;
     this.argument1 = argument1;
     this.argument2 = argument2;
@@ -34,6 +38,14 @@ public final class EagerTernaryPrimitiveNode extends TernaryExpressionNode {
     this.selector = selector;
   }
 
+  @Override
+  protected boolean isTaggedWith(final Class<?> tag) {
+    if (tag == CallTag.class) {
+      return super.isTaggedWith(ExpressionTag.class);
+    }
+    return super.isTaggedWith(tag);
+  }
+
   @Override
   public Object executeGeneric(final VirtualFrame frame) {
     Object rcvr = receiver.executeGeneric(frame);
@@ -49,7 +61,7 @@ public final class EagerTernaryPrimitiveNode extends TernaryExpressionNode {
     try {
       return primitive.executeEvaluated(frame, receiver, argument1, argument2);
     } catch (UnsupportedSpecializationException e) {
-      TruffleCompiler.transferToInterpreterAndInvalidate("Eager Primitive with unsupported specialization.");
+      TruffleCompiler.transferToInterpreterAndInvalidate("Eager Primitive with unsupported specialization.", this);
       return makeGenericSend().doPreEvaluated(frame,
           new Object[] {receiver, argument1, argument2});
     }
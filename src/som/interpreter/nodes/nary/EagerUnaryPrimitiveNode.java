@@ -1,5 +1,6 @@
 package som.interpreter.nodes.nary;
 
+import som.interpreter.Tags.ExpressionTag;
 import som.interpreter.TruffleCompiler;
 import som.interpreter.nodes.ExpressionNode;
 import som.interpreter.nodes.MessageSendNode;
@@ -8,6 +9,8 @@ import som.vmobjects.SSymbol;
 
 import com.oracle.truffle.api.dsl.UnsupportedSpecializationException;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.StandardTags.CallTag;
+import com.oracle.truffle.api.source.SourceSection;
 
 
 public class EagerUnaryPrimitiveNode extends UnaryExpressionNode {
@@ -18,13 +21,22 @@ public class EagerUnaryPrimitiveNode extends UnaryExpressionNode {
   private final SSymbol selector;
 
   public EagerUnaryPrimitiveNode(final SSymbol selector,
-      final ExpressionNode receiver, final UnaryExpressionNode primitive) {
-    super(null);
+      final ExpressionNode receiver, final UnaryExpressionNode primitive,
+      final SourceSection source) {
+    super(source);
     this.receiver  = receiver;
     this.primitive = primitive;
     this.selector = selector;
   }
 
+  @Override
+  protected boolean isTaggedWith(final Class<?> tag) {
+    if (tag == CallTag.class) {
+      return super.isTaggedWith(ExpressionTag.class);
+    }
+    return super.isTaggedWith(tag);
+  }
+
   @Override
   public Object executeGeneric(final VirtualFrame frame) {
     Object rcvr = receiver.executeGeneric(frame);
@@ -38,7 +50,7 @@ public class EagerUnaryPrimitiveNode extends UnaryExpressionNode {
     try {
       return primitive.executeEvaluated(frame, receiver);
     } catch (UnsupportedSpecializationException e) {
-      TruffleCompiler.transferToInterpreterAndInvalidate("Eager Primitive with unsupported specialization.");
+      TruffleCompiler.transferToInterpreterAndInvalidate("Eager Primitive with unsupported specialization.", this);
       return makeGenericSend().doPreEvaluated(frame, new Object[] {receiver});
     }
   }
@@ -0,0 +1,183 @@
+package som.interpreter.nodes.specialized;
+
+import som.interpreter.TruffleCompiler;
+import som.interpreter.nodes.ExpressionNode;
+import som.interpreter.nodes.MessageSendNode;
+import som.interpreter.nodes.PreevaluatedExpression;
+import som.vmobjects.LazyString;
+import som.vmobjects.SSymbol;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.source.SourceSection;
+
+
+/**
+ * A chain of concatenations of strings, e.g., <code>a , b , c</code>.
+ *
+ * Each concatenation copies the result of the previous one, which makes
+ * long chains quadratic. Instead, all parts are evaluated and appended to
+ * the first one in a single step. Concatenating strings and symbols has no
+ * side effects, so this is the same as doing the sends one after the other.
+ * When a part turns out not to be a string, the node is replaced by the
+ * normal sends.
+ */
+public final class ConcatChainNode extends ExpressionNode
+    implements PreevaluatedExpression {
+
+  @Children private final ExpressionNode[] parts;
+
+  // selectors[i] and sources[i] belong to the send that appends parts[i + 1]
+  private final SSymbol[]       selectors;
+  private final SourceSection[] sources;
+
+  private ConcatChainNode(final ExpressionNode[] parts,
+      final SSymbol[] selectors, final SourceSection[] sources) {
+    super(sources[sources.length - 1]);
+    this.parts     = parts;
+    this.selectors = selectors;
+    this.sources   = sources;
+  }
+
+  /**
+   * Create the node for a concatenation. If the receiver is a chain itself,
+   * the argument is added to it.
+   */
+  public static ConcatChainNode create(final SSymbol selector,
+      final ExpressionNode receiver, final ExpressionNode argument,
+      final SourceSection source) {
+    ExpressionNode[] parts;
+    SSymbol[]        selectors;
+    SourceSection[]  sources;
+
+    if (receiver instanceof ConcatChainNode) {
+      ConcatChainNode chain = (ConcatChainNode) receiver;
+      int n = chain.parts.length;
+      parts     = new ExpressionNode[n + 1];
+      selectors = new SSymbol[n];
+      sources   = new SourceSection[n];
+      System.arraycopy(chain.parts,     0, parts,     0, n);
+      System.arraycopy(chain.selectors, 0, selectors, 0, n - 1);
+      System.arraycopy(chain.sources,   0, sources,   0, n - 1);
+    } else {
+      parts     = new ExpressionNode[] {receiver, null};
+      selectors = new SSymbol[1];
+      sources   = new SourceSection[1];
+    }
+
+    parts[parts.length - 1]         = argument;
+    selectors[selectors.length - 1] = selector;
+    sources[sources.length - 1]     = source;
+    return new ConcatChainNode(parts, selectors, sources);
+  }
+
+  public static boolean isString(final Object obj) {
+    return obj instanceof String || obj instanceof LazyString ||
+        obj instanceof SSymbol;
+  }
+
+  @Override
+  @ExplodeLoop
+  public Object executeGeneric(final VirtualFrame frame) {
+    Object[] values = new Object[parts.length];
+    for (int i = 0; i < parts.length; i++) {
+      values[i] = parts[i].executeGeneric(frame);
+      if (!isString(values[i])) {
+        return sendConcatenations(frame, values, i);
+      }
+    }
+    return concat(values, values.length);
+  }
+
+  @Override
+  public Object doPreEvaluated(final VirtualFrame frame, final Object[] args) {
+    if (isString(args[0]) && isString(args[1])) {
+      return concat(args, 2);
+    }
+
+    TruffleCompiler.transferToInterpreterAndInvalidate("Concatenation of a non-string", this);
+    ExpressionNode[] sends = replaceBySends();
+    return ((PreevaluatedExpression) sends[sends.length - 1]).
+        doPreEvaluated(frame, args);
+  }
+
+  /**
+   * Replace the chain by normal sends, and continue the evaluation with
+   * them. The first <code>failed</code> values are strings, the one at
+   * <code>failed</code> is not.
+   */
+  private Object sendConcatenations(final VirtualFrame frame,
+      final Object[] values, final int failed) {
+    TruffleCompiler.transferToInterpreterAndInvalidate("Concatenation of a non-string", this);
+    ExpressionNode[] sends = replaceBySends();
+
+    Object result = failed == 0 ? values[0] : concat(values, failed);
+    for (int i = Math.max(failed, 1); i < parts.length; i++) {
+      Object arg = i == failed ? values[i] : parts[i].executeGeneric(frame);
+      result = ((PreevaluatedExpression) sends[i - 1]).doPreEvaluated(frame,
+          new Object[] {result, arg});
+    }
+    return result;
+  }
+
+  /**
+   * @return the sends of the chain, starting with the innermost one
+   */
+  private ExpressionNode[] replaceBySends() {
+    ExpressionNode[] sends = new ExpressionNode[selectors.length];
+    ExpressionNode receiver = parts[0];
+    for (int i = 0; i < selectors.length; i++) {
+      sends[i] = MessageSendNode.createGeneric(selectors[i],
+          new ExpressionNode[] {receiver, parts[i + 1]}, sources[i]);
+      receiver = sends[i];
+    }
+    replace(sends[sends.length - 1]);
+    return sends;
+  }
+
+  /**
+   * The parts after the first are copied into one buffer, which is then
+   * appended to the first. This keeps building a string in a loop, e.g.,
+   * with <code>str := str , a , b</code>, from copying <code>str</code>.
+   */
+  @TruffleBoundary
+  private static Object concat(final Object[] values, final int count) {
+    if (count == 1) {
+      return values[0];
+    }
+
+    int length = 0;
+    for (int i = 1; i < count; i++) {
+      length += length(values[i]);
+    }
+
+    StringBuilder rest = new StringBuilder(length);
+    for (int i = 1; i < count; i++) {
+      append(rest, values[i]);
+    }
+
+    Object first = values[0];
+    if (first instanceof SSymbol) {
+      first = ((SSymbol) first).getString();
+    }
+    return LazyString.concat((CharSequence) first, rest.toString());
+  }
+
+  private static int length(final Object value) {
+    if (value instanceof SSymbol) {
+      return ((SSymbol) value).getString().length();
+    }
+    return ((CharSequence) value).length();
+  }
+
+  private static void append(final StringBuilder builder, final Object value) {
+    if (value instanceof SSymbol) {
+      builder.append(((SSymbol) value).getString());
+    } else if (value instanceof LazyString) {
+      ((LazyString) value).appendTo(builder);
+    } else {
+      builder.append((String) value);
+    }
+  }
+}
@@ -36,6 +36,18 @@ public final class IfInlinedLiteralNode extends ExpressionNode {
     this.bodyActualNode = originalBodyNode;
   }
 
+  public ExpressionNode getConditionNode() {
+    return conditionNode;
+  }
+
+  public ExpressionNode getBodyNode() {
+    return bodyNode;
+  }
+
+  public boolean getExpectedBool() {
+    return expectedBool;
+  }
+
   private boolean evaluateCondition(final VirtualFrame frame) {
     try {
       return condProf.profile(conditionNode.executeBoolean(frame));
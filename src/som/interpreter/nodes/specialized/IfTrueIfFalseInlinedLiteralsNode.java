@@ -46,6 +46,18 @@ public final class IfTrueIfFalseInlinedLiteralsNode extends ExpressionNode {
     this.falseActualNode = originalFalseNode;
   }
 
+  public ExpressionNode getConditionNode() {
+    return conditionNode;
+  }
+
+  public ExpressionNode getTrueNode() {
+    return trueNode;
+  }
+
+  public ExpressionNode getFalseNode() {
+    return falseNode;
+  }
+
   private boolean evaluateCondition(final VirtualFrame frame) {
     try {
       return condProf.profile(conditionNode.executeBoolean(frame));
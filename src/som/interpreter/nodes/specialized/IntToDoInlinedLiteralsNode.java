@@ -3,6 +3,7 @@ package som.interpreter.nodes.specialized;
 import som.interpreter.InlinerAdaptToEmbeddedOuterContext;
 import som.interpreter.InlinerForLexicallyEmbeddedMethods;
 import som.interpreter.Invokable;
+import som.interpreter.SamplingProfiler;
 import som.interpreter.SplitterForLexicallyEmbeddedCode;
 import som.interpreter.nodes.ExpressionNode;
 
@@ -83,6 +84,7 @@ public abstract class IntToDoInlinedLiteralsNode extends ExpressionNode {
     for (long i = from + 1; i <= to; i++) {
       frame.setLong(loopIndex, i);
       body.executeGeneric(frame);
+      SamplingProfiler.poll();
     }
   }
 
@@ -1,6 +1,7 @@
 package som.interpreter.nodes.specialized.whileloops;
 
 import som.interpreter.Invokable;
+import som.interpreter.SamplingProfiler;
 import som.interpreter.nodes.ExpressionNode;
 import som.vm.constants.Nil;
 
@@ -39,6 +40,18 @@ public final class WhileInlinedLiteralsNode extends ExpressionNode {
     this.bodyActualNode      = originalBodyNode;
   }
 
+  public ExpressionNode getConditionNode() {
+    return conditionNode;
+  }
+
+  public ExpressionNode getBodyNode() {
+    return bodyNode;
+  }
+
+  public boolean getExpectedBool() {
+    return expectedBool;
+  }
+
 
   private boolean evaluateCondition(final VirtualFrame frame) {
     try {
@@ -61,6 +74,7 @@ public final class WhileInlinedLiteralsNode extends ExpressionNode {
       while (loopConditionResult == expectedBool) {
         bodyNode.executeGeneric(frame);
         loopConditionResult = evaluateCondition(frame);
+        SamplingProfiler.poll();
 
         if (CompilerDirectives.inInterpreter()) { iterationCount++; }
       }
@@ -33,6 +33,14 @@ public abstract class FieldAccessorNode extends Node {
     return fieldIndex;
   }
 
+  /**
+   * @return the storage location the node is specialized for,
+   *         or null if it is not specialized
+   */
+  public StorageLocation getStorageLocation() {
+    return null;
+  }
+
   public abstract static class AbstractReadFieldNode extends FieldAccessorNode {
     public AbstractReadFieldNode(final int fieldIndex) {
       super(fieldIndex);
@@ -54,7 +62,7 @@ public abstract class FieldAccessorNode extends Node {
 
     protected final AbstractReadFieldNode specialize(final SObject obj,
         final String reason, final AbstractReadFieldNode next) {
-      TruffleCompiler.transferToInterpreterAndInvalidate(reason);
+      TruffleCompiler.transferToInterpreterAndInvalidate(reason, this);
       obj.updateLayoutToMatchClass();
 
       final ObjectLayout    layout   = obj.getObjectLayout();
@@ -89,6 +97,11 @@ public abstract class FieldAccessorNode extends Node {
       nextInCache = next;
     }
 
+    @Override
+    public final StorageLocation getStorageLocation() {
+      return layout.getStorageLocation(fieldIndex);
+    }
+
     protected final boolean hasExpectedLayout(final SObject obj) throws InvalidAssumptionException {
       layout.checkIsLatest();
       return layout == obj.getObjectLayout();
@@ -229,7 +242,7 @@ public abstract class FieldAccessorNode extends Node {
 
     protected final void writeAndRespecialize(final SObject obj, final Object value,
         final String reason, final AbstractWriteFieldNode next) {
-      TruffleCompiler.transferToInterpreterAndInvalidate(reason);
+      TruffleCompiler.transferToInterpreterAndInvalidate(reason, this);
 
       obj.setField(fieldIndex, value);
 
@@ -266,6 +279,11 @@ public abstract class FieldAccessorNode extends Node {
       nextInCache = next;
     }
 
+    @Override
+    public final StorageLocation getStorageLocation() {
+      return layout.getStorageLocation(fieldIndex);
+    }
+
     protected final boolean hasExpectedLayout(final SObject obj) throws InvalidAssumptionException {
       layout.checkIsLatest();
       return layout == obj.getObjectLayout();
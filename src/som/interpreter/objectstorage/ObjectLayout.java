@@ -80,6 +80,10 @@ public final class ObjectLayout {
     return forClass == other.forClass;
   }
 
+  public SClass getForClass() {
+    return forClass;
+  }
+
   public int getNumberOfFields() {
     return storageTypes.length;
   }
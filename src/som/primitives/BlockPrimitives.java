@@ -32,12 +32,15 @@ import som.primitives.BlockPrimsFactory.ValueMorePrimFactory;
 import som.primitives.BlockPrimsFactory.ValueNonePrimFactory;
 import som.primitives.BlockPrimsFactory.ValueOnePrimFactory;
 import som.primitives.BlockPrimsFactory.ValueTwoPrimFactory;
+import som.vm.Universe;
 
 public final class BlockPrimitives extends Primitives {
   public BlockPrimitives(final boolean displayWarning) { super(displayWarning); }
 
   @Override
   public void installPrimitives() {
+    // the block classes are part of the kernel, which all universes share
+    Universe universe = Universe.current();
     if (holder == universe.getBlockClass(0) || universe.getBlockClass(0) == null) {
       installInstancePrimitive("restart",          RestartPrimFactory.getInstance());
       installInstancePrimitive("whileTrue:",       WhileTruePrimitiveNodeFactory.getInstance());
@@ -6,6 +6,7 @@ import som.interpreter.nodes.nary.BinaryExpressionNode;
 import som.interpreter.nodes.nary.QuaternaryExpressionNode;
 import som.interpreter.nodes.nary.TernaryExpressionNode;
 import som.interpreter.nodes.nary.UnaryExpressionNode;
+import som.vm.VmSettings;
 import som.vmobjects.SAbstractObject;
 import som.vmobjects.SBlock;
 
@@ -22,6 +23,18 @@ public abstract class BlockPrims {
     void adoptNewDispatchListHead(final AbstractDispatchNode node);
   }
 
+  /**
+   * The evaluation of a block with #value, #value:, or #value:with:.
+   */
+  public interface ValueSendNode extends ValuePrimitiveNode {
+    String getSelector();
+
+    AbstractDispatchNode getDispatchListHead();
+
+    /** Counted only with {@link VmSettings#CALL_SITE_REPORT}. */
+    long getNumberOfExecutions();
+  }
+
   @GenerateNodeFactory
   public abstract static class RestartPrim extends UnaryExpressionNode {
     public RestartPrim() { super(null); }
@@ -38,9 +51,11 @@ public abstract class BlockPrims {
 
   @GenerateNodeFactory
   public abstract static class ValueNonePrim extends UnaryExpressionNode
-      implements ValuePrimitiveNode {
+      implements ValueSendNode {
     @Child private AbstractDispatchNode dispatchNode;
 
+    private long numberOfExecutions;
+
     public ValueNonePrim() {
       super(null);
       dispatchNode = new UninitializedValuePrimDispatchNode();
@@ -48,6 +63,9 @@ public abstract class BlockPrims {
 
     @Specialization
     public final Object doSBlock(final VirtualFrame frame, final SBlock receiver) {
+      if (VmSettings.CALL_SITE_REPORT) {
+        numberOfExecutions++;
+      }
       return dispatchNode.executeDispatch(frame, new Object[] {receiver});
     }
 
@@ -61,6 +79,21 @@ public abstract class BlockPrims {
       dispatchNode = insert(node);
     }
 
+    @Override
+    public final String getSelector() {
+      return "value";
+    }
+
+    @Override
+    public final AbstractDispatchNode getDispatchListHead() {
+      return dispatchNode;
+    }
+
+    @Override
+    public final long getNumberOfExecutions() {
+      return numberOfExecutions;
+    }
+
     @Override
     public NodeCost getCost() {
       int dispatchChain = dispatchNode.lengthOfDispatchChain();
@@ -78,9 +111,11 @@ public abstract class BlockPrims {
 
   @GenerateNodeFactory
   public abstract static class ValueOnePrim extends BinaryExpressionNode
-      implements ValuePrimitiveNode  {
+      implements ValueSendNode {
     @Child private AbstractDispatchNode dispatchNode;
 
+    private long numberOfExecutions;
+
     public ValueOnePrim() {
       super(null);
       dispatchNode = new UninitializedValuePrimDispatchNode();
@@ -89,6 +124,9 @@ public abstract class BlockPrims {
     @Specialization
     public final Object doSBlock(final VirtualFrame frame, final SBlock receiver,
         final Object arg) {
+      if (VmSettings.CALL_SITE_REPORT) {
+        numberOfExecutions++;
+      }
       return dispatchNode.executeDispatch(frame, new Object[] {receiver, arg});
     }
 
@@ -97,6 +135,21 @@ public abstract class BlockPrims {
       dispatchNode = insert(node);
     }
 
+    @Override
+    public final String getSelector() {
+      return "value:";
+    }
+
+    @Override
+    public final AbstractDispatchNode getDispatchListHead() {
+      return dispatchNode;
+    }
+
+    @Override
+    public final long getNumberOfExecutions() {
+      return numberOfExecutions;
+    }
+
     @Override
     public NodeCost getCost() {
       int dispatchChain = dispatchNode.lengthOfDispatchChain();
@@ -114,9 +167,11 @@ public abstract class BlockPrims {
 
   @GenerateNodeFactory
   public abstract static class ValueTwoPrim extends TernaryExpressionNode
-      implements ValuePrimitiveNode {
+      implements ValueSendNode {
     @Child private AbstractDispatchNode dispatchNode;
 
+    private long numberOfExecutions;
+
     public ValueTwoPrim() {
       super(null);
       dispatchNode = new UninitializedValuePrimDispatchNode();
@@ -125,6 +180,9 @@ public abstract class BlockPrims {
     @Specialization
     public final Object doSBlock(final VirtualFrame frame,
         final SBlock receiver, final Object arg1, final Object arg2) {
+      if (VmSettings.CALL_SITE_REPORT) {
+        numberOfExecutions++;
+      }
       return dispatchNode.executeDispatch(frame, new Object[] {receiver, arg1, arg2});
     }
 
@@ -133,6 +191,21 @@ public abstract class BlockPrims {
       dispatchNode = insert(node);
     }
 
+    @Override
+    public final String getSelector() {
+      return "value:with:";
+    }
+
+    @Override
+    public final AbstractDispatchNode getDispatchListHead() {
+      return dispatchNode;
+    }
+
+    @Override
+    public final long getNumberOfExecutions() {
+      return numberOfExecutions;
+    }
+
     @Override
     public NodeCost getCost() {
       int dispatchChain = dispatchNode.lengthOfDispatchChain();
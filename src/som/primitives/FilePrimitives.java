@@ -0,0 +1,31 @@
+package som.primitives;
+
+import som.primitives.FilePrimsFactory.ByteAtPrimFactory;
+import som.primitives.FilePrimsFactory.BytesPrimFactory;
+import som.primitives.FilePrimsFactory.ClosePrimFactory;
+import som.primitives.FilePrimsFactory.ContentsPrimFactory;
+import som.primitives.FilePrimsFactory.ExistsPrimFactory;
+import som.primitives.FilePrimsFactory.FlushPrimFactory;
+import som.primitives.FilePrimsFactory.OnPrimFactory;
+import som.primitives.FilePrimsFactory.PathPrimFactory;
+import som.primitives.FilePrimsFactory.SizePrimFactory;
+import som.primitives.FilePrimsFactory.WritePrimFactory;
+
+public final class FilePrimitives extends Primitives {
+  public FilePrimitives(final boolean displayWarning) { super(displayWarning); }
+
+  @Override
+  public void installPrimitives() {
+    installClassPrimitive("on:",         OnPrimFactory.getInstance());
+
+    installInstancePrimitive("path",     PathPrimFactory.getInstance());
+    installInstancePrimitive("exists",   ExistsPrimFactory.getInstance());
+    installInstancePrimitive("size",     SizePrimFactory.getInstance());
+    installInstancePrimitive("contents", ContentsPrimFactory.getInstance());
+    installInstancePrimitive("bytes",    BytesPrimFactory.getInstance());
+    installInstancePrimitive("byteAt:",  ByteAtPrimFactory.getInstance());
+    installInstancePrimitive("write:",   WritePrimFactory.getInstance());
+    installInstancePrimitive("flush",    FlushPrimFactory.getInstance());
+    installInstancePrimitive("close",    ClosePrimFactory.getInstance());
+  }
+}
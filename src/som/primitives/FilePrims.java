@@ -0,0 +1,172 @@
+package som.primitives;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+
+import som.interpreter.nodes.nary.BinaryExpressionNode;
+import som.interpreter.nodes.nary.UnaryExpressionNode;
+import som.vm.constants.Classes;
+import som.vm.constants.Nil;
+import som.vmobjects.SAbstractObject;
+import som.vmobjects.SArray;
+import som.vmobjects.SClass;
+import som.vmobjects.SFile;
+import som.vmobjects.SSymbol;
+
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+
+
+/**
+ * Primitives of the File class. Operations that fail, for instance because
+ * the path is invalid or the file does not exist, send
+ * <code>#error:</code> to the receiver with a description of the failure.
+ */
+public final class FilePrims {
+
+  private static Object fileError(final SFile file, final IOException e) {
+    CompilerDirectives.transferToInterpreter();
+    String message;
+    if (e instanceof NoSuchFileException) {
+      message = "File not found: " + file.getPath();
+    } else {
+      message = "Could not access " + file.getPath() + ": " + e.getMessage();
+    }
+    return SAbstractObject.sendError(file, message);
+  }
+
+  @GenerateNodeFactory
+  public abstract static class OnPrim extends BinaryExpressionNode {
+    protected final boolean receiverIsFileClass(final SClass receiver) {
+      return receiver == Classes.fileClass;
+    }
+
+    @Specialization(guards = "receiverIsFileClass(receiver)")
+    public final Object doSClass(final SClass receiver, final String path) {
+      try {
+        return new SFile(path);
+      } catch (InvalidPathException e) {
+        CompilerDirectives.transferToInterpreter();
+        return SAbstractObject.sendError(receiver,
+            "Invalid path: " + e.getMessage());
+      }
+    }
+
+    @Specialization(guards = "receiverIsFileClass(receiver)")
+    public final Object doSClass(final SClass receiver, final SSymbol path) {
+      return doSClass(receiver, path.getString());
+    }
+  }
+
+  @GenerateNodeFactory
+  public abstract static class PathPrim extends UnaryExpressionNode {
+    @Specialization
+    public final String doSFile(final SFile receiver) {
+      return receiver.getPath();
+    }
+  }
+
+  @GenerateNodeFactory
+  public abstract static class ExistsPrim extends UnaryExpressionNode {
+    @Specialization
+    public final boolean doSFile(final SFile receiver) {
+      return receiver.exists();
+    }
+  }
+
+  @GenerateNodeFactory
+  public abstract static class SizePrim extends UnaryExpressionNode {
+    @Specialization
+    public final Object doSFile(final SFile receiver) {
+      try {
+        return receiver.size();
+      } catch (IOException e) {
+        return fileError(receiver, e);
+      }
+    }
+  }
+
+  @GenerateNodeFactory
+  public abstract static class ContentsPrim extends UnaryExpressionNode {
+    @Specialization
+    public final Object doSFile(final SFile receiver) {
+      try {
+        return receiver.readString();
+      } catch (IOException e) {
+        return fileError(receiver, e);
+      }
+    }
+  }
+
+  @GenerateNodeFactory
+  public abstract static class BytesPrim extends UnaryExpressionNode {
+    @Specialization
+    public final Object doSFile(final SFile receiver) {
+      try {
+        return SArray.create(receiver.readBytes());
+      } catch (IOException e) {
+        return fileError(receiver, e);
+      }
+    }
+  }
+
+  @GenerateNodeFactory
+  public abstract static class ByteAtPrim extends BinaryExpressionNode {
+    @Specialization
+    public final Object doSFile(final SFile receiver, final long index) {
+      try {
+        return (long) (receiver.byteAt((int) index - 1) & 0xFF);
+      } catch (IndexOutOfBoundsException e) {
+        return Nil.nilObject;
+      } catch (IOException e) {
+        return fileError(receiver, e);
+      }
+    }
+  }
+
+  @GenerateNodeFactory
+  public abstract static class WritePrim extends BinaryExpressionNode {
+    @Specialization
+    public final Object doSFile(final SFile receiver, final String str) {
+      try {
+        receiver.write(str);
+        return receiver;
+      } catch (IOException e) {
+        return fileError(receiver, e);
+      }
+    }
+
+    @Specialization
+    public final Object doSFile(final SFile receiver, final SSymbol str) {
+      return doSFile(receiver, str.getString());
+    }
+  }
+
+  @GenerateNodeFactory
+  public abstract static class FlushPrim extends UnaryExpressionNode {
+    @Specialization
+    public final Object doSFile(final SFile receiver) {
+      try {
+        receiver.flush();
+        return receiver;
+      } catch (IOException e) {
+        return fileError(receiver, e);
+      }
+    }
+  }
+
+  @GenerateNodeFactory
+  public abstract static class ClosePrim extends UnaryExpressionNode {
+    @Specialization
+    public final Object doSFile(final SFile receiver) {
+      try {
+        receiver.close();
+        return receiver;
+      } catch (IOException e) {
+        return fileError(receiver, e);
+      }
+    }
+  }
+}
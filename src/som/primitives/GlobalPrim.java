@@ -67,19 +67,22 @@ public abstract class GlobalPrim extends BinarySystemNode {
   private static final class CachedGetGlobal extends GetGlobalNode {
     private final int depth;
     private final SSymbol name;
+    private final Universe universe;
     @Child private GlobalNode getGlobal;
     @Child private GetGlobalNode next;
 
     public CachedGetGlobal(final SSymbol name, final int depth) {
       this.depth = depth;
       this.name  = name;
-      getGlobal = new UninitializedGlobalReadWithoutErrorNode(name, null);
+      this.universe = Universe.current();
+      getGlobal = new UninitializedGlobalReadWithoutErrorNode(name, null, null);
       next = new UninitializedGetGlobal(this.depth + 1);
     }
 
     @Override
     public Object getGlobal(final VirtualFrame frame, final SSymbol argument) {
-      if (name == argument) {
+      // the core library is shared, so the node can see multiple universes
+      if (name == argument && Universe.isCurrent(universe)) {
         return getGlobal.executeGeneric(frame);
       } else {
         return next.getGlobal(frame, argument);
@@ -88,16 +91,9 @@ public abstract class GlobalPrim extends BinarySystemNode {
   }
 
   private static final class GetGlobalFallback extends GetGlobalNode {
-
-    private final Universe universe;
-
-    public GetGlobalFallback() {
-      this.universe = Universe.current();
-    }
-
     @Override
     public Object getGlobal(final VirtualFrame frame, final SSymbol argument) {
-      Object result = universe.getGlobal(argument);
+      Object result = Universe.current().getGlobal(argument);
       return result != null ? result : Nil.nilObject;
     }
   }
@@ -40,16 +40,14 @@ public abstract class HasGlobalPrim extends BinarySystemNode {
 
   private static final class UninitializedHasGlobal extends HasGlobalNode {
     private final int depth;
-    private final Universe universe;
 
     public UninitializedHasGlobal(final int depth) {
       this.depth = depth;
-      universe = Universe.current();
     }
 
     @Override
     public boolean hasGlobal(final SSymbol argument) {
-      boolean hasGlobal = universe.hasGlobal(argument);
+      boolean hasGlobal = Universe.current().hasGlobal(argument);
 
       if (hasGlobal) {
         return specialize(argument).hasGlobal(argument);
@@ -73,17 +71,19 @@ public abstract class HasGlobalPrim extends BinarySystemNode {
   private static final class CachedHasGlobal extends HasGlobalNode {
     private final int depth;
     private final SSymbol name;
+    private final Universe universe;
     @Child private HasGlobalNode next;
 
     public CachedHasGlobal(final SSymbol name, final int depth) {
       this.depth = depth;
       this.name  = name;
+      this.universe = Universe.current();
       next = new UninitializedHasGlobal(this.depth + 1);
     }
 
     @Override
     public boolean hasGlobal(final SSymbol argument) {
-      if (name == argument) {
+      if (name == argument && Universe.isCurrent(universe)) {
         return true;
       } else {
         return next.hasGlobal(argument);
@@ -92,11 +92,9 @@ public abstract class HasGlobalPrim extends BinarySystemNode {
   }
 
   private static final class HasGlobalFallback extends HasGlobalNode {
-    private final Universe universe = Universe.current();
-
     @Override
     public boolean hasGlobal(final SSymbol argument) {
-      return universe.hasGlobal(argument);
+      return Universe.current().hasGlobal(argument);
     }
   }
 }
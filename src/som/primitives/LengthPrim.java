@@ -1,6 +1,7 @@
 package som.primitives;
 
 import som.interpreter.nodes.nary.UnaryExpressionNode;
+import som.vmobjects.LazyString;
 import som.vmobjects.SArray;
 import som.vmobjects.SArray.ArrayType;
 import som.vmobjects.SSymbol;
@@ -49,6 +50,11 @@ public abstract class LengthPrim extends UnaryExpressionNode {
 
   public abstract long executeEvaluated(SArray receiver);
 
+  @Specialization
+  public final long doLazyString(final LazyString receiver) {
+    return receiver.length();
+  }
+
   @Specialization
   public final long doString(final String receiver) {
     return receiver.length();
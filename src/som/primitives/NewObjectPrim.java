@@ -1,9 +1,10 @@
 package som.primitives;
 
 import som.interpreter.nodes.nary.UnaryExpressionNode;
-import som.vm.Universe;
+import som.vm.VmManagement;
 import som.vmobjects.SAbstractObject;
 import som.vmobjects.SClass;
+import som.vmobjects.SObject;
 
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
@@ -13,6 +14,7 @@ import com.oracle.truffle.api.dsl.Specialization;
 public abstract class NewObjectPrim extends UnaryExpressionNode {
   @Specialization
   public final SAbstractObject doSClass(final SClass receiver) {
-    return Universe.newInstance(receiver);
+    VmManagement.countObjectAllocation();
+    return SObject.create(receiver, this);
   }
 }
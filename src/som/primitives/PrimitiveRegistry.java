@@ -0,0 +1,57 @@
+package som.primitives;
+
+import java.util.HashMap;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+
+/**
+ * Maps the names of SOM classes to the {@link Primitives} that install
+ * their primitives.
+ *
+ * The table is static, so loading a class does not need to look up a Java
+ * class by name. Primitives for classes of an application can be added with
+ * {@link #register(String, PrimitivesFactory)} before the class is loaded.
+ */
+public final class PrimitiveRegistry {
+
+  public interface PrimitivesFactory {
+    Primitives create(boolean displayWarning);
+  }
+
+  private static final HashMap<String, PrimitivesFactory> factories = new HashMap<>();
+
+  static {
+    register("Array",     ArrayPrimitives::new);
+    register("Block",     BlockPrimitives::new);
+    register("Class",     ClassPrimitives::new);
+    register("Double",    DoublePrimitives::new);
+    register("False",     FalsePrimitives::new);
+    register("File",      FilePrimitives::new);
+    register("Integer",   IntegerPrimitives::new);
+    register("Method",    MethodPrimitives::new);
+    register("Object",    ObjectPrimitives::new);
+    register("Primitive", PrimitivePrimitives::new);
+    register("String",    StringPrimitives::new);
+    register("StringStream", StringStreamPrimitives::new);
+    register("Symbol",    SymbolPrimitives::new);
+    register("System",    SystemPrimitives::new);
+    register("True",      TruePrimitives::new);
+  }
+
+  @TruffleBoundary
+  public static synchronized void register(final String className,
+      final PrimitivesFactory factory) {
+    factories.put(className, factory);
+  }
+
+  /**
+   * @return the factory for the primitives of the class, or null
+   */
+  @TruffleBoundary
+  public static synchronized PrimitivesFactory get(final String className) {
+    return factories.get(className);
+  }
+
+  private PrimitiveRegistry() { }
+}
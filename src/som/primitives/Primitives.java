@@ -43,12 +43,10 @@ import com.oracle.truffle.api.dsl.NodeFactory;
 
 public abstract class Primitives {
 
-  protected final Universe universe;
   protected SClass holder;
   protected final boolean displayWarning;
 
   public Primitives(final boolean displayWarning) {
-    this.universe = Universe.current();
     this.displayWarning = displayWarning;
   }
 
@@ -63,7 +61,7 @@ public abstract class Primitives {
 
   public static SInvokable constructPrimitive(final SSymbol signature,
       final NodeFactory<? extends ExpressionNode> nodeFactory,
-      final Universe universe, final SClass holder) {
+      final SClass holder) {
     CompilerAsserts.neverPartOfCompilation();
     int numArgs = signature.getNumberOfSignatureArguments();
 
@@ -103,7 +101,10 @@ public abstract class Primitives {
         throw new RuntimeException("Not supported by SOM.");
     }
 
-    Primitive primMethodNode = new Primitive(primNode, mgen.getCurrentLexicalScope().getFrameDescriptor(),
+    String name = (holder == null ? "nil" : holder.getName().getString())
+        + ">>" + signature.toString();
+    Primitive primMethodNode = new Primitive(name, primNode,
+        mgen.getCurrentLexicalScope().getFrameDescriptor(),
         (ExpressionNode) primNode.deepCopy());
     SInvokable prim = Universe.newMethod(signature, primMethodNode, true, new SMethod[0]);
     return prim;
@@ -114,7 +115,8 @@ public abstract class Primitives {
     MethodGenerationContext mgen = new MethodGenerationContext(null);
 
     ExpressionNode primNode = EmptyPrim.create(new LocalArgumentReadNode(0, null));
-    Primitive primMethodNode = new Primitive(primNode, mgen.getCurrentLexicalScope().getFrameDescriptor(),
+    Primitive primMethodNode = new Primitive("nil>>" + signature.toString(),
+        primNode, mgen.getCurrentLexicalScope().getFrameDescriptor(),
         (ExpressionNode) primNode.deepCopy());
     SInvokable prim = Universe.newMethod(signature, primMethodNode, true, new SMethod[0]);
     return prim;
@@ -122,26 +124,36 @@ public abstract class Primitives {
 
   protected final void installInstancePrimitive(final String selector,
       final NodeFactory<? extends ExpressionNode> nodeFactory) {
-    SSymbol signature = universe.symbolFor(selector);
-    SInvokable prim = constructPrimitive(signature, nodeFactory, universe, holder);
+    SSymbol signature = Universe.symbolFor(selector);
+    SInvokable prim = constructPrimitive(signature, nodeFactory, holder);
 
     // Install the given primitive as an instance primitive in the holder class
     holder.addInstancePrimitive(prim, displayWarning);
   }
 
+  /**
+   * Install a primitive that the VM provides in addition to the ones
+   * declared in the class definition, so no warning is displayed.
+   */
+  protected final void installAdditionalInstancePrimitive(final String selector,
+      final NodeFactory<? extends ExpressionNode> nodeFactory) {
+    SSymbol signature = Universe.symbolFor(selector);
+    SInvokable prim = constructPrimitive(signature, nodeFactory, holder);
+    holder.addInstancePrimitive(prim, false);
+  }
+
   protected final void installClassPrimitive(final String selector,
       final NodeFactory<? extends ExpressionNode> nodeFactory) {
-    SSymbol signature = universe.symbolFor(selector);
-    SInvokable prim = constructPrimitive(signature, nodeFactory, universe, holder);
+    SSymbol signature = Universe.symbolFor(selector);
+    SInvokable prim = constructPrimitive(signature, nodeFactory, holder);
 
     // Install the given primitive as an instance primitive in the class of
     // the holder class
     holder.getSOMClass().addInstancePrimitive(prim, displayWarning);
   }
 
-  public static SInvokable getEmptyPrimitive(final String selector,
-      final Universe universe) {
-    SSymbol signature = universe.symbolFor(selector);
+  public static SInvokable getEmptyPrimitive(final String selector) {
+    SSymbol signature = Universe.symbolFor(selector);
     return constructEmptyPrimitive(signature);
   }
 }
@@ -26,7 +26,16 @@
 package som.primitives;
 
 import som.primitives.StringPrimsFactory.AsSymbolPrimFactory;
+import som.primitives.StringPrimsFactory.AsUppercasePrimFactory;
+import som.primitives.StringPrimsFactory.CharAtPrimFactory;
+import som.primitives.StringPrimsFactory.ComparePrimFactory;
 import som.primitives.StringPrimsFactory.ConcatPrimFactory;
+import som.primitives.StringPrimsFactory.EndsWithPrimFactory;
+import som.primitives.StringPrimsFactory.IndexOfPrimFactory;
+import som.primitives.StringPrimsFactory.LessThanPrimFactory;
+import som.primitives.StringPrimsFactory.OccurrencesOfPrimFactory;
+import som.primitives.StringPrimsFactory.SplitPrimFactory;
+import som.primitives.StringPrimsFactory.StartsWithPrimFactory;
 import som.primitives.StringPrimsFactory.SubstringPrimFactory;
 
 public final class StringPrimitives extends Primitives {
@@ -40,5 +49,16 @@ public final class StringPrimitives extends Primitives {
     installInstancePrimitive("=",            EqualsPrimFactory.getInstance());
     installInstancePrimitive("primSubstringFrom:to:", SubstringPrimFactory.getInstance());
     installInstancePrimitive("hashcode",     HashPrimFactory.getInstance());
+
+    // implemented in SOM by the core library, or not at all
+    installAdditionalInstancePrimitive("charAt:",        CharAtPrimFactory.getInstance());
+    installAdditionalInstancePrimitive("indexOf:",       IndexOfPrimFactory.getInstance());
+    installAdditionalInstancePrimitive("occurrencesOf:", OccurrencesOfPrimFactory.getInstance());
+    installAdditionalInstancePrimitive("split:",         SplitPrimFactory.getInstance());
+    installAdditionalInstancePrimitive("compare:",       ComparePrimFactory.getInstance());
+    installAdditionalInstancePrimitive("<",              LessThanPrimFactory.getInstance());
+    installAdditionalInstancePrimitive("startsWith:",    StartsWithPrimFactory.getInstance());
+    installAdditionalInstancePrimitive("endsWith:",      EndsWithPrimFactory.getInstance());
+    installAdditionalInstancePrimitive("asUppercase",    AsUppercasePrimFactory.getInstance());
   }
 }
@@ -1,12 +1,17 @@
 package som.primitives;
 
+import java.util.ArrayList;
+
 import som.interpreter.nodes.nary.BinaryExpressionNode;
 import som.interpreter.nodes.nary.TernaryExpressionNode;
 import som.interpreter.nodes.nary.UnaryExpressionNode;
 import som.vm.Universe;
+import som.vmobjects.LazyString;
 import som.vmobjects.SAbstractObject;
+import som.vmobjects.SArray;
 import som.vmobjects.SSymbol;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 
@@ -16,8 +21,26 @@ public class StringPrims {
   @GenerateNodeFactory
   public abstract static class ConcatPrim extends BinaryExpressionNode {
     @Specialization
-    public final String doString(final String receiver, final String argument) {
-      return receiver + argument;
+    public final CharSequence doLazyString(final LazyString receiver,
+        final LazyString argument) {
+      return LazyString.concat(receiver, argument);
+    }
+
+    @Specialization
+    public final CharSequence doLazyString(final LazyString receiver,
+        final String argument) {
+      return LazyString.concat(receiver, argument);
+    }
+
+    @Specialization
+    public final CharSequence doString(final String receiver,
+        final LazyString argument) {
+      return LazyString.concat(receiver, argument);
+    }
+
+    @Specialization
+    public final CharSequence doString(final String receiver, final String argument) {
+      return LazyString.concat(receiver, argument);
     }
 
     @Specialization
@@ -38,12 +61,9 @@ public class StringPrims {
 
   @GenerateNodeFactory
   public abstract static class AsSymbolPrim extends UnaryExpressionNode {
-    private final Universe universe;
-    public AsSymbolPrim() { this.universe = Universe.current(); }
-
     @Specialization
     public final SAbstractObject doString(final String receiver) {
-      return universe.symbolFor(receiver);
+      return Universe.symbolFor(receiver);
     }
 
     @Specialization
@@ -55,19 +75,297 @@ public class StringPrims {
   @GenerateNodeFactory
   public abstract static class SubstringPrim extends TernaryExpressionNode {
     @Specialization
-    public final String doString(final String receiver, final long start,
+    public final CharSequence doLazyString(final LazyString receiver,
+        final long start, final long end) {
+      return substring(receiver, start, end);
+    }
+
+    @Specialization
+    public final CharSequence doString(final String receiver, final long start,
         final long end) {
+      return substring(receiver, start, end);
+    }
+
+    private static CharSequence substring(final CharSequence receiver,
+        final long start, final long end) {
       try {
-        return receiver.substring((int) start - 1, (int) end);
+        return LazyString.substring(receiver, (int) start - 1, (int) end);
       } catch (IndexOutOfBoundsException e) {
         return "Error - index out of bounds";
       }
     }
 
     @Specialization
-    public final String doSSymbol(final SSymbol receiver, final long start,
+    public final CharSequence doSSymbol(final SSymbol receiver, final long start,
         final long end) {
       return doString(receiver.getString(), start, end);
     }
   }
+
+  @GenerateNodeFactory
+  public abstract static class CharAtPrim extends BinaryExpressionNode {
+    @Specialization
+    public final String doLazyString(final LazyString receiver, final long index) {
+      return charAt(receiver, index);
+    }
+
+    @Specialization
+    public final String doString(final String receiver, final long index) {
+      return charAt(receiver, index);
+    }
+
+    private static String charAt(final CharSequence receiver, final long index) {
+      // checked before the index is cast, which could wrap around
+      if (index < 1 || index > receiver.length()) {
+        return "Error - index out of bounds";
+      }
+      return String.valueOf(receiver.charAt((int) index - 1));
+    }
+
+    @Specialization
+    public final String doSSymbol(final SSymbol receiver, final long index) {
+      return doString(receiver.getString(), index);
+    }
+  }
+
+  /**
+   * @return the index of the first occurrence of the argument, or 0
+   */
+  @GenerateNodeFactory
+  public abstract static class IndexOfPrim extends BinaryExpressionNode {
+    @Specialization
+    public final long doString(final String receiver, final String argument) {
+      return indexOf(receiver, argument);
+    }
+
+    @Specialization
+    public final long doString(final String receiver, final SSymbol argument) {
+      return indexOf(receiver, argument.getString());
+    }
+
+    @Specialization
+    public final long doSSymbol(final SSymbol receiver, final String argument) {
+      return indexOf(receiver.getString(), argument);
+    }
+
+    @Specialization
+    public final long doSSymbol(final SSymbol receiver, final SSymbol argument) {
+      return indexOf(receiver.getString(), argument.getString());
+    }
+
+    @TruffleBoundary
+    private static long indexOf(final String receiver, final String argument) {
+      return receiver.indexOf(argument) + 1;
+    }
+  }
+
+  /**
+   * Counts the occurrences of the argument that do not overlap.
+   */
+  @GenerateNodeFactory
+  public abstract static class OccurrencesOfPrim extends BinaryExpressionNode {
+    @Specialization
+    public final long doString(final String receiver, final String argument) {
+      return occurrencesOf(receiver, argument);
+    }
+
+    @Specialization
+    public final long doString(final String receiver, final SSymbol argument) {
+      return occurrencesOf(receiver, argument.getString());
+    }
+
+    @Specialization
+    public final long doSSymbol(final SSymbol receiver, final String argument) {
+      return occurrencesOf(receiver.getString(), argument);
+    }
+
+    @Specialization
+    public final long doSSymbol(final SSymbol receiver, final SSymbol argument) {
+      return occurrencesOf(receiver.getString(), argument.getString());
+    }
+
+    @TruffleBoundary
+    private static long occurrencesOf(final String receiver, final String argument) {
+      if (argument.isEmpty()) {
+        return 0;
+      }
+
+      long count = 0;
+      int i = receiver.indexOf(argument);
+      while (i >= 0) {
+        count++;
+        i = receiver.indexOf(argument, i + argument.length());
+      }
+      return count;
+    }
+  }
+
+  /**
+   * Splits the receiver at each occurrence of the separator into an array
+   * of strings. An empty separator splits it into single characters.
+   */
+  @GenerateNodeFactory
+  public abstract static class SplitPrim extends BinaryExpressionNode {
+    @Specialization
+    public final SArray doString(final String receiver, final String separator) {
+      return split(receiver, separator);
+    }
+
+    @Specialization
+    public final SArray doString(final String receiver, final SSymbol separator) {
+      return split(receiver, separator.getString());
+    }
+
+    @Specialization
+    public final SArray doSSymbol(final SSymbol receiver, final String separator) {
+      return split(receiver.getString(), separator);
+    }
+
+    @Specialization
+    public final SArray doSSymbol(final SSymbol receiver, final SSymbol separator) {
+      return split(receiver.getString(), separator.getString());
+    }
+
+    @TruffleBoundary
+    private static SArray split(final String receiver, final String separator) {
+      ArrayList<Object> parts = new ArrayList<>();
+      if (separator.isEmpty()) {
+        for (int i = 0; i < receiver.length(); i++) {
+          parts.add(receiver.substring(i, i + 1));
+        }
+      } else {
+        int start = 0;
+        int end = receiver.indexOf(separator);
+        while (end >= 0) {
+          parts.add(receiver.substring(start, end));
+          start = end + separator.length();
+          end = receiver.indexOf(separator, start);
+        }
+        parts.add(receiver.substring(start));
+      }
+      return SArray.create(parts.toArray());
+    }
+  }
+
+  /**
+   * @return -1, 0, or 1, when the receiver is sorted before, equal to, or
+   *         after the argument, comparing characters
+   */
+  @GenerateNodeFactory
+  public abstract static class ComparePrim extends BinaryExpressionNode {
+    @Specialization
+    public final long doString(final String receiver, final String argument) {
+      return compare(receiver, argument);
+    }
+
+    @Specialization
+    public final long doString(final String receiver, final SSymbol argument) {
+      return compare(receiver, argument.getString());
+    }
+
+    @Specialization
+    public final long doSSymbol(final SSymbol receiver, final String argument) {
+      return compare(receiver.getString(), argument);
+    }
+
+    @Specialization
+    public final long doSSymbol(final SSymbol receiver, final SSymbol argument) {
+      return compare(receiver.getString(), argument.getString());
+    }
+
+    @TruffleBoundary
+    static long compare(final String receiver, final String argument) {
+      return Integer.signum(receiver.compareTo(argument));
+    }
+  }
+
+  @GenerateNodeFactory
+  public abstract static class LessThanPrim extends BinaryExpressionNode {
+    @Specialization
+    public final boolean doString(final String receiver, final String argument) {
+      return ComparePrim.compare(receiver, argument) < 0;
+    }
+
+    @Specialization
+    public final boolean doString(final String receiver, final SSymbol argument) {
+      return ComparePrim.compare(receiver, argument.getString()) < 0;
+    }
+
+    @Specialization
+    public final boolean doSSymbol(final SSymbol receiver, final String argument) {
+      return ComparePrim.compare(receiver.getString(), argument) < 0;
+    }
+
+    @Specialization
+    public final boolean doSSymbol(final SSymbol receiver, final SSymbol argument) {
+      return ComparePrim.compare(receiver.getString(), argument.getString()) < 0;
+    }
+  }
+
+  @GenerateNodeFactory
+  public abstract static class StartsWithPrim extends BinaryExpressionNode {
+    @Specialization
+    public final boolean doString(final String receiver, final String prefix) {
+      return receiver.startsWith(prefix);
+    }
+
+    @Specialization
+    public final boolean doString(final String receiver, final SSymbol prefix) {
+      return receiver.startsWith(prefix.getString());
+    }
+
+    @Specialization
+    public final boolean doSSymbol(final SSymbol receiver, final String prefix) {
+      return receiver.getString().startsWith(prefix);
+    }
+
+    @Specialization
+    public final boolean doSSymbol(final SSymbol receiver, final SSymbol prefix) {
+      return receiver.getString().startsWith(prefix.getString());
+    }
+  }
+
+  @GenerateNodeFactory
+  public abstract static class EndsWithPrim extends BinaryExpressionNode {
+    @Specialization
+    public final boolean doString(final String receiver, final String suffix) {
+      return receiver.endsWith(suffix);
+    }
+
+    @Specialization
+    public final boolean doString(final String receiver, final SSymbol suffix) {
+      return receiver.endsWith(suffix.getString());
+    }
+
+    @Specialization
+    public final boolean doSSymbol(final SSymbol receiver, final String suffix) {
+      return receiver.getString().endsWith(suffix);
+    }
+
+    @Specialization
+    public final boolean doSSymbol(final SSymbol receiver, final SSymbol suffix) {
+      return receiver.getString().endsWith(suffix.getString());
+    }
+  }
+
+  /**
+   * The upper case of a symbol is a symbol, too.
+   */
+  @GenerateNodeFactory
+  public abstract static class AsUppercasePrim extends UnaryExpressionNode {
+    @Specialization
+    public final String doString(final String receiver) {
+      return toUpperCase(receiver);
+    }
+
+    @Specialization
+    public final SSymbol doSSymbol(final SSymbol receiver) {
+      return Universe.symbolFor(toUpperCase(receiver.getString()));
+    }
+
+    @TruffleBoundary
+    private static String toUpperCase(final String str) {
+      return str.toUpperCase();
+    }
+  }
 }
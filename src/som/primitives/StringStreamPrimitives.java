@@ -0,0 +1,25 @@
+package som.primitives;
+
+import som.primitives.StringStreamPrimsFactory.ContentsPrimFactory;
+import som.primitives.StringStreamPrimsFactory.NewPrimFactory;
+import som.primitives.StringStreamPrimsFactory.NextPutAllPrimFactory;
+import som.primitives.StringStreamPrimsFactory.NextPutPrimFactory;
+import som.primitives.StringStreamPrimsFactory.PrintPrimFactory;
+import som.primitives.StringStreamPrimsFactory.ResetPrimFactory;
+import som.primitives.StringStreamPrimsFactory.SizePrimFactory;
+
+public final class StringStreamPrimitives extends Primitives {
+  public StringStreamPrimitives(final boolean displayWarning) { super(displayWarning); }
+
+  @Override
+  public void installPrimitives() {
+    installClassPrimitive("new",            NewPrimFactory.getInstance());
+
+    installInstancePrimitive("nextPutAll:", NextPutAllPrimFactory.getInstance());
+    installInstancePrimitive("nextPut:",    NextPutPrimFactory.getInstance());
+    installInstancePrimitive("print:",      PrintPrimFactory.getInstance());
+    installInstancePrimitive("contents",    ContentsPrimFactory.getInstance());
+    installInstancePrimitive("size",        SizePrimFactory.getInstance());
+    installInstancePrimitive("reset",       ResetPrimFactory.getInstance());
+  }
+}
@@ -0,0 +1,167 @@
+package som.primitives;
+
+import som.interpreter.Types;
+import som.interpreter.nodes.MessageSendNode;
+import som.interpreter.nodes.MessageSendNode.AbstractMessageSendNode;
+import som.interpreter.nodes.nary.BinaryExpressionNode;
+import som.interpreter.nodes.nary.UnaryExpressionNode;
+import som.vm.Universe;
+import som.vm.constants.Classes;
+import som.vmobjects.LazyString;
+import som.vmobjects.SClass;
+import som.vmobjects.SStringStream;
+import som.vmobjects.SSymbol;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.GenerateNodeFactory;
+import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
+
+
+/**
+ * Primitives of the StringStream class. The writing primitives return the
+ * stream, so that they can be cascaded.
+ */
+public final class StringStreamPrims {
+
+  @GenerateNodeFactory
+  public abstract static class NewPrim extends UnaryExpressionNode {
+    protected final boolean receiverIsStringStreamClass(final SClass receiver) {
+      return receiver == Classes.stringStreamClass;
+    }
+
+    @Specialization(guards = "receiverIsStringStreamClass(receiver)")
+    public final SStringStream doSClass(final SClass receiver) {
+      return new SStringStream();
+    }
+  }
+
+  @GenerateNodeFactory
+  public abstract static class NextPutAllPrim extends BinaryExpressionNode {
+    @Specialization
+    public final SStringStream doLazyString(final SStringStream receiver,
+        final LazyString str) {
+      receiver.append(str);
+      return receiver;
+    }
+
+    @Specialization
+    public final SStringStream doString(final SStringStream receiver,
+        final String str) {
+      receiver.append(str);
+      return receiver;
+    }
+
+    @Specialization
+    public final SStringStream doSSymbol(final SStringStream receiver,
+        final SSymbol str) {
+      receiver.append(str.getString());
+      return receiver;
+    }
+  }
+
+  @GenerateNodeFactory
+  public abstract static class NextPutPrim extends BinaryExpressionNode {
+    @Specialization
+    public final SStringStream doString(final SStringStream receiver,
+        final String character) {
+      receiver.append(character);
+      return receiver;
+    }
+  }
+
+  @GenerateNodeFactory
+  public abstract static class PrintPrim extends BinaryExpressionNode {
+    @Child private AbstractMessageSendNode asString;
+
+    public PrintPrim() {
+      asString = MessageSendNode.createForPerformNodes(
+          Universe.symbolFor("asString"));
+    }
+
+    @Specialization
+    public final SStringStream doLazyString(final SStringStream receiver,
+        final LazyString str) {
+      receiver.append(str);
+      return receiver;
+    }
+
+    @Specialization
+    public final SStringStream doString(final SStringStream receiver,
+        final String str) {
+      receiver.append(str);
+      return receiver;
+    }
+
+    @Specialization
+    public final SStringStream doLong(final SStringStream receiver,
+        final long value) {
+      receiver.append(value);
+      return receiver;
+    }
+
+    @Specialization
+    public final SStringStream doDouble(final SStringStream receiver,
+        final double value) {
+      receiver.append(value);
+      return receiver;
+    }
+
+    @Specialization
+    public final SStringStream doObject(final VirtualFrame frame,
+        final SStringStream receiver, final Object obj) {
+      Object str = asString.doPreEvaluated(frame, new Object[] {obj});
+      if (str instanceof String) {
+        receiver.append((String) str);
+      } else if (str instanceof LazyString) {
+        receiver.append((LazyString) str);
+      } else if (str instanceof SSymbol) {
+        receiver.append(((SSymbol) str).getString());
+      } else {
+        appendDescription(receiver, str);
+      }
+      return receiver;
+    }
+
+    /**
+     * <code>asString</code> did not return a string, so print a description
+     * of its result instead, like <code>Object>>#asString</code> does.
+     */
+    @TruffleBoundary
+    private static void appendDescription(final SStringStream receiver,
+        final Object obj) {
+      if (obj instanceof Long || obj instanceof Double
+          || obj instanceof Boolean) {
+        receiver.append(String.valueOf(obj));
+      } else {
+        receiver.append("instance of "
+            + Types.getClassOf(obj).getName().getString());
+      }
+    }
+  }
+
+  @GenerateNodeFactory
+  public abstract static class ContentsPrim extends UnaryExpressionNode {
+    @Specialization
+    public final String doSStringStream(final SStringStream receiver) {
+      return receiver.getContents();
+    }
+  }
+
+  @GenerateNodeFactory
+  public abstract static class SizePrim extends UnaryExpressionNode {
+    @Specialization
+    public final long doSStringStream(final SStringStream receiver) {
+      return receiver.size();
+    }
+  }
+
+  @GenerateNodeFactory
+  public abstract static class ResetPrim extends UnaryExpressionNode {
+    @Specialization
+    public final SStringStream doSStringStream(final SStringStream receiver) {
+      receiver.reset();
+      return receiver;
+    }
+  }
+}
@@ -25,12 +25,19 @@
 
 package som.primitives;
 
+import som.primitives.SystemPrimsFactory.AllocationStatsPrimFactory;
+import som.primitives.SystemPrimsFactory.AstDumpPrimFactory;
+import som.primitives.SystemPrimsFactory.CallSiteReportPrimFactory;
+import som.primitives.SystemPrimsFactory.DeoptStatsPrimFactory;
 import som.primitives.SystemPrimsFactory.ExitPrimFactory;
+import som.primitives.SystemPrimsFactory.FlushPrimFactory;
 import som.primitives.SystemPrimsFactory.FullGCPrimFactory;
 import som.primitives.SystemPrimsFactory.GlobalPutPrimFactory;
 import som.primitives.SystemPrimsFactory.LoadPrimFactory;
 import som.primitives.SystemPrimsFactory.PrintNewlinePrimFactory;
 import som.primitives.SystemPrimsFactory.PrintStringPrimFactory;
+import som.primitives.SystemPrimsFactory.ReadLinePrimFactory;
+import som.primitives.SystemPrimsFactory.ReadLinesDoPrimFactory;
 import som.primitives.SystemPrimsFactory.TicksPrimFactory;
 import som.primitives.SystemPrimsFactory.TimePrimFactory;
 
@@ -49,5 +56,13 @@ public final class SystemPrimitives extends Primitives {
     installInstancePrimitive("time",         TimePrimFactory.getInstance());
     installInstancePrimitive("ticks",        TicksPrimFactory.getInstance());
     installInstancePrimitive("fullGC",       FullGCPrimFactory.getInstance());
+
+    installAdditionalInstancePrimitive("flush",        FlushPrimFactory.getInstance());
+    installAdditionalInstancePrimitive("readLine",     ReadLinePrimFactory.getInstance());
+    installAdditionalInstancePrimitive("readLinesDo:", ReadLinesDoPrimFactory.getInstance());
+    installAdditionalInstancePrimitive("deoptStats",   DeoptStatsPrimFactory.getInstance());
+    installAdditionalInstancePrimitive("callSiteReport", CallSiteReportPrimFactory.getInstance());
+    installAdditionalInstancePrimitive("allocationStats", AllocationStatsPrimFactory.getInstance());
+    installAdditionalInstancePrimitive("astDump:", AstDumpPrimFactory.getInstance());
   }
 }
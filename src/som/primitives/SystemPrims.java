@@ -1,12 +1,23 @@
 package som.primitives;
 
+import java.io.IOException;
+
+import som.interpreter.AllocationProfiler;
+import som.interpreter.AstDump;
+import som.interpreter.CallSiteReport;
+import som.interpreter.DeoptStatistics;
+import som.interpreter.nodes.dispatch.AbstractDispatchNode;
+import som.interpreter.nodes.dispatch.UninitializedValuePrimDispatchNode;
 import som.interpreter.nodes.nary.BinaryExpressionNode;
 import som.interpreter.nodes.nary.TernaryExpressionNode;
 import som.interpreter.nodes.nary.UnaryExpressionNode;
+import som.primitives.BlockPrims.ValuePrimitiveNode;
+import som.vm.Input;
 import som.vm.Universe;
 import som.vm.constants.Globals;
 import som.vm.constants.Nil;
 import som.vmobjects.SAbstractObject;
+import som.vmobjects.SBlock;
 import som.vmobjects.SClass;
 import som.vmobjects.SObject;
 import som.vmobjects.SSymbol;
@@ -14,6 +25,7 @@ import som.vmobjects.SSymbol;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.ImportStatic;
 import com.oracle.truffle.api.dsl.Specialization;
+import com.oracle.truffle.api.frame.VirtualFrame;
 
 
 public final class SystemPrims {
@@ -23,15 +35,14 @@ public final class SystemPrims {
 
   @GenerateNodeFactory
   public abstract static class BinarySystemNode extends BinaryExpressionNode {
-    protected final Universe universe;
-    protected BinarySystemNode() { super(null); this.universe = Universe.current(); }
+    protected BinarySystemNode() { super(null); }
   }
 
   @ImportStatic(SystemPrims.class)
   public abstract static class LoadPrim extends BinarySystemNode {
     @Specialization(guards = "receiverIsSystemObject(receiver)")
     public final Object doSObject(final SObject receiver, final SSymbol argument) {
-      SClass result = universe.loadClass(argument);
+      SClass result = Universe.current().loadClass(argument);
       return result != null ? result : Nil.nilObject;
     }
   }
@@ -40,7 +51,7 @@ public final class SystemPrims {
   public abstract static class ExitPrim extends BinarySystemNode {
     @Specialization(guards = "receiverIsSystemObject(receiver)")
     public final Object doSObject(final SObject receiver, final long error) {
-      universe.exit((int) error);
+      Universe.current().exit((int) error);
       return receiver;
     }
   }
@@ -48,13 +59,10 @@ public final class SystemPrims {
   @ImportStatic(SystemPrims.class)
   @GenerateNodeFactory
   public abstract static class GlobalPutPrim extends TernaryExpressionNode {
-    private final Universe universe;
-    public GlobalPutPrim()  { this.universe = Universe.current(); }
-
     @Specialization(guards = "receiverIsSystemObject(receiver)")
     public final Object doSObject(final SObject receiver, final SSymbol global,
         final Object value) {
-      universe.setGlobal(global, value);
+      Universe.current().setGlobal(global, value);
       return value;
     }
   }
@@ -83,6 +91,103 @@ public final class SystemPrims {
     }
   }
 
+  @ImportStatic(SystemPrims.class)
+  @GenerateNodeFactory
+  public abstract static class ReadLinePrim extends UnaryExpressionNode {
+    @Specialization(guards = "receiverIsSystemObject(receiver)")
+    public final Object doSObject(final SObject receiver) {
+      String line = readLine();
+      return line != null ? line : Nil.nilObject;
+    }
+  }
+
+  @ImportStatic(SystemPrims.class)
+  public abstract static class ReadLinesDoPrim extends BinarySystemNode
+      implements ValuePrimitiveNode {
+    @Child private AbstractDispatchNode dispatchNode =
+        new UninitializedValuePrimDispatchNode();
+
+    @Specialization(guards = "receiverIsSystemObject(receiver)")
+    public final Object doSObject(final VirtualFrame frame,
+        final SObject receiver, final SBlock block) {
+      String line;
+      while ((line = readLine()) != null) {
+        dispatchNode.executeDispatch(frame, new Object[] {block, line});
+      }
+      return receiver;
+    }
+
+    @Override
+    public final void adoptNewDispatchListHead(final AbstractDispatchNode node) {
+      dispatchNode = insert(node);
+    }
+  }
+
+  /**
+   * @return the next line of stdin, or null at its end or on an error
+   */
+  private static String readLine() {
+    try {
+      return Input.readLine();
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  @ImportStatic(SystemPrims.class)
+  @GenerateNodeFactory
+  public abstract static class FlushPrim extends UnaryExpressionNode {
+    @Specialization(guards = "receiverIsSystemObject(receiver)")
+    public final Object doSObject(final SObject receiver) {
+      Universe.flush();
+      return receiver;
+    }
+  }
+
+  @ImportStatic(SystemPrims.class)
+  @GenerateNodeFactory
+  public abstract static class DeoptStatsPrim extends UnaryExpressionNode {
+    @Specialization(guards = "receiverIsSystemObject(receiver)")
+    public final String doSObject(final SObject receiver) {
+      return DeoptStatistics.report();
+    }
+  }
+
+  @ImportStatic(SystemPrims.class)
+  @GenerateNodeFactory
+  public abstract static class AllocationStatsPrim extends UnaryExpressionNode {
+    @Specialization(guards = "receiverIsSystemObject(receiver)")
+    public final String doSObject(final SObject receiver) {
+      return AllocationProfiler.report();
+    }
+  }
+
+  @ImportStatic(SystemPrims.class)
+  @GenerateNodeFactory
+  public abstract static class CallSiteReportPrim extends UnaryExpressionNode {
+    @Specialization(guards = "receiverIsSystemObject(receiver)")
+    public final String doSObject(final SObject receiver) {
+      return CallSiteReport.report(Universe.current());
+    }
+  }
+
+  @ImportStatic(SystemPrims.class)
+  public abstract static class AstDumpPrim extends BinarySystemNode {
+    @Specialization(guards = "receiverIsSystemObject(receiver)")
+    public final String doSObject(final SObject receiver, final String format) {
+      if (!AstDump.isSupportedFormat(format)) {
+        return "Unknown AST dump format " + format + ", use '"
+            + AstDump.JSON + "' or '" + AstDump.DOT + "'\n";
+      }
+      return AstDump.dump(Universe.current(), format);
+    }
+
+    @Specialization(guards = "receiverIsSystemObject(receiver)")
+    public final String doSObject(final SObject receiver, final SSymbol format) {
+      return doSObject(receiver, format.getString());
+    }
+  }
+
   @ImportStatic(SystemPrims.class)
   @GenerateNodeFactory
   public abstract static class FullGCPrim extends UnaryExpressionNode {
@@ -1,8 +1,10 @@
 package som.primitives.arrays;
 
+import som.interpreter.AllocationProfiler;
 import som.interpreter.nodes.nary.UnaryExpressionNode;
 import som.vmobjects.SArray;
 import som.vmobjects.SArray.ArrayType;
+import som.vmobjects.SArray.PartiallyEmptyArray;
 
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.ImportStatic;
@@ -18,31 +20,43 @@ public abstract class CopyPrim extends UnaryExpressionNode {
 
   @Specialization(guards = "isEmptyType(receiver)")
   public final SArray doEmptyArray(final SArray receiver) {
-    return new SArray(receiver.getEmptyStorage(storageType));
+    int length = receiver.getEmptyStorage(storageType);
+    AllocationProfiler.recordArray(this, length);
+    return new SArray(length);
   }
 
   @Specialization(guards = "isPartiallyEmptyType(receiver)")
   public final SArray doPartiallyEmptyArray(final SArray receiver) {
-    return new SArray(ArrayType.PARTIAL_EMPTY, receiver.getPartiallyEmptyStorage(storageType).copy());
+    PartiallyEmptyArray storage = receiver.getPartiallyEmptyStorage(storageType);
+    AllocationProfiler.recordArray(this, storage.getLength());
+    return new SArray(ArrayType.PARTIAL_EMPTY, storage.copy());
   }
 
   @Specialization(guards = "isObjectType(receiver)")
   public final SArray doObjectArray(final SArray receiver) {
-    return SArray.create(receiver.getObjectStorage(storageType).clone());
+    Object[] storage = receiver.getObjectStorage(storageType);
+    AllocationProfiler.recordArray(this, storage.length);
+    return new SArray(ArrayType.OBJECT, storage.clone());
   }
 
   @Specialization(guards = "isLongType(receiver)")
   public final SArray doLongArray(final SArray receiver) {
-    return SArray.create(receiver.getLongStorage(storageType).clone());
+    long[] storage = receiver.getLongStorage(storageType);
+    AllocationProfiler.recordArray(this, storage.length);
+    return new SArray(ArrayType.LONG, storage.clone());
   }
 
   @Specialization(guards = "isDoubleType(receiver)")
   public final SArray doDoubleArray(final SArray receiver) {
-    return SArray.create(receiver.getDoubleStorage(storageType).clone());
+    double[] storage = receiver.getDoubleStorage(storageType);
+    AllocationProfiler.recordArray(this, storage.length);
+    return new SArray(ArrayType.DOUBLE, storage.clone());
   }
 
   @Specialization(guards = "isBooleanType(receiver)")
   public final SArray doBooleanArray(final SArray receiver) {
-    return SArray.create(receiver.getBooleanStorage(storageType).clone());
+    boolean[] storage = receiver.getBooleanStorage(storageType);
+    AllocationProfiler.recordArray(this, storage.length);
+    return new SArray(ArrayType.BOOLEAN, storage.clone());
   }
 }
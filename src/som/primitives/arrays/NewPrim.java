@@ -1,6 +1,8 @@
 package som.primitives.arrays;
 
+import som.interpreter.AllocationProfiler;
 import som.interpreter.nodes.nary.BinaryExpressionNode;
+import som.vm.VmManagement;
 import som.vm.constants.Classes;
 import som.vmobjects.SArray;
 import som.vmobjects.SClass;
@@ -18,6 +20,8 @@ public abstract class NewPrim extends BinaryExpressionNode {
 
   @Specialization(guards = "receiverIsArrayClass(receiver)")
   public final SArray doSClass(final SClass receiver, final long length) {
+    AllocationProfiler.recordArray(this, length);
+    VmManagement.countArrayAllocation();
     return new SArray(length);
   }
 }
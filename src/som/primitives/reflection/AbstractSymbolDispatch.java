@@ -6,6 +6,7 @@ import som.interpreter.nodes.MessageSendNode.AbstractMessageSendNode;
 import som.interpreter.nodes.PreevaluatedExpression;
 import som.primitives.arrays.ToArgumentsArrayNode;
 import som.primitives.arrays.ToArgumentsArrayNodeGen;
+import som.vm.VmSettings;
 import som.vmobjects.SArray;
 import som.vmobjects.SInvokable;
 import som.vmobjects.SSymbol;
@@ -20,6 +21,8 @@ import com.oracle.truffle.api.nodes.Node;
 public abstract class AbstractSymbolDispatch extends Node {
   public static final int INLINE_CACHE_SIZE = 6;
 
+  private long numberOfExecutions;
+
   public abstract Object executeDispatch(VirtualFrame frame, Object receiver,
       SSymbol selector, Object argsArr);
 
@@ -31,11 +34,23 @@ public abstract class AbstractSymbolDispatch extends Node {
     return ToArgumentsArrayNodeGen.create(null, null);
   }
 
+  /** Counted only with {@link VmSettings#CALL_SITE_REPORT}. */
+  public final long getNumberOfExecutions() {
+    return numberOfExecutions;
+  }
+
+  protected final void countExecution() {
+    if (VmSettings.CALL_SITE_REPORT) {
+      numberOfExecutions++;
+    }
+  }
+
   @Specialization(limit = "INLINE_CACHE_SIZE", guards = {"selector == cachedSelector", "argsArr == null"})
   public Object doCachedWithoutArgArr(final VirtualFrame frame,
       final Object receiver, final SSymbol selector, final Object argsArr,
       @Cached("selector") final SSymbol cachedSelector,
       @Cached("createForPerformNodes(selector)") final AbstractMessageSendNode cachedSend) {
+    countExecution();
     Object[] arguments = { receiver };
 
     PreevaluatedExpression realCachedSend = cachedSend;
@@ -48,6 +63,7 @@ public abstract class AbstractSymbolDispatch extends Node {
       @Cached("selector") final SSymbol cachedSelector,
       @Cached("createForPerformNodes(selector)") final AbstractMessageSendNode cachedSend,
       @Cached("createArgArrayNode()") final ToArgumentsArrayNode toArgArray) {
+    countExecution();
     Object[] arguments = toArgArray.executedEvaluated(argsArr, receiver);
 
     PreevaluatedExpression realCachedSend = cachedSend;
@@ -60,6 +76,7 @@ public abstract class AbstractSymbolDispatch extends Node {
       @Cached("create()") final IndirectCallNode call) {
     SInvokable invokable = Types.getClassOf(receiver).lookupInvokable(selector);
 
+    countExecution();
     Object[] arguments = { receiver };
 
     return call.call(frame, invokable.getCallTarget(), arguments);
@@ -72,6 +89,7 @@ public abstract class AbstractSymbolDispatch extends Node {
       @Cached("createArgArrayNode()") final ToArgumentsArrayNode toArgArray) {
     SInvokable invokable = Types.getClassOf(receiver).lookupInvokable(selector);
 
+    countExecution();
     Object[] arguments = toArgArray.executedEvaluated(argsArr, receiver);
 
     return call.call(frame, invokable.getCallTarget(), arguments);
@@ -5,6 +5,7 @@ import som.interpreter.nodes.dispatch.DispatchChain;
 import som.interpreter.objectstorage.FieldAccessorNode;
 import som.interpreter.objectstorage.FieldAccessorNode.AbstractReadFieldNode;
 import som.interpreter.objectstorage.FieldAccessorNode.AbstractWriteFieldNode;
+import som.vm.VmManagement;
 import som.vmobjects.SClass;
 import som.vmobjects.SObject;
 
@@ -35,7 +36,7 @@ public abstract class IndexDispatch extends Node implements DispatchChain {
     }
 
     private IndexDispatch specialize(final SClass clazz, final int index, final boolean read) {
-      transferToInterpreterAndInvalidate("Initialize a dispatch node.");
+      transferToInterpreterAndInvalidate("Initialize a dispatch node.", this);
 
       if (depth < INLINE_CACHE_SIZE) {
         IndexDispatch specialized;
@@ -49,6 +50,7 @@ public abstract class IndexDispatch extends Node implements DispatchChain {
         return replace(specialized);
       }
 
+      VmManagement.countMegamorphicSite();
       IndexDispatch headNode = determineChainHead();
       return headNode.replace(new GenericDispatchNode());
     }
@@ -0,0 +1,458 @@
+package som.vm;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import som.vmobjects.SClass;
+import som.vmobjects.SInvokable;
+
+
+/**
+ * Runs a SOM benchmark for a number of warmup and measured iterations in a
+ * single VM, and reports the mean, median, and standard deviation of the
+ * measured iterations.
+ *
+ * The benchmark class is instantiated with <code>new</code>. An iteration
+ * either sends <code>innerBenchmarkLoop:</code>, which has to return true,
+ * or, for benchmarks that do not implement it, <code>benchmark</code>,
+ * and checks the result with <code>verifyResult:</code>, if implemented.
+ * Each iteration is printed as <code>Name: iterations=1 runtime: 42us</code>,
+ * as by <code>BenchmarkHarness.som</code>.
+ *
+ * The times of all iterations can be written as JSON with
+ * <code>-json file</code>, and appended as CSV rows with
+ * <code>-csv file</code>. With <code>-baseline file</code>, the median is
+ * compared to the one of the same benchmark in a CSV file of an earlier
+ * run, and a median that is more than <code>-threshold percent</code>
+ * slower fails the run. To run a suite to the end, the benchmarks are
+ * instead compared together afterwards, with
+ * <code>-compare results.csv -baseline file</code>.
+ *
+ * With <code>-coldStart</code>, each iteration instead runs the given
+ * program in a new JVM with the class path and JVM arguments of the
+ * harness, and measures the time until the process exits.
+ */
+public final class BenchmarkHarness {
+
+  public static final String CSV_HEADER = "benchmark,phase,iteration,microseconds";
+
+  private static final double DEFAULT_THRESHOLD = 10.0;
+
+  private final Universe universe;
+  private final String   name;
+  private final int      warmup;
+  private final int      iterations;
+  private final int      innerIterations;
+
+  private final long[] warmupTimes;
+  private final long[] times;
+
+  /** Command to start the program in a new JVM, for cold-start runs. */
+  private List<String> coldStartCommand;
+
+  public BenchmarkHarness(final Universe universe, final String name,
+      final int warmup, final int iterations, final int innerIterations) {
+    this.universe        = universe;
+    this.name            = name;
+    this.warmup          = warmup;
+    this.iterations      = iterations;
+    this.innerIterations = innerIterations;
+
+    warmupTimes = new long[warmup];
+    times       = new long[iterations];
+  }
+
+  public static void main(final String[] arguments) {
+    String json      = null;
+    String csv       = null;
+    String baseline  = null;
+    String compare   = null;
+    double threshold = DEFAULT_THRESHOLD;
+    boolean coldStart = false;
+
+    ArrayList<String> vmArguments = new ArrayList<>();
+    for (int i = 0; i < arguments.length; i++) {
+      boolean hasValue = i + 1 < arguments.length;
+      if (arguments[i].equals("-json") && hasValue) {
+        json = arguments[++i];
+      } else if (arguments[i].equals("-csv") && hasValue) {
+        csv = arguments[++i];
+      } else if (arguments[i].equals("-baseline") && hasValue) {
+        baseline = arguments[++i];
+      } else if (arguments[i].equals("-compare") && hasValue) {
+        compare = arguments[++i];
+      } else if (arguments[i].equals("-threshold") && hasValue) {
+        threshold = Double.parseDouble(arguments[++i]);
+      } else if (arguments[i].equals("-coldStart")) {
+        coldStart = true;
+      } else {
+        vmArguments.add(arguments[i]);
+      }
+    }
+
+    if (compare != null) {
+      boolean success;
+      try {
+        success = compareAll(compare, baseline, threshold);
+      } catch (IOException e) {
+        Universe.errorPrintln("Could not read the results: " + e.getMessage());
+        success = false;
+      }
+      Universe.current().exit(success ? 0 : 1);
+      return;
+    }
+
+    // the program keeps its path for the new JVMs of cold-start runs
+    List<String> somArguments = new ArrayList<>();
+    String program = null;
+    for (int i = 0; i < vmArguments.size(); i++) {
+      if (vmArguments.get(i).equals("-cp") && i + 1 < vmArguments.size()) {
+        somArguments.add(vmArguments.get(i++));
+        somArguments.add(vmArguments.get(i));
+      } else if (program == null) {
+        program = vmArguments.get(i);
+      }
+    }
+    somArguments.add(program);
+
+    Universe u = Universe.current();
+    String[] args = u.handleArguments(vmArguments.toArray(new String[0]));
+    if (args.length < 1) {
+      Universe.errorPrintln("Usage: BenchmarkHarness [-cp path] [-json file] "
+          + "[-csv file] [-baseline file] [-threshold percent] [-coldStart] "
+          + "Benchmark [warmup [iterations [innerIterations]]]\n"
+          + "       BenchmarkHarness -compare results.csv [-baseline file] "
+          + "[-threshold percent]");
+      u.exit(1);
+      return;
+    }
+
+    BenchmarkHarness harness = new BenchmarkHarness(u, args[0],
+        args.length > 1 ? Integer.parseInt(args[1]) : 0,
+        args.length > 2 ? Integer.parseInt(args[2]) : 1,
+        args.length > 3 ? Integer.parseInt(args[3]) : 1);
+    if (coldStart) {
+      harness.coldStartCommand = newJvmCommand(somArguments);
+    }
+
+    boolean success = harness.run();
+    if (success) {
+      Universe.println(harness.summary());
+      try {
+        if (json != null) {
+          harness.writeJson(json);
+        }
+        if (csv != null) {
+          harness.appendCsv(csv);
+        }
+        if (baseline != null) {
+          success = harness.compareTo(baseline, threshold);
+        }
+      } catch (IOException e) {
+        Universe.errorPrintln("Could not write the results: " + e.getMessage());
+        success = false;
+      }
+    }
+    u.exit(success ? 0 : 1);
+  }
+
+  /**
+   * Run the warmup and the measured iterations.
+   *
+   * @return false, if the benchmark could not be loaded or gave an
+   *         incorrect result
+   */
+  public boolean run() {
+    if (coldStartCommand != null) {
+      return runColdStart();
+    }
+
+    universe.initializeObjectSystem();
+    SClass benchmarkClass = universe.loadClass(Universe.symbolFor(name));
+    if (benchmarkClass == null) {
+      Universe.errorPrintln("Benchmark " + name + " could not be loaded.");
+      return false;
+    }
+
+    Object benchmark = lookup(benchmarkClass.getSOMClass(), "new").invoke(
+        benchmarkClass);
+    SInvokable innerLoop = lookup(benchmarkClass, "innerBenchmarkLoop:");
+    SInvokable bench     = lookup(benchmarkClass, "benchmark");
+    SInvokable verify    = lookup(benchmarkClass, "verifyResult:");
+    if (innerLoop == null && bench == null) {
+      Universe.errorPrintln(name
+          + " implements neither #innerBenchmarkLoop: nor #benchmark.");
+      return false;
+    }
+
+    for (int i = 0; i < warmup + iterations; i++) {
+      long start = System.nanoTime();
+      boolean correct;
+      if (innerLoop != null) {
+        correct = innerLoop.invoke(benchmark, (long) innerIterations) == Boolean.TRUE;
+      } else {
+        Object result = bench.invoke(benchmark);
+        correct = verify == null || verify.invoke(benchmark, result) == Boolean.TRUE;
+      }
+      long microseconds = (System.nanoTime() - start) / 1000;
+
+      if (!correct) {
+        Universe.errorPrintln(name + " failed with an incorrect result.");
+        return false;
+      }
+
+      record(i, microseconds);
+    }
+    return true;
+  }
+
+  private boolean runColdStart() {
+    ProcessBuilder builder = new ProcessBuilder(coldStartCommand).inheritIO();
+    for (int i = 0; i < warmup + iterations; i++) {
+      long start = System.nanoTime();
+      int exitCode;
+      try {
+        exitCode = builder.start().waitFor();
+      } catch (IOException | InterruptedException e) {
+        Universe.errorPrintln("Could not start " + name + ": " + e.getMessage());
+        return false;
+      }
+      long microseconds = (System.nanoTime() - start) / 1000;
+
+      if (exitCode != 0) {
+        Universe.errorPrintln(name + " failed with exit code " + exitCode + ".");
+        return false;
+      }
+      record(i, microseconds);
+    }
+    return true;
+  }
+
+  private static List<String> newJvmCommand(final List<String> somArguments) {
+    List<String> command = new ArrayList<>();
+    command.add(System.getProperty("java.home") + File.separator + "bin"
+        + File.separator + "java");
+    command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(Universe.class.getName());
+    command.addAll(somArguments);
+    return command;
+  }
+
+  private void record(final int iteration, final long microseconds) {
+    if (iteration < warmup) {
+      warmupTimes[iteration] = microseconds;
+    } else {
+      times[iteration - warmup] = microseconds;
+    }
+    Universe.println(name + ": iterations=1 runtime: " + microseconds + "us");
+  }
+
+  private SInvokable lookup(final SClass cls, final String selector) {
+    return cls.lookupInvokable(Universe.symbolFor(selector));
+  }
+
+  public double mean() {
+    return mean(times);
+  }
+
+  public double median() {
+    return median(times);
+  }
+
+  /**
+   * @return the sample standard deviation of the measured iterations
+   */
+  public double standardDeviation() {
+    return standardDeviation(times);
+  }
+
+  public static double mean(final long[] values) {
+    double sum = 0;
+    for (long t : values) {
+      sum += t;
+    }
+    return sum / values.length;
+  }
+
+  public static double median(final long[] values) {
+    long[] sorted = values.clone();
+    Arrays.sort(sorted);
+    int mid = sorted.length / 2;
+    if (sorted.length % 2 == 1) {
+      return sorted[mid];
+    }
+    return (sorted[mid - 1] + sorted[mid]) / 2.0;
+  }
+
+  /**
+   * @return the sample standard deviation, or 0 for less than two values
+   */
+  public static double standardDeviation(final long[] values) {
+    if (values.length < 2) {
+      return 0;
+    }
+    double mean = mean(values);
+    double sumOfSquares = 0;
+    for (long t : values) {
+      sumOfSquares += (t - mean) * (t - mean);
+    }
+    return Math.sqrt(sumOfSquares / (values.length - 1));
+  }
+
+  public String summary() {
+    return String.format("%s: warmup=%d iterations=%d innerIterations=%d "
+        + "mean: %.1fus median: %.1fus stddev: %.1fus", name, warmup,
+        iterations, innerIterations, mean(), median(), standardDeviation());
+  }
+
+  public void writeJson(final String file) throws IOException {
+    try (PrintWriter out = newWriter(file, false)) {
+      out.println("{\"benchmark\": \"" + name + "\",");
+      out.println(" \"warmup\": " + warmup + ", \"iterations\": " + iterations
+          + ", \"innerIterations\": " + innerIterations + ",");
+      out.println(" \"unit\": \"us\",");
+      out.println(String.format(" \"mean\": %.1f, \"median\": %.1f, \"stddev\": %.1f,",
+          mean(), median(), standardDeviation()));
+      out.println(" \"warmupSamples\": " + Arrays.toString(warmupTimes) + ",");
+      out.println(" \"samples\": " + Arrays.toString(times) + "}");
+    }
+  }
+
+  /**
+   * Append a row per iteration, so that the results of a suite of
+   * benchmarks can be collected in one file.
+   */
+  public void appendCsv(final String file) throws IOException {
+    boolean isNew = !new File(file).exists() || new File(file).length() == 0;
+    try (PrintWriter out = newWriter(file, true)) {
+      if (isNew) {
+        out.println(CSV_HEADER);
+      }
+      for (int i = 0; i < warmupTimes.length; i++) {
+        out.println(name + ",warmup," + (i + 1) + "," + warmupTimes[i]);
+      }
+      for (int i = 0; i < times.length; i++) {
+        out.println(name + ",measured," + (i + 1) + "," + times[i]);
+      }
+    }
+  }
+
+  private static PrintWriter newWriter(final String file, final boolean append)
+      throws IOException {
+    return new PrintWriter(new OutputStreamWriter(
+        new FileOutputStream(file, append), StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Compare the median to the one of the measured iterations of the same
+   * benchmark in a CSV file written by an earlier run.
+   *
+   * @return false, if the median is slower than the baseline by more than
+   *         the given percentage
+   */
+  public boolean compareTo(final String baselineFile, final double threshold)
+      throws IOException {
+    return compareTo(name, times, readMeasuredTimes(baselineFile).get(name),
+        threshold);
+  }
+
+  /**
+   * Compare the medians of all benchmarks in a CSV file to the ones in the
+   * baseline. All benchmarks are compared and reported, also after the first
+   * one that is slower.
+   *
+   * @return false, if the median of any benchmark is slower than its
+   *         baseline by more than the given percentage
+   */
+  public static boolean compareAll(final String resultsFile,
+      final String baselineFile, final double threshold) throws IOException {
+    if (baselineFile == null) {
+      Universe.println("No baseline to compare " + resultsFile + " with");
+      return true;
+    }
+
+    Map<String, long[]> baseline = readMeasuredTimes(baselineFile);
+    int regressions = 0;
+    for (Entry<String, long[]> results : readMeasuredTimes(resultsFile).entrySet()) {
+      if (!compareTo(results.getKey(), results.getValue(),
+          baseline.get(results.getKey()), threshold)) {
+        regressions++;
+      }
+    }
+
+    if (regressions > 0) {
+      Universe.println(regressions + " benchmark(s) slower than the baseline "
+          + baselineFile);
+    }
+    return regressions == 0;
+  }
+
+  /**
+   * Compare the median of the times to the one of the baseline times.
+   *
+   * @param baseline the times of the baseline, or null if there is none
+   * @return false, if the median is slower than the baseline by more than
+   *         the given percentage
+   */
+  public static boolean compareTo(final String name, final long[] times,
+      final long[] baseline, final double threshold) {
+    if (baseline == null || baseline.length == 0) {
+      Universe.println(name + ": no baseline");
+      return true;
+    }
+
+    double median         = median(times);
+    double baselineMedian = median(baseline);
+    double change = (median - baselineMedian) / baselineMedian * 100;
+    boolean regressed = change > threshold;
+
+    Universe.println(String.format("%s: median %.1fus, baseline %.1fus, %+.1f%%%s",
+        name, median, baselineMedian, change,
+        regressed ? " REGRESSION (threshold " + threshold + "%)" : ""));
+    return !regressed;
+  }
+
+  /**
+   * @return the times of the measured iterations in a CSV file by benchmark,
+   *         in the order of the file
+   */
+  private static Map<String, long[]> readMeasuredTimes(final String file)
+      throws IOException {
+    Map<String, List<Long>> times = new LinkedHashMap<>();
+    try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] row = line.split(",");
+        if (row.length == 4 && row[1].equals("measured")) {
+          times.computeIfAbsent(row[0], k -> new ArrayList<>()).add(
+              Long.parseLong(row[3]));
+        }
+      }
+    }
+
+    Map<String, long[]> result = new LinkedHashMap<>();
+    for (Entry<String, List<Long>> e : times.entrySet()) {
+      long[] values = new long[e.getValue().size()];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = e.getValue().get(i);
+      }
+      result.put(e.getKey(), values);
+    }
+    return result;
+  }
+}
@@ -0,0 +1,146 @@
+package som.vm;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.source.Source;
+
+
+/**
+ * Index of the class sources on the class path.
+ *
+ * The entries of the class path are listed once, when the index is created,
+ * so that looking up a class does not need to try to open a file in every
+ * directory. Entries are either directories, or zip/jar archives with the
+ * sources in their root. A directory inside an archive can be selected with
+ * <code>archive.zip!/some/dir</code>.
+ * If a class is found in multiple entries, the first entry wins.
+ * The archives stay open until the index is closed.
+ */
+public final class ClassPath implements Closeable {
+
+  private static final String SOURCE_EXTENSION  = ".som";
+  private static final String ARCHIVE_SEPARATOR = "!";
+
+  private final HashMap<String, Path>       classes;
+  private final HashMap<String, FileSystem> archives;
+
+  @TruffleBoundary
+  public ClassPath(final String[] entries) {
+    classes  = new HashMap<>();
+    archives = new HashMap<>();
+
+    for (String entry : entries) {
+      try {
+        Path dir = resolveEntry(entry);
+        if (dir != null) {
+          indexDirectory(dir);
+        }
+      } catch (IOException e) {
+        Universe.errorPrintln("Warning: Class path entry " + entry
+            + " could not be read: " + e.getMessage());
+      }
+    }
+  }
+
+  private Path resolveEntry(final String entry) throws IOException {
+    // directory names can contain the separator, too, so, it only selects a
+    // directory when it follows an archive
+    int sep = entry.indexOf(ARCHIVE_SEPARATOR);
+    while (sep != -1) {
+      String archiveName = entry.substring(0, sep);
+      if (isArchiveFile(archiveName)) {
+        return resolveInArchive(archiveName, entry.substring(sep + 1));
+      }
+      sep = entry.indexOf(ARCHIVE_SEPARATOR, sep + 1);
+    }
+
+    if (Files.isDirectory(Paths.get(entry))) {
+      return Paths.get(entry);
+    }
+    if (isArchiveFile(entry)) {
+      return resolveInArchive(entry, "/");
+    }
+    return null;
+  }
+
+  private Path resolveInArchive(final String archiveName,
+      final String dirInArchive) throws IOException {
+    Path path = Paths.get(archiveName);
+    FileSystem archive = archives.get(archiveName);
+    if (archive == null) {
+      archive = FileSystems.newFileSystem(path, (ClassLoader) null);
+      archives.put(archiveName, archive);
+    }
+
+    Path dir = archive.getPath(dirInArchive.isEmpty() ? "/" : dirInArchive);
+    return Files.isDirectory(dir) ? dir : null;
+  }
+
+  private static boolean isArchiveFile(final String fileName) {
+    String name = fileName.toLowerCase();
+    return (name.endsWith(".zip") || name.endsWith(".jar"))
+        && Files.isRegularFile(Paths.get(fileName));
+  }
+
+  private void indexDirectory(final Path dir) throws IOException {
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(dir,
+        "*" + SOURCE_EXTENSION)) {
+      for (Path file : files) {
+        String fileName = file.getFileName().toString();
+        String className = fileName.substring(0,
+            fileName.length() - SOURCE_EXTENSION.length());
+        if (!classes.containsKey(className)) {
+          classes.put(className, file);
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the source of the class, or null if it is not on the class path
+   */
+  @TruffleBoundary
+  public Source getSource(final String className) throws IOException {
+    Path file = classes.get(className);
+    if (file == null) {
+      return null;
+    }
+
+    if (file.getFileSystem() == FileSystems.getDefault()) {
+      return Source.fromFileName(file.toString());
+    }
+
+    String code = new String(Files.readAllBytes(file), Charset.defaultCharset());
+    return Source.fromText(code, file.getFileSystem().toString()
+        + ARCHIVE_SEPARATOR + file.toString());
+  }
+
+  /**
+   * Close the opened archives. The sources read from them are kept in
+   * memory, and remain valid.
+   */
+  @Override
+  @TruffleBoundary
+  public void close() {
+    for (FileSystem archive : archives.values()) {
+      try {
+        archive.close();
+      } catch (IOException e) {
+        Universe.errorPrintln("Warning: Class path archive " + archive
+            + " could not be closed: " + e.getMessage());
+      }
+    }
+    archives.clear();
+    classes.clear();
+  }
+}
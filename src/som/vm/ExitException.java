@@ -0,0 +1,23 @@
+package som.vm;
+
+import com.oracle.truffle.api.nodes.ControlFlowException;
+
+
+/**
+ * Ends the execution of a program, when the VM is not supposed to exit,
+ * for instance, when it runs in a server or in tests.
+ */
+public final class ExitException extends ControlFlowException {
+
+  private final int exitCode;
+
+  public ExitException(final int exitCode) {
+    this.exitCode = exitCode;
+  }
+
+  public int getExitCode() {
+    return exitCode;
+  }
+
+  private static final long serialVersionUID = -5482745623092618914L;
+}
@@ -0,0 +1,72 @@
+package som.vm;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+
+/**
+ * Reader for the standard input of SOM programs and the shell.
+ *
+ * A large buffer is decoded at a time, so that programs can process their
+ * input line by line, as filters in a pipeline.
+ * The server reads its requests from the same reader, and gives programs
+ * the input of the client they run for.
+ */
+public final class Input {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private static BufferedReader stdin;
+  private static BufferedReader reader;
+
+  public static BufferedReader newReader(final InputStream in) {
+    return new BufferedReader(
+        new InputStreamReader(in, Charset.defaultCharset()), BUFFER_SIZE);
+  }
+
+  /**
+   * @return the reader for <code>System.in</code>, which has to be used for
+   *         all reads, because it buffers ahead
+   */
+  public static synchronized BufferedReader stdin() {
+    if (stdin == null) {
+      stdin = newReader(System.in);
+    }
+    return stdin;
+  }
+
+  /**
+   * Read the input of programs from the given reader, or from
+   * <code>System.in</code>, if it is null.
+   *
+   * @return the previous reader
+   */
+  public static synchronized BufferedReader setReader(
+      final BufferedReader newReader) {
+    BufferedReader previous = reader;
+    reader = newReader;
+    return previous;
+  }
+
+  /**
+   * @return the next line without line terminator, or null at the end of
+   *         the input
+   */
+  @TruffleBoundary
+  public static synchronized String readLine() throws IOException {
+    BufferedReader in = reader != null ? reader : stdin();
+
+    if (!in.ready()) {
+      // we might wait for a user, who needs to see the prompt
+      Output.out.flush();
+    }
+    return in.readLine();
+  }
+
+  private Input() { }
+}
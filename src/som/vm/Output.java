@@ -0,0 +1,131 @@
+package som.vm;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+
+import som.vmobjects.SFile;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+
+/**
+ * Buffer for the output of SOM programs.
+ *
+ * <code>System.out</code> flushes at every line, which makes printing many
+ * short strings dominated by system calls. Instead, the output is collected
+ * and encoded in a buffer, which is written in one go when it is full, or
+ * when it is flushed explicitly, e.g., on exit. The error output is
+ * flushed after each message.
+ * The buffer writes to whatever <code>System.out</code> or
+ * <code>System.err</code> is at that time.
+ */
+public final class Output {
+
+  private static final int CHAR_BUFFER_SIZE = 8 * 1024;
+  private static final int BYTE_BUFFER_SIZE = 64 * 1024;
+
+  public static final Output out = new Output(false);
+  public static final Output err = new Output(true);
+
+  static {
+    // programs that are not ended by Universe.exit() need to be flushed, too
+    Runtime.getRuntime().addShutdownHook(new Thread(Output::flushAll));
+  }
+
+  private final boolean        isErr;
+  private final CharBuffer     chars;
+  private final ByteBuffer     bytes;
+  private final CharsetEncoder encoder;
+
+  private Output(final boolean isErr) {
+    this.isErr   = isErr;
+    this.chars   = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+    this.bytes   = ByteBuffer.allocate(BYTE_BUFFER_SIZE);
+    this.encoder = Charset.defaultCharset().newEncoder().
+        onMalformedInput(CodingErrorAction.REPLACE).
+        onUnmappableCharacter(CodingErrorAction.REPLACE);
+  }
+
+  private PrintStream target() {
+    // Checkstyle: stop
+    return isErr ? System.err : System.out;
+    // Checkstyle: resume
+  }
+
+  @TruffleBoundary
+  public void print(final String str) {
+    if (isErr) {
+      // keep error messages in order with the normal output
+      out.flush();
+    }
+
+    if (VmSettings.UNBUFFERED_OUTPUT) {
+      target().print(str);
+      return;
+    }
+
+    synchronized (this) {
+      int start = 0;
+      while (start < str.length()) {
+        int end = Math.min(str.length(), start + chars.remaining());
+        chars.put(str, start, end);
+        start = end;
+
+        if (!chars.hasRemaining()) {
+          encode();
+        }
+      }
+
+      // error messages should be visible immediately
+      if (isErr) {
+        flush();
+      }
+    }
+  }
+
+  @TruffleBoundary
+  public void println(final String str) {
+    print(str + System.lineSeparator());
+  }
+
+  @TruffleBoundary
+  public void println() {
+    print(System.lineSeparator());
+  }
+
+  @TruffleBoundary
+  public synchronized void flush() {
+    encode();
+    write();
+    target().flush();
+  }
+
+  /**
+   * Flush the output, including files of SOM programs that are still open.
+   */
+  public static void flushAll() {
+    SFile.flushAll();
+    out.flush();
+    err.flush();
+  }
+
+  private void encode() {
+    chars.flip();
+    while (encoder.encode(chars, bytes, false).isOverflow()) {
+      write();
+    }
+    // an incomplete surrogate pair stays in the buffer
+    chars.compact();
+  }
+
+  private void write() {
+    if (bytes.position() > 0) {
+      target().write(bytes.array(), 0, bytes.position());
+      bytes.clear();
+    }
+  }
+}
@@ -0,0 +1,176 @@
+package som.vm;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.StringTokenizer;
+
+import som.vmobjects.SArray;
+import som.vmobjects.SInvokable;
+
+
+/**
+ * Runs SOM programs on request in a single VM, so that the core library is
+ * loaded only once, and classes and their compiled code are reused by
+ * later requests. The globals defined by a program are removed after it
+ * finished.
+ *
+ * A request is a line with the class to run and its arguments, separated
+ * by spaces, as on the command line. The output of the program is followed
+ * by a line <code>#done exitCode</code>. <code>quit</code> ends the session.
+ *
+ * Requests are read from stdin, or with <code>-port n</code> from TCP
+ * connections on the loopback interface, which are served one at a time.
+ */
+public final class Server {
+
+  public static final String DONE = "#done ";
+  public static final String QUIT = "quit";
+
+  private final Universe   universe;
+  private final SInvokable initialize;
+
+  public Server(final Universe universe) {
+    this.universe = universe;
+
+    universe.initializeObjectSystem();
+    universe.markSystemGlobals();
+    initialize = universe.getSystemClass().lookupInvokable(
+        Universe.symbolFor("initialize:"));
+  }
+
+  public static void main(final String[] arguments) {
+    int port = -1;
+    ArrayList<String> vmArguments = new ArrayList<>();
+    for (int i = 0; i < arguments.length; i++) {
+      if (arguments[i].equals("-port") && i + 1 < arguments.length) {
+        port = Integer.parseInt(arguments[i + 1]);
+        i += 1;
+      } else {
+        vmArguments.add(arguments[i]);
+      }
+    }
+
+    Universe u = Universe.current();
+    u.handleArguments(vmArguments.toArray(new String[0]));
+    Server server = new Server(u);
+
+    try {
+      if (port == -1) {
+        server.serve(System.in, System.out);
+      } else {
+        server.listen(port);
+      }
+    } catch (IOException e) {
+      Universe.errorPrintln("Server failed: " + e.getMessage());
+      System.exit(1);
+    }
+    System.exit(0);
+  }
+
+  /**
+   * Accept connections on the given port, until a client sends
+   * <code>quit</code>.
+   */
+  public void listen(final int port) throws IOException {
+    try (ServerSocket serverSocket = new ServerSocket(port, 0,
+        InetAddress.getLoopbackAddress())) {
+      Universe.errorPrintln("SOM server listening on port "
+          + serverSocket.getLocalPort());
+      while (true) {
+        try (Socket socket = serverSocket.accept()) {
+          if (!serve(socket.getInputStream(), socket.getOutputStream())) {
+            return;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Serve the requests read from the input, until it ends.
+   *
+   * @return false, if the client asked to quit
+   */
+  public boolean serve(final InputStream in, final OutputStream out)
+      throws IOException {
+    // programs read their input from the same reader as the requests
+    BufferedReader reader = in == System.in ? Input.stdin()
+        : Input.newReader(in);
+    PrintStream output = out instanceof PrintStream ? (PrintStream) out
+        : new PrintStream(out, true);
+
+    PrintStream stdout = System.out;
+    PrintStream stderr = System.err;
+    // the VM prints to System.out/err, so send it to the client
+    System.setOut(output);
+    System.setErr(output);
+    BufferedReader input = Input.setReader(reader);
+    try {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        line = line.trim();
+        if (line.isEmpty()) {
+          continue;
+        }
+        if (line.equals(QUIT)) {
+          return false;
+        }
+
+        int exitCode = run(split(line));
+        Universe.flush();
+        output.println(DONE + exitCode);
+        output.flush();
+      }
+      return true;
+    } finally {
+      Universe.flush();
+      System.setOut(stdout);
+      System.setErr(stderr);
+      Input.setReader(input);
+    }
+  }
+
+  /**
+   * Run a program like the command line does, and remove the globals it
+   * defined afterwards.
+   *
+   * @return the exit code of the program
+   */
+  public int run(final String[] arguments) {
+    universe.setAvoidExit(true);
+    try {
+      initialize.invoke(new Object[] {universe.getSystemObject(),
+          SArray.create(arguments)});
+      return universe.lastExitCode();
+    } catch (ExitException e) {
+      return e.getExitCode();
+    } catch (RuntimeException | StackOverflowError e) {
+      Universe.errorPrintln("Caught exception: " + e);
+      return 1;
+    } finally {
+      universe.resetUserGlobals();
+    }
+  }
+
+  private static String[] split(final String line) {
+    StringTokenizer tokenizer = new StringTokenizer(line);
+    String[] result = new String[tokenizer.countTokens()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = tokenizer.nextToken();
+    }
+
+    // strip the path and the extension of the class, like the command line
+    String className = new File(result[0]).getName();
+    int dot = className.indexOf('.');
+    result[0] = dot == -1 ? className : className.substring(0, dot);
+    return result;
+  }
+}
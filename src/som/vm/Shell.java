@@ -25,32 +25,57 @@
 
 package som.vm;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+import som.compiler.Parser.ParseError;
+import som.compiler.SourcecodeCompiler;
+import som.vm.Universe.Association;
 import som.vm.constants.Nil;
+import som.vmobjects.SAbstractObject;
 import som.vmobjects.SClass;
 import som.vmobjects.SInvokable;
 import som.vmobjects.SObject;
 
+/**
+ * Evaluates statements read from stdin.
+ *
+ * Each input is compiled into a method of a single shell class. Temporaries
+ * declared in an input are kept by the shell and visible to later inputs.
+ * The compiled methods are cached by their source, so that repeated inputs
+ * reuse their call targets.
+ */
 public class Shell {
 
+  private static final int MAX_CACHED_STATEMENTS = 1000;
+
   private final Universe universe;
 
+  private final HashMap<String, Association> variables;
+  private final LinkedHashMap<String, SInvokable> compiledStatements;
+
+  private SClass  shellClass;
+  private SObject shellObject;
+
   public Shell(final Universe universe) {
     this.universe = universe;
+    this.variables = new HashMap<>();
+    this.compiledStatements = new LinkedHashMap<String, SInvokable>(16, 0.75f, true) {
+      private static final long serialVersionUID = -3436254286358738335L;
+
+      @Override
+      protected boolean removeEldestEntry(final Entry<String, SInvokable> eldest) {
+        return size() > MAX_CACHED_STATEMENTS;
+      }
+    };
   }
 
   public Object start() {
-    BufferedReader in;
     String stmt;
-    int counter;
-    SClass myClass;
-    SObject myObject;
     Object it;
 
-    counter = 0;
-    in = new BufferedReader(new InputStreamReader(System.in));
     it = Nil.nilObject;
 
     Universe.println("SOM Shell. Type \"quit\" to exit.\n");
@@ -60,33 +85,45 @@ public class Shell {
         Universe.print("---> ");
 
         // Read a statement from the keyboard
-        stmt = in.readLine();
-        if (stmt.equals("quit")) {
+        stmt = Input.readLine();
+        if (stmt == null || stmt.equals("quit")) {
           return it;
         }
 
-        // Generate a temporary class with a run method
-        stmt = "Shell_Class_" + counter++ + " = ( run: it = ( | tmp | tmp := ("
-            + stmt + " ). 'it = ' print. ^tmp println ) )";
-
-        // Compile and load the newly generated class
-        myClass = universe.loadShellClass(stmt);
-
-        // If success
-        if (myClass != null) {
-          // Create and push a new instance of our class on the stack
-          myObject = Universe.newInstance(myClass);
-
-          // Lookup the run: method
-          SInvokable shellMethod = myClass.
-              lookupInvokable(universe.symbolFor("run:"));
-
-          // Invoke the run method
-          it = shellMethod.invoke(myObject, it);
-        }
+        it = evaluate(stmt, it);
+        Universe.print("it = ");
+        SAbstractObject.send("println", new Object[] {it});
+      } catch (ParseError e) {
+        Universe.errorPrintln(e.toString());
       } catch (Exception e) {
         Universe.errorPrintln("Caught exception: " + e.getMessage());
       }
     }
   }
+
+  /**
+   * Evaluate the statements with the given object as <code>it</code>.
+   *
+   * @return the value of the last statement
+   */
+  public Object evaluate(final String stmts, final Object it)
+      throws ParseError, IOException {
+    if (shellClass == null) {
+      shellClass  = universe.loadShellClass("Shell = ( )");
+      shellObject = Universe.newInstance(shellClass);
+    }
+
+    SInvokable doIt = compiledStatements.get(stmts);
+    if (doIt == null) {
+      int numberOfVariables = variables.size();
+      doIt = SourcecodeCompiler.compileShellStatements(stmts, shellClass,
+          variables, universe);
+      if (variables.size() != numberOfVariables) {
+        // earlier statements could have read the new temporaries as globals
+        compiledStatements.clear();
+      }
+      compiledStatements.put(stmts, doIt);
+    }
+    return doIt.invoke(shellObject, it);
+  }
 }
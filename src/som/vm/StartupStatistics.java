@@ -0,0 +1,208 @@
+package som.vm;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import som.interpreter.Invokable;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.source.SourceSection;
+
+
+/**
+ * Measures where the time until a program starts goes: setting up and
+ * indexing the class path, parsing each class, assembling the classes, and
+ * installing primitives, and when the kernel is loaded, and the first
+ * method of the program class is entered. With lazy parsing, the bodies of
+ * methods are parsed when they are first called, which is timed as a
+ * separate phase, and is also part of the parsing time of the file.
+ *
+ * Enabled with <code>-Dsom.startupStats=true</code>. Loading a class loads
+ * its superclass while it is parsed and assembled, so each phase records
+ * only the time that is not spent in phases nested in it.
+ */
+public final class StartupStatistics {
+
+  public enum Phase {
+    CLASS_PATH("class path"),
+    PARSING("parsing"),
+    CLASS_ASSEMBLY("class assembly"),
+    PRIMITIVES("primitives"),
+    LAZY_PARSING("parsing methods on first call");
+
+    private final String description;
+
+    Phase(final String description) {
+      this.description = description;
+    }
+  }
+
+  private static final int MAX_FILES = 20;
+
+  /** Time since the start of the JVM, when this class was initialized. */
+  private static final long initUptime = VmSettings.STARTUP_STATISTICS
+      ? ManagementFactory.getRuntimeMXBean().getUptime() * 1000000 : 0;
+  private static final long initTime = System.nanoTime();
+
+  private static final ThreadLocal<ArrayDeque<long[]>> running =
+      ThreadLocal.withInitial(ArrayDeque::new);
+
+  private static final Map<Phase, long[]> phases = new EnumMap<>(Phase.class);
+  private static final Map<String, Long> parsedFiles = new LinkedHashMap<>();
+
+  private static long kernelLoaded;
+  private static String programClass;
+  private static volatile boolean firstProgramMethodEntered;
+  private static long firstProgramMethod;
+
+  /**
+   * @return the start time to pass to {@link #stop(Phase, long)}
+   */
+  public static long start() {
+    if (!VmSettings.STARTUP_STATISTICS) {
+      return 0;
+    }
+    return push();
+  }
+
+  @TruffleBoundary
+  private static long push() {
+    long now = System.nanoTime();
+    // the time of phases nested in this one
+    running.get().push(new long[] {0});
+    return now;
+  }
+
+  public static void stop(final Phase phase, final long start) {
+    if (VmSettings.STARTUP_STATISTICS) {
+      pop(phase, null, start);
+    }
+  }
+
+  public static void stopParsing(final Source source, final long start) {
+    stopParsing(Phase.PARSING, source, start);
+  }
+
+  public static void stopParsing(final Phase phase, final Source source,
+      final long start) {
+    if (VmSettings.STARTUP_STATISTICS) {
+      pop(phase, source == null ? "<shell>" : source.getName(), start);
+    }
+  }
+
+  @TruffleBoundary
+  private static void pop(final Phase phase, final String file,
+      final long start) {
+    long elapsed = System.nanoTime() - start;
+    ArrayDeque<long[]> stack = running.get();
+    long exclusive = elapsed - stack.pop()[0];
+    if (!stack.isEmpty()) {
+      stack.peek()[0] += elapsed;
+    }
+
+    synchronized (phases) {
+      long[] total = phases.computeIfAbsent(phase, p -> new long[2]);
+      total[0] += exclusive;
+      total[1] += 1;
+      if (file != null) {
+        parsedFiles.merge(file, exclusive, Long::sum);
+      }
+    }
+  }
+
+  /**
+   * @return whether the current thread is inside a phase, i.e., whether a
+   *         phase was started and not yet stopped
+   */
+  public static boolean isInPhase() {
+    return !running.get().isEmpty();
+  }
+
+  public static void kernelLoaded() {
+    if (VmSettings.STARTUP_STATISTICS) {
+      kernelLoaded = System.nanoTime();
+    }
+  }
+
+  /**
+   * Remember the class of the program, whose first method marks the end of
+   * the startup.
+   */
+  public static void programStarting(final String className) {
+    if (VmSettings.STARTUP_STATISTICS) {
+      programClass = className;
+    }
+  }
+
+  public static void methodEntered(final Invokable invokable) {
+    if (VmSettings.STARTUP_STATISTICS && !firstProgramMethodEntered) {
+      checkProgramMethod(invokable);
+    }
+  }
+
+  @TruffleBoundary
+  private static void checkProgramMethod(final Invokable invokable) {
+    SourceSection section = invokable.getSourceSection();
+    if (programClass == null || section == null || section.getSource() == null) {
+      return;
+    }
+
+    String file = section.getSource().getName();
+    if (file.endsWith("/" + programClass + ".som")
+        || file.equals(programClass + ".som")) {
+      firstProgramMethod = System.nanoTime();
+      firstProgramMethodEntered = true;
+    }
+  }
+
+  private static double sinceJvmStart(final long time) {
+    return (initUptime + time - initTime) / 1000000.0;
+  }
+
+  @TruffleBoundary
+  public static String report() {
+    if (!VmSettings.STARTUP_STATISTICS) {
+      return "Startup statistics are disabled, enable them with -Dsom.startupStats=true\n";
+    }
+
+    StringBuilder result = new StringBuilder();
+    result.append("Startup (ms since JVM start):\n");
+    result.append(String.format("%10.1f  handling arguments%n", sinceJvmStart(initTime)));
+    if (kernelLoaded != 0) {
+      result.append(String.format("%10.1f  kernel loaded%n", sinceJvmStart(kernelLoaded)));
+    }
+    if (firstProgramMethodEntered) {
+      result.append(String.format("%10.1f  first method of %s%n",
+          sinceJvmStart(firstProgramMethod), programClass));
+    }
+
+    ArrayList<Entry<String, Long>> files;
+    synchronized (phases) {
+      result.append("Startup phases (ms, count):\n");
+      for (Phase phase : Phase.values()) {
+        long[] total = phases.get(phase);
+        if (total != null) {
+          result.append(String.format("%10.1f  %6d  %s%n",
+              total[0] / 1000000.0, total[1], phase.description));
+        }
+      }
+      files = new ArrayList<>(parsedFiles.entrySet());
+    }
+
+    files.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+    result.append("Parsing by file (ms, top ").append(MAX_FILES).append("):\n");
+    for (int i = 0; i < files.size() && i < MAX_FILES; i++) {
+      result.append(String.format("%10.2f  %s%n",
+          files.get(i).getValue() / 1000000.0, files.get(i).getKey()));
+    }
+    return result.toString();
+  }
+
+  private StartupStatistics() { }
+}
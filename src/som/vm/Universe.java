@@ -29,6 +29,7 @@ import static som.vm.constants.Classes.arrayClass;
 import static som.vm.constants.Classes.booleanClass;
 import static som.vm.constants.Classes.classClass;
 import static som.vm.constants.Classes.doubleClass;
+import static som.vm.constants.Classes.fileClass;
 import static som.vm.constants.Classes.integerClass;
 import static som.vm.constants.Classes.metaclassClass;
 import static som.vm.constants.Classes.methodClass;
@@ -36,23 +37,39 @@ import static som.vm.constants.Classes.nilClass;
 import static som.vm.constants.Classes.objectClass;
 import static som.vm.constants.Classes.primitiveClass;
 import static som.vm.constants.Classes.stringClass;
+import static som.vm.constants.Classes.stringStreamClass;
 import static som.vm.constants.Classes.symbolClass;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
 import java.util.StringTokenizer;
 
+import com.oracle.truffle.api.Assumption;
 import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.Truffle;
 import com.oracle.truffle.api.TruffleRuntime;
 import com.oracle.truffle.api.frame.MaterializedFrame;
+import com.oracle.truffle.api.source.Source;
 
 import som.compiler.Disassembler;
+import som.compiler.LazyMethod;
+import som.compiler.Parser.ParseError;
+import som.interpreter.AllocationProfiler;
+import som.interpreter.AstDump;
+import som.interpreter.CallSiteReport;
+import som.interpreter.DeoptStatistics;
 import som.interpreter.Invokable;
+import som.interpreter.SamplingProfiler;
+import som.interpreter.Types;
 import som.interpreter.TruffleCompiler;
+import som.vm.StartupStatistics.Phase;
 import som.vm.constants.Globals;
 import som.vm.constants.Nil;
 import som.vmobjects.SArray;
@@ -78,27 +95,66 @@ public final class Universe {
   /**
    * Associations are handles for globals with a fixed
    * SSymbol and a mutable value.
+   *
+   * Initially, the value is treated as a constant by compiled code, guarded
+   * by an assumption that is invalidated when the global is changed. A
+   * global that changed more than {@link VmSettings#GLOBAL_CHANGE_LIMIT}
+   * times is considered mutable, and from then on it is read from a
+   * volatile field, so that further writes do not cause deoptimizations.
    */
   public static final class Association {
     private final SSymbol    key;
-    @CompilationFinal private Object  value;
+
+    @CompilationFinal private Object     constantValue;
+    @CompilationFinal private Assumption isConstant;
+
+    private volatile Object value;
+    private int             changes;
 
     public Association(final SSymbol key, final Object value) {
       this.key   = key;
       this.value = value;
+      this.constantValue = value;
+      this.isConstant    = createConstantAssumption();
+    }
+
+    private Assumption createConstantAssumption() {
+      return Truffle.getRuntime().createAssumption("Global " + key.getString());
     }
 
     public SSymbol getKey() {
       return key;
     }
 
+    /**
+     * @return whether compiled code still treats the value as a constant,
+     *         which ends after {@link VmSettings#GLOBAL_CHANGE_LIMIT} changes
+     */
+    public boolean isConstant() {
+      return isConstant.isValid();
+    }
+
     public Object getValue() {
+      if (isConstant.isValid()) {
+        return constantValue;
+      }
       return value;
     }
 
-    public void setValue(final Object value) {
-      TruffleCompiler.transferToInterpreterAndInvalidate("Changed global");
+    @TruffleBoundary
+    public synchronized void setValue(final Object value) {
       this.value = value;
+      if (!isConstant.isValid()) {
+        return;
+      }
+
+      Assumption old = isConstant;
+      changes += 1;
+      if (changes <= VmSettings.GLOBAL_CHANGE_LIMIT) {
+        constantValue = value;
+        isConstant    = createConstantAssumption();
+      }
+      old.invalidate();
     }
   }
 
@@ -118,13 +174,19 @@ public final class Universe {
     arguments = handleArguments(arguments);
 
     // Initialize the known universe
-    return execute(arguments);
+    Universe previous = setCurrent(this);
+    try {
+      return execute(arguments);
+    } catch (ExitException e) {
+      return Nil.nilObject;
+    } finally {
+      setCurrent(previous);
+    }
   }
 
   private Universe() {
     this.truffleRuntime = Truffle.getRuntime();
     this.globals      = new HashMap<SSymbol, Association>();
-    this.symbolTable  = new HashMap<>();
     this.avoidExit    = false;
     this.alreadyInitialized = false;
     this.lastExitCode = 0;
@@ -136,13 +198,37 @@ public final class Universe {
     return truffleRuntime;
   }
 
+  /**
+   * @throws ExitException instead of exiting, when the VM is to avoid exit
+   */
   public void exit(final int errorCode) {
     TruffleCompiler.transferToInterpreter("exit");
+    if (VmSettings.DEOPT_STATISTICS && !avoidExit) {
+      errorPrint(DeoptStatistics.report());
+    }
+    if (VmSettings.CALL_SITE_REPORT && !avoidExit) {
+      errorPrint(CallSiteReport.report(this));
+    }
+    if (VmSettings.ALLOCATION_STATISTICS && !avoidExit) {
+      errorPrint(AllocationProfiler.report());
+    }
+    if (VmSettings.AST_DUMP != null && !avoidExit) {
+      errorPrint(AstDump.write(this));
+    }
+    if (VmSettings.PROFILE && !avoidExit) {
+      errorPrint(SamplingProfiler.report());
+    }
+    if (VmSettings.STARTUP_STATISTICS && !avoidExit) {
+      errorPrint(StartupStatistics.report());
+    }
+    Output.flushAll();
+
     // Exit from the Java system
     if (!avoidExit) {
       System.exit(errorCode);
     } else {
       lastExitCode = errorCode;
+      throw new ExitException(errorCode);
     }
   }
 
@@ -158,50 +244,56 @@ public final class Universe {
 
   @TruffleBoundary
   public String[] handleArguments(String[] arguments) {
-    boolean gotClasspath = false;
-    String[] remainingArgs = new String[arguments.length];
-    int cnt = 0;
-
-    for (int i = 0; i < arguments.length; i++) {
-      if (arguments[i].equals("-cp")) {
-        if (i + 1 >= arguments.length) {
-          printUsageAndExit();
+    long start = StartupStatistics.start();
+    try {
+      boolean gotClasspath = false;
+      String[] remainingArgs = new String[arguments.length];
+      int cnt = 0;
+
+      for (int i = 0; i < arguments.length; i++) {
+        if (arguments[i].equals("-cp")) {
+          if (i + 1 >= arguments.length) {
+            printUsageAndExit();
+          }
+          setupClassPath(arguments[i + 1]);
+          // Checkstyle: stop
+          ++i; // skip class path
+          // Checkstyle: resume
+          gotClasspath = true;
+        } else if (arguments[i].equals("-d")) {
+          printAST = true;
+        } else {
+          remainingArgs[cnt++] = arguments[i];
         }
-        setupClassPath(arguments[i + 1]);
-        // Checkstyle: stop
-        ++i; // skip class path
-        // Checkstyle: resume
-        gotClasspath = true;
-      } else if (arguments[i].equals("-d")) {
-        printAST = true;
-      } else {
-        remainingArgs[cnt++] = arguments[i];
       }
-    }
 
-    if (!gotClasspath) {
-      // Get the default class path of the appropriate size
-      classPath = setupDefaultClassPath(0);
-    }
+      if (!gotClasspath) {
+        // Get the default class path of the appropriate size
+        classPath = setupDefaultClassPath(0);
+      }
 
-    // Copy the remaining elements from the original array into the new
-    // array
-    arguments = new String[cnt];
-    System.arraycopy(remainingArgs, 0, arguments, 0, cnt);
+      // Copy the remaining elements from the original array into the new
+      // array
+      arguments = new String[cnt];
+      System.arraycopy(remainingArgs, 0, arguments, 0, cnt);
 
-    // check remaining args for class paths, and strip file extension
-    for (int i = 0; i < arguments.length; i++) {
-      String[] split = getPathClassExt(arguments[i]);
+      // check remaining args for class paths, and strip file extension
+      for (int i = 0; i < arguments.length; i++) {
+        String[] split = getPathClassExt(arguments[i]);
 
-      if (!("".equals(split[0]))) { // there was a path
-        String[] tmp = new String[classPath.length + 1];
-        System.arraycopy(classPath, 0, tmp, 1, classPath.length);
-        tmp[0] = split[0];
-        classPath = tmp;
+        if (!("".equals(split[0]))) { // there was a path
+          String[] tmp = new String[classPath.length + 1];
+          System.arraycopy(classPath, 0, tmp, 1, classPath.length);
+          tmp[0] = split[0];
+          classPath = tmp;
+        }
+        arguments[i] = split[1];
       }
-      arguments[i] = split[1];
+      dropClassPathIndex();
+    } finally {
+      // also when printing the usage ends the program
+      StartupStatistics.stop(Phase.CLASS_PATH, start);
     }
-
     return arguments;
   }
 
@@ -234,6 +326,7 @@ public final class Universe {
 
     // Get the default class path of the appropriate size
     classPath = setupDefaultClassPath(tokenizer.countTokens());
+    dropClassPathIndex();
 
     // Get the directories and put them into the class path array
     for (int i = 0; tokenizer.hasMoreTokens(); i++) {
@@ -241,6 +334,13 @@ public final class Universe {
     }
   }
 
+  private void dropClassPathIndex() {
+    if (classPathIndex != null) {
+      classPathIndex.close();
+      classPathIndex = null;
+    }
+  }
+
   @TruffleBoundary
   private String[] setupDefaultClassPath(final int directories) {
     // Get the default system class path
@@ -271,9 +371,12 @@ public final class Universe {
     println("where options include:                                   ");
     println("    -cp <directories separated by " + File.pathSeparator + ">");
     println("                  set search path for application classes");
+    println("                  entries can also be .zip or .jar archives,");
+    println("                  and archive.zip!/dir selects a directory in it");
     println("    -d            enable disassembling");
 
     // Exit
+    Output.flushAll();
     System.exit(0);
   }
 
@@ -287,13 +390,19 @@ public final class Universe {
    */
   public Object interpret(final String className, final String selector) {
     initializeObjectSystem();
+    StartupStatistics.programStarting(className);
 
-    SClass clazz = loadClass(symbolFor(className));
-
-    // Lookup the initialize invokable on the system class
-    SInvokable initialize = clazz.getSOMClass().lookupInvokable(
-        symbolFor(selector));
-    return initialize.invoke(clazz);
+    Universe previous = setCurrent(this);
+    try {
+      SClass clazz = loadClass(symbolFor(className));
+
+      // Lookup the initialize invokable on the system class
+      SInvokable initialize = clazz.getSOMClass().lookupInvokable(
+          symbolFor(selector));
+      return initialize.invoke(clazz);
+    } finally {
+      setCurrent(previous);
+    }
   }
 
   private Object execute(final String[] arguments) {
@@ -304,6 +413,7 @@ public final class Universe {
       Shell shell = new Shell(this);
       return shell.start();
     }
+    StartupStatistics.programStarting(arguments[0]);
 
     // Lookup the initialize invokable on the system class
     SInvokable initialize = systemClass.
@@ -313,7 +423,7 @@ public final class Universe {
         SArray.create(arguments)});
   }
 
-  protected void initializeObjectSystem() {
+  public void initializeObjectSystem() {
     CompilerAsserts.neverPartOfCompilation();
     if (alreadyInitialized) {
       return;
@@ -321,6 +431,58 @@ public final class Universe {
       alreadyInitialized = true;
     }
 
+    // also for universes that are not started by execute(), for instance in
+    // the server or an engine
+    SamplingProfiler.start();
+
+    // nodes created while loading classes refer to the current universe
+    Universe previous = setCurrent(this);
+    try {
+      synchronized (Universe.class) {
+        if (kernel == null) {
+          loadingKernel = true;
+          try {
+            loadKernel();
+          } finally {
+            loadingKernel = false;
+          }
+          kernel = this;
+          kernelGlobals = new HashMap<>();
+          for (Association assoc : globals.values()) {
+            kernelGlobals.put(assoc.getKey(), assoc.getValue());
+          }
+        } else {
+          shareKernel();
+        }
+      }
+    } finally {
+      setCurrent(previous);
+    }
+    objectSystemInitialized = true;
+    StartupStatistics.kernelLoaded();
+    VmManagement.register();
+  }
+
+  /**
+   * Use the core classes and objects of the universe that loaded them,
+   * with a separate set of globals.
+   */
+  private void shareKernel() {
+    trueObject   = kernel.trueObject;
+    falseObject  = kernel.falseObject;
+    systemObject = kernel.systemObject;
+    trueClass    = kernel.trueClass;
+    falseClass   = kernel.falseClass;
+    systemClass  = kernel.systemClass;
+    System.arraycopy(kernel.blockClasses, 0, blockClasses, 0,
+        blockClasses.length);
+
+    for (Entry<SSymbol, Object> global : kernelGlobals.entrySet()) {
+      setGlobal(global.getKey(), global.getValue());
+    }
+  }
+
+  private void loadKernel() {
     // Allocate the nil object
     SObject nilObject = Nil.nilObject;
 
@@ -340,6 +502,8 @@ public final class Universe {
     initializeSystemClass(primitiveClass,  objectClass, "Primitive");
     initializeSystemClass(doubleClass,     objectClass, "Double");
     initializeSystemClass(booleanClass,    objectClass, "Boolean");
+    initializeSystemClass(fileClass,       objectClass, "File");
+    initializeSystemClass(stringStreamClass, objectClass, "StringStream");
 
     trueClass  = newSystemClass();
     falseClass = newSystemClass();
@@ -362,6 +526,8 @@ public final class Universe {
     loadSystemClass(booleanClass);
     loadSystemClass(trueClass);
     loadSystemClass(falseClass);
+    loadVmClass(fileClass);
+    loadVmClass(stringStreamClass);
 
     // Load the generic block class
     blockClasses[0] = loadClass(symbolFor("Block"));
@@ -392,17 +558,28 @@ public final class Universe {
     if (null == blockClasses[1]) {
       errorExit("Initialization went wrong for class Blocks");
     }
-    objectSystemInitialized = true;
   }
 
+  /**
+   * @return the symbol for the string, from the symbol table shared by all
+   *         universes
+   */
   @TruffleBoundary
-  public SSymbol symbolFor(final String string) {
+  public static SSymbol symbolFor(final String string) {
     String interned = string.intern();
-    // Lookup the symbol in the symbol table
-    SSymbol result = symbolTable.get(interned);
-    if (result != null) { return result; }
+    synchronized (symbolTable) {
+      // Lookup the symbol in the symbol table
+      SSymbol result = symbolTable.get(interned);
+      if (result != null) { return result; }
 
-    return newSymbol(interned);
+      return newSymbol(interned);
+    }
+  }
+
+  public static int getNumberOfSymbols() {
+    synchronized (symbolTable) {
+      return symbolTable.size();
+    }
   }
 
   public static SBlock newBlock(final SMethod method, final SClass blockClass,
@@ -426,6 +603,12 @@ public final class Universe {
     }
   }
 
+  @TruffleBoundary
+  public static SMethod newLazyMethod(final SSymbol signature,
+      final LazyMethod lazyMethod) {
+    return new SMethod(signature, lazyMethod);
+  }
+
   public static SObject newInstance(final SClass instanceClass) {
     return SObject.create(instanceClass);
   }
@@ -441,7 +624,7 @@ public final class Universe {
     return result;
   }
 
-  private SSymbol newSymbol(final String string) {
+  private static SSymbol newSymbol(final String string) {
     SSymbol result = new SSymbol(string);
     symbolTable.put(string, result);
     return result;
@@ -500,6 +683,20 @@ public final class Universe {
     return assoc.getValue();
   }
 
+  /**
+   * @return the classes that are bound to globals
+   */
+  @TruffleBoundary
+  public List<SClass> getGlobalClasses() {
+    ArrayList<SClass> classes = new ArrayList<>();
+    for (Association assoc : globals.values()) {
+      if (assoc.getValue() instanceof SClass) {
+        classes.add((SClass) assoc.getValue());
+      }
+    }
+    return classes;
+  }
+
   @TruffleBoundary
   public Association getGlobalsAssociation(final SSymbol name) {
     return globals.get(name);
@@ -513,13 +710,59 @@ public final class Universe {
   public void setGlobal(final SSymbol name, final Object value) {
     Association assoc = globals.get(name);
     if (assoc == null) {
-      assoc = new Association(name, value);
+      // reuse the association of a removed global, it might still be cached
+      assoc = removedGlobals.remove(name);
+      if (assoc == null) {
+        assoc = new Association(name, value);
+      } else {
+        assoc.setValue(value);
+      }
       globals.put(name, assoc);
     } else {
       assoc.setValue(value);
     }
   }
 
+  /**
+   * Remember the current globals, to be able to go back to them with
+   * {@link #resetUserGlobals()}.
+   */
+  @TruffleBoundary
+  public void markSystemGlobals() {
+    systemGlobals = new HashMap<>();
+    for (Association assoc : globals.values()) {
+      systemGlobals.put(assoc.getKey(), assoc.getValue());
+    }
+  }
+
+  /**
+   * Remove the globals defined since {@link #markSystemGlobals()}, and
+   * restore the ones that were changed. Loaded classes are kept, so that
+   * their methods do not need to be compiled again.
+   * Code that already read a removed global sees it as nil.
+   */
+  @TruffleBoundary
+  public void resetUserGlobals() {
+    Iterator<Association> i = globals.values().iterator();
+    while (i.hasNext()) {
+      Association assoc = i.next();
+      SSymbol name = assoc.getKey();
+      Object value = assoc.getValue();
+
+      if (systemGlobals.containsKey(name)) {
+        Object systemValue = systemGlobals.get(name);
+        if (value != systemValue) {
+          assoc.setValue(systemValue);
+        }
+      } else if (!(value instanceof SClass)
+          || ((SClass) value).getName() != name) {
+        assoc.setValue(Nil.nilObject);
+        removedGlobals.put(name, assoc);
+        i.remove();
+      }
+    }
+  }
+
   public SClass getBlockClass(final int numberOfArguments) {
     SClass result = blockClasses[numberOfArguments];
     assert result != null || numberOfArguments == 0;
@@ -538,7 +781,7 @@ public final class Universe {
 
     // Add the appropriate value primitive to the block class
     result.addInstancePrimitive(SBlock.getEvaluationPrimitive(
-        numberOfArguments, this, result), true);
+        numberOfArguments, result), true);
 
     // Insert the block class into the dictionary of globals
     setGlobal(name, result);
@@ -586,27 +829,91 @@ public final class Universe {
     loadPrimitives(result, true);
   }
 
+  /**
+   * Load a class that is implemented by primitives. A definition on the
+   * class path is optional, and can add methods implemented in SOM.
+   */
+  @TruffleBoundary
+  private void loadVmClass(final SClass vmClass) {
+    loadClass(vmClass.getName(), vmClass);
+    loadPrimitives(vmClass, true);
+  }
+
   @TruffleBoundary
   private SClass loadClass(final SSymbol name, final SClass systemClass) {
-    // Try loading the class from all different paths
-    for (String cpEntry : classPath) {
+    if (classPathIndex == null) {
+      long start = StartupStatistics.start();
       try {
-        // Load the class from a file and return the loaded class
-        SClass result = som.compiler.SourcecodeCompiler.compileClass(cpEntry,
-            name.getString(), systemClass, this);
-        if (printAST) {
-          Disassembler.dump(result.getSOMClass());
-          Disassembler.dump(result);
-        }
-        return result;
-
-      } catch (IOException e) {
-        // Continue trying different paths
+        classPathIndex = new ClassPath(classPath);
+      } finally {
+        StartupStatistics.stop(Phase.CLASS_PATH, start);
       }
     }
 
+    Source source;
+    try {
+      source = classPathIndex.getSource(name.getString());
+    } catch (IOException e) {
+      errorPrintln("Warning: Class " + name.getString()
+          + " could not be read: " + e.getMessage());
+      return null;
+    }
+
     // The class could not be found.
-    return null;
+    if (source == null) {
+      return null;
+    }
+
+    SClass result = som.compiler.SourcecodeCompiler.compileClass(source,
+        name.getString(), systemClass, this);
+    if (printAST) {
+      Disassembler.dump(result.getSOMClass());
+      Disassembler.dump(result);
+    }
+    return result;
+  }
+
+  /**
+   * Load a class from the given source, independent of the class path,
+   * and define it as a global. A source is only compiled once.
+   */
+  @TruffleBoundary
+  public SClass loadClass(final Source source) {
+    SClass result = loadedSources.get(source);
+    if (result != null) { return result; }
+
+    result = som.compiler.SourcecodeCompiler.compileClass(source, null, this);
+    loadPrimitives(result, false);
+    setGlobal(result.getName(), result);
+    loadedSources.put(source, result);
+    if (printAST) { Disassembler.dump(result); }
+    return result;
+  }
+
+  /**
+   * Evaluate an expression with the given object as <code>self</code>.
+   * The expression is compiled as method of the class of the object, and
+   * only once for each class.
+   */
+  @TruffleBoundary
+  public Object evaluateExpression(final String expression, final Object self) {
+    SClass holder = Types.getClassOf(self);
+    HashMap<String, SInvokable> compiled = evaluatedExpressions.
+        computeIfAbsent(holder, c -> new HashMap<>());
+
+    SInvokable method = compiled.get(expression);
+    if (method == null) {
+      try {
+        method = som.compiler.SourcecodeCompiler.compileExpression(expression,
+            holder, this);
+      } catch (ParseError pe) {
+        errorExit(pe.toString());
+        // not reached, errorExit() either exits or throws
+        throw new IllegalStateException(pe.toString());
+      }
+      compiled.put(expression, method);
+    }
+    return method.invoke(self);
   }
 
   @TruffleBoundary
@@ -620,48 +927,35 @@ public final class Universe {
 
   public void setAvoidExit(final boolean value) {
     avoidExit = value;
+    lastExitCode = 0;
   }
 
-  @TruffleBoundary
   public static void errorPrint(final String msg) {
-    // Checkstyle: stop
-    System.err.print(msg);
-    // Checkstyle: resume
+    Output.err.print(msg);
   }
 
-  @TruffleBoundary
   public static void errorPrintln(final String msg) {
-    // Checkstyle: stop
-    System.err.println(msg);
-    // Checkstyle: resume
+    Output.err.println(msg);
   }
 
-  @TruffleBoundary
   public static void errorPrintln() {
-    // Checkstyle: stop
-    System.err.println();
-    // Checkstyle: resume
+    Output.err.println();
   }
 
-  @TruffleBoundary
   public static void print(final String msg) {
-    // Checkstyle: stop
-    System.out.print(msg);
-    // Checkstyle: resume
+    Output.out.print(msg);
   }
 
-  @TruffleBoundary
   public static void println(final String msg) {
-    // Checkstyle: stop
-    System.out.println(msg);
-    // Checkstyle: resume
+    Output.out.println(msg);
   }
 
-  @TruffleBoundary
   public static void println() {
-    // Checkstyle: stop
-    System.out.println();
-    // Checkstyle: resume
+    Output.out.println();
+  }
+
+  public static void flush() {
+    Output.flushAll();
   }
 
   public SObject getTrueObject()   { return trueObject; }
@@ -681,13 +975,21 @@ public final class Universe {
   @CompilationFinal private SClass  systemClass;
 
   private final HashMap<SSymbol, Association>   globals;
+  private final HashMap<SSymbol, Association>   removedGlobals = new HashMap<>();
+  private HashMap<SSymbol, Object>              systemGlobals;
 
   private String[]                              classPath;
+  private final HashMap<SClass, HashMap<String, SInvokable>> evaluatedExpressions =
+      new HashMap<>();
+  private final HashMap<Source, SClass>         loadedSources = new HashMap<>();
+  private ClassPath                             classPathIndex;
   @CompilationFinal private boolean             printAST;
 
   private final TruffleRuntime                  truffleRuntime;
 
-  private final HashMap<String, SSymbol>        symbolTable;
+  // Symbols are shared by all universes, so that the methods of the shared
+  // core classes can compare them by identity
+  private static final HashMap<String, SSymbol> symbolTable = new HashMap<>();
 
   // TODO: this is not how it is supposed to be... it is just a hack to cope
   //       with the use of system.exit in SOM to enable testing
@@ -697,21 +999,90 @@ public final class Universe {
   // Optimizations
   private final SClass[] blockClasses;
 
-  // Latest instance
-  // WARNING: this is problematic with multiple interpreters in the same VM...
-  @CompilationFinal private static Universe current;
+  // The universe that loaded the core classes, which are shared by all
+  // universes, and the globals it defined for them
+  private static Universe                 kernel;
+  private static HashMap<SSymbol, Object> kernelGlobals;
+
+  private static final ThreadLocal<Universe> current = new ThreadLocal<>();
+  private static Universe defaultUniverse;
+  private static int      numberOfUniverses;
+  private static final Assumption singleUniverse =
+      Truffle.getRuntime().createAssumption("Single Universe");
+
   @CompilationFinal private boolean alreadyInitialized;
 
   @CompilationFinal private boolean objectSystemInitialized = false;
+  private boolean loadingKernel;
 
   public boolean isObjectSystemInitialized() {
     return objectSystemInitialized;
   }
 
+  /**
+   * @return whether the classes loaded now are part of the kernel, which is
+   *         shared by all universes
+   */
+  public boolean isLoadingKernel() {
+    return loadingKernel;
+  }
+
+  /**
+   * @return the universe bound to the current thread, or the default
+   *         universe, if there is none
+   */
+  @TruffleBoundary
   public static Universe current() {
-    if (current == null) {
-      current = new Universe();
+    Universe universe = current.get();
+    if (universe != null) {
+      return universe;
+    }
+    return getDefault();
+  }
+
+  private static synchronized Universe getDefault() {
+    if (defaultUniverse == null) {
+      defaultUniverse = create();
+    }
+    return defaultUniverse;
+  }
+
+  /**
+   * Create a new universe. A universe has its own globals, and loads the
+   * classes that are not part of the kernel separately, with their own
+   * class-side state.
+   * The kernel classes, i.e., the classes loaded with the kernel, including
+   * the block classes, their class-side state, and the symbol table are
+   * shared by all universes. Symbols are immutable, and the same in all
+   * universes.
+   * The <code>interpret</code> methods bind it to the thread while they
+   * execute code, other code needs to bind it with
+   * {@link #setCurrent(Universe)}.
+   */
+  public static synchronized Universe create() {
+    numberOfUniverses += 1;
+    if (numberOfUniverses > 1) {
+      singleUniverse.invalidate();
     }
-    return current;
+    return new Universe();
+  }
+
+  /**
+   * Bind a universe to the current thread.
+   *
+   * @return the previously bound universe, or null
+   */
+  public static Universe setCurrent(final Universe universe) {
+    Universe previous = current.get();
+    current.set(universe);
+    return previous;
+  }
+
+  /**
+   * @return whether the universe is the current one, which is trivially
+   *         true as long as there is only a single universe
+   */
+  public static boolean isCurrent(final Universe universe) {
+    return singleUniverse.isValid() || universe == current();
   }
 }
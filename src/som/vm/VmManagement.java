@@ -0,0 +1,168 @@
+package som.vm;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+
+/**
+ * Counts events in the VM, and exposes the counts as MXBean on the platform
+ * MBean server, where they can be read with JMX clients such as
+ * <code>jconsole</code> while a program runs.
+ *
+ * Enabled with <code>-Dsom.management=true</code>. The events are counted
+ * when they happen, which for allocations and non-local returns adds a call
+ * to otherwise compiled code, so the counters are off by default.
+ *
+ * The counters, like the symbol table, are shared by all universes in the
+ * JVM, for instance the ones of the server's tenants. Thus, there is a
+ * single MXBean, which is registered by the first universe that initializes
+ * its object system, and reports the totals of all universes.
+ */
+public final class VmManagement implements VmManagementMXBean {
+
+  public static final String OBJECT_NAME = "som.vm:type=VirtualMachine";
+
+  private static final LongAdder classesLoaded      = new LongAdder();
+  private static final LongAdder layoutTransitions  = new LongAdder();
+  private static final LongAdder megamorphicSites   = new LongAdder();
+  private static final LongAdder callTargets        = new LongAdder();
+  private static final LongAdder objectsAllocated   = new LongAdder();
+  private static final LongAdder arraysAllocated    = new LongAdder();
+  private static final LongAdder nonLocalReturns    = new LongAdder();
+  private static final LongAdder transfers          = new LongAdder();
+  private static final LongAdder invalidations      = new LongAdder();
+
+  private static VmManagement registered;
+
+  /**
+   * Register the MXBean, if management is enabled and it is not yet
+   * registered.
+   */
+  public static synchronized void register() {
+    if (!VmSettings.MANAGEMENT || registered != null) {
+      return;
+    }
+
+    registered = new VmManagement();
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(registered,
+          new ObjectName(OBJECT_NAME));
+    } catch (JMException e) {
+      Universe.errorPrintln("Warning: Could not register " + OBJECT_NAME
+          + ": " + e.getMessage());
+    }
+  }
+
+  public static void countClassLoaded() {
+    if (VmSettings.MANAGEMENT) {
+      increment(classesLoaded);
+    }
+  }
+
+  public static void countLayoutTransition() {
+    if (VmSettings.MANAGEMENT) {
+      increment(layoutTransitions);
+    }
+  }
+
+  public static void countMegamorphicSite() {
+    if (VmSettings.MANAGEMENT) {
+      increment(megamorphicSites);
+    }
+  }
+
+  public static void countCallTarget() {
+    if (VmSettings.MANAGEMENT) {
+      increment(callTargets);
+    }
+  }
+
+  public static void countObjectAllocation() {
+    if (VmSettings.MANAGEMENT) {
+      increment(objectsAllocated);
+    }
+  }
+
+  public static void countArrayAllocation() {
+    if (VmSettings.MANAGEMENT) {
+      increment(arraysAllocated);
+    }
+  }
+
+  public static void countNonLocalReturn() {
+    if (VmSettings.MANAGEMENT) {
+      increment(nonLocalReturns);
+    }
+  }
+
+  public static void countTransferToInterpreter(final boolean invalidate) {
+    if (VmSettings.MANAGEMENT) {
+      increment(transfers);
+      if (invalidate) {
+        increment(invalidations);
+      }
+    }
+  }
+
+  @TruffleBoundary
+  private static void increment(final LongAdder counter) {
+    counter.increment();
+  }
+
+  private VmManagement() { }
+
+  @Override
+  public long getClassesLoaded() {
+    return classesLoaded.sum();
+  }
+
+  @Override
+  public int getSymbolsInterned() {
+    return Universe.getNumberOfSymbols();
+  }
+
+  @Override
+  public long getLayoutTransitions() {
+    return layoutTransitions.sum();
+  }
+
+  @Override
+  public long getMegamorphicSites() {
+    return megamorphicSites.sum();
+  }
+
+  @Override
+  public long getCallTargetsCreated() {
+    return callTargets.sum();
+  }
+
+  @Override
+  public long getObjectsAllocated() {
+    return objectsAllocated.sum();
+  }
+
+  @Override
+  public long getArraysAllocated() {
+    return arraysAllocated.sum();
+  }
+
+  @Override
+  public long getNonLocalReturns() {
+    return nonLocalReturns.sum();
+  }
+
+  @Override
+  public long getTransfersToInterpreter() {
+    return transfers.sum();
+  }
+
+  @Override
+  public long getInvalidations() {
+    return invalidations.sum();
+  }
+}
@@ -0,0 +1,49 @@
+package som.vm;
+
+
+/**
+ * Counters of the SOM VM, exposed over JMX as
+ * <code>som.vm:type=VirtualMachine</code>, see {@link VmManagement}.
+ * The counts are the totals of all universes in the JVM.
+ */
+public interface VmManagementMXBean {
+
+  /** @return the number of classes compiled from SOM sources */
+  long getClassesLoaded();
+
+  /** @return the number of symbols in the symbol table of all universes */
+  int getSymbolsInterned();
+
+  /**
+   * @return the number of times a class changed the layout of its instances,
+   *         because a field was initialized or generalized
+   */
+  long getLayoutTransitions();
+
+  /**
+   * @return the number of dispatch chains that exceeded the inline cache
+   *         and were replaced by a generic lookup
+   */
+  long getMegamorphicSites();
+
+  /** @return the number of call targets created for methods and blocks */
+  long getCallTargetsCreated();
+
+  /** @return the number of objects instantiated with <code>new</code> */
+  long getObjectsAllocated();
+
+  /** @return the number of arrays instantiated with <code>new:</code> */
+  long getArraysAllocated();
+
+  /** @return the number of non-local returns out of blocks */
+  long getNonLocalReturns();
+
+  /**
+   * @return the number of transfers from compiled code to the interpreter,
+   *         including the ones that invalidated compiled code
+   */
+  long getTransfersToInterpreter();
+
+  /** @return the number of transfers to the interpreter that invalidated code */
+  long getInvalidations();
+}
@@ -0,0 +1,126 @@
+package som.vm;
+
+
+/**
+ * Global configuration of the VM.
+ *
+ * The settings are read once from system properties at class initialization
+ * time, and are static final to allow the compiler to fold them.
+ * They can be set on the command line with for instance
+ * <code>-Dsom.bytecodes=true</code>.
+ */
+public final class VmSettings {
+
+  /**
+   * Execute methods with the bytecode interpreter instead of the self-
+   * optimizing AST interpreter. This is meant for running on a standard
+   * JVM without Graal, where the overhead of the AST dispatch dominates.
+   */
+  public static final boolean USE_BYTECODES = getBool("som.bytecodes", false);
+
+  /**
+   * Parse only the signatures of methods when loading a class, and build the
+   * AST of a method on its first invocation. Disabling it reports syntax
+   * errors in method bodies already when a class is loaded.
+   */
+  public static final boolean LAZY_METHOD_PARSING = getBool("som.lazyParsing", true);
+
+  /**
+   * Number of times a global can be changed before it is not treated as a
+   * constant by compiled code anymore.
+   */
+  public static final int GLOBAL_CHANGE_LIMIT = getInt("som.globalChangeLimit", 10);
+
+  /**
+   * Write the output of programs immediately, instead of collecting it in a
+   * buffer. Useful to see the progress of interactive programs.
+   */
+  public static final boolean UNBUFFERED_OUTPUT = getBool("som.unbufferedOutput", false);
+
+  /**
+   * Count the transfers to the interpreter by reason and SOM source
+   * location, see {@link som.interpreter.DeoptStatistics}.
+   */
+  public static final boolean DEOPT_STATISTICS = getBool("som.deoptStats", false);
+
+  /**
+   * Count the executions of message sends, block evaluations, and performs,
+   * to list the call sites with their dispatch chains on exit, see
+   * {@link som.interpreter.CallSiteReport}.
+   */
+  public static final boolean CALL_SITE_REPORT = getBool("som.callSiteReport", false);
+
+  /**
+   * Sample the SOM call stack while the program runs, and write the
+   * samples as collapsed stacks for flame graphs on exit, see
+   * {@link som.interpreter.SamplingProfiler}.
+   */
+  public static final boolean PROFILE = getBool("som.profile", false);
+
+  /** Milliseconds between two samples of the profiler. */
+  public static final int PROFILE_INTERVAL = getPositiveInt("som.profileInterval", 10);
+
+  /** File the collapsed stacks of the profiler are written to. */
+  public static final String PROFILE_FILE = System.getProperty(
+      "som.profileFile", "som-profile.collapsed");
+
+  /**
+   * Count the allocations of objects, arrays, and blocks by class and
+   * location, see {@link som.interpreter.AllocationProfiler}.
+   */
+  public static final boolean ALLOCATION_STATISTICS = getBool("som.allocationStats", false);
+
+  /** Record only every n-th allocation for the allocation statistics. */
+  public static final int ALLOCATION_SAMPLING = getPositiveInt("som.allocationSampling", 1);
+
+  /**
+   * Write the ASTs of the executed methods with the specialization state of
+   * their nodes on exit, as <code>json</code> or as Graphviz <code>dot</code>
+   * graph, see {@link som.interpreter.AstDump}.
+   */
+  public static final String AST_DUMP = System.getProperty("som.astDump");
+
+  /** File the AST dump is written to. */
+  public static final String AST_DUMP_FILE = System.getProperty(
+      "som.astDumpFile", "som-ast." + AST_DUMP);
+
+  /**
+   * Count classes, symbols, layout transitions, megamorphic sites, call
+   * targets, allocations, non-local returns, and deoptimizations, and expose
+   * them as MXBean, see {@link VmManagement}.
+   */
+  public static final boolean MANAGEMENT = getBool("som.management", false);
+
+  /**
+   * Measure the phases of the startup until the first method of the program
+   * is entered, and print them on exit, see {@link StartupStatistics}.
+   */
+  public static final boolean STARTUP_STATISTICS = getBool("som.startupStats", false);
+
+  private static boolean getBool(final String property, final boolean defaultValue) {
+    String value = System.getProperty(property);
+    if (value == null) {
+      return defaultValue;
+    }
+    return Boolean.parseBoolean(value);
+  }
+
+  private static int getInt(final String property, final int defaultValue) {
+    String value = System.getProperty(property);
+    if (value == null) {
+      return defaultValue;
+    }
+    return Integer.parseInt(value);
+  }
+
+  private static int getPositiveInt(final String property, final int defaultValue) {
+    int value = getInt(property, defaultValue);
+    if (value < 1) {
+      throw new IllegalArgumentException(
+          "-D" + property + " has to be at least 1, but is " + value);
+    }
+    return value;
+  }
+
+  private VmSettings() { }
+}
@@ -20,6 +20,10 @@ public final class Classes {
 
   public static final SClass  booleanClass;
 
+  // implemented by the VM, the core library does not need to define it
+  public static final SClass  fileClass;
+  public static final SClass  stringStreamClass;
+
   // These classes can be statically preinitialized.
   static {
     // Allocate the Metaclass classes
@@ -38,5 +42,7 @@ public final class Classes {
     stringClass     = Universe.newSystemClass();
     doubleClass     = Universe.newSystemClass();
     booleanClass    = Universe.newSystemClass();
+    fileClass       = Universe.newSystemClass();
+    stringStreamClass = Universe.newSystemClass();
   }
 }
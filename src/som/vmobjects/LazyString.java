@@ -0,0 +1,196 @@
+package som.vmobjects;
+
+import java.util.ArrayDeque;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+
+/**
+ * A string that is not copied into a flat <code>java.lang.String</code>
+ * until it is needed, for instance to hash, compare, or print it.
+ *
+ * A {@link Slice} is a substring that refers to the characters of its
+ * parent string. A {@link Rope} is the concatenation of two strings, which
+ * avoids copying the left side again and again when a string is built by
+ * repeated concatenation.
+ *
+ * Like Strings, lazy strings are instances of the String class. Primitives
+ * that do not handle them explicitly get the flat string by an implicit
+ * cast in {@link som.interpreter.Types}. Once flattened, the flat string is
+ * kept and the parts are dropped.
+ *
+ * Lazy strings are shared between threads, for instance by the requests of
+ * the server. The flat string is published before the parts are dropped,
+ * and the fields are volatile, so a thread that finds a part dropped finds
+ * the flat string instead.
+ */
+public abstract class LazyString implements CharSequence {
+
+  /** Shorter substrings are copied, which is cheaper than a slice. */
+  public static final int MIN_SLICE_LENGTH = 32;
+
+  /** Shorter concatenations are copied, to avoid deep ropes of tiny parts. */
+  public static final int MIN_ROPE_LENGTH = 128;
+
+  private final int length;
+  private volatile String flat;
+
+  protected LazyString(final int length) {
+    this.length = length;
+  }
+
+  /**
+   * @return a String for short substrings, a slice otherwise
+   */
+  @TruffleBoundary
+  public static CharSequence substring(final CharSequence str,
+      final int start, final int end) {
+    if (start < 0 || end > str.length() || start > end) {
+      throw new StringIndexOutOfBoundsException(
+          "start " + start + ", end " + end + ", length " + str.length());
+    }
+
+    String parent = str instanceof Slice ? ((Slice) str).parent : null;
+    int offset;
+    if (parent != null) {
+      // slice the parent, so that slices are never nested
+      offset = ((Slice) str).start;
+    } else {
+      parent = str.toString();
+      offset = 0;
+    }
+
+    if (end - start < MIN_SLICE_LENGTH) {
+      return parent.substring(offset + start, offset + end);
+    }
+    return new Slice(parent, offset + start, offset + end);
+  }
+
+  /**
+   * @return a String for short results, a rope otherwise
+   */
+  @TruffleBoundary
+  public static CharSequence concat(final CharSequence left,
+      final CharSequence right) {
+    int length = left.length() + right.length();
+    if (length < MIN_ROPE_LENGTH) {
+      return left.toString().concat(right.toString());
+    }
+    return new Rope(left, right, length);
+  }
+
+  @Override
+  public final int length() {
+    return length;
+  }
+
+  @Override
+  @TruffleBoundary
+  public char charAt(final int index) {
+    return toString().charAt(index);
+  }
+
+  @Override
+  public final CharSequence subSequence(final int start, final int end) {
+    return substring(this, start, end);
+  }
+
+  @Override
+  @TruffleBoundary
+  public final String toString() {
+    String result = flat;
+    if (result == null) {
+      StringBuilder builder = new StringBuilder(length);
+      appendTo(builder);
+      result = builder.toString();
+      // publish the flat string before the parts are gone
+      flat = result;
+      dropParts();
+    }
+    return result;
+  }
+
+  /**
+   * Append the characters to the builder, without flattening.
+   */
+  @TruffleBoundary
+  public final void appendTo(final StringBuilder builder) {
+    // ropes built in loops are deep, so traverse them without recursion
+    ArrayDeque<CharSequence> todo = new ArrayDeque<>();
+    todo.push(this);
+    while (!todo.isEmpty()) {
+      CharSequence str = todo.pop();
+      if (str instanceof Slice) {
+        Slice slice = (Slice) str;
+        String parent = slice.parent;
+        if (parent == null) {
+          // flattened, possibly by another thread
+          builder.append(((LazyString) str).flat);
+        } else {
+          builder.append(parent, slice.start, slice.start + slice.length());
+        }
+      } else if (str instanceof Rope) {
+        Rope rope = (Rope) str;
+        CharSequence left  = rope.left;
+        CharSequence right = rope.right;
+        if (left == null || right == null) {
+          builder.append(((LazyString) str).flat);
+        } else {
+          todo.push(right);
+          todo.push(left);
+        }
+      } else {
+        builder.append((String) str);
+      }
+    }
+  }
+
+  protected abstract void dropParts();
+
+  public static final class Slice extends LazyString {
+    private volatile String parent;
+    private final int       start;
+
+    private Slice(final String parent, final int start, final int end) {
+      super(end - start);
+      this.parent = parent;
+      this.start  = start;
+    }
+
+    @Override
+    @TruffleBoundary
+    public char charAt(final int index) {
+      String p = parent;
+      if (p == null) {
+        return super.charAt(index);
+      }
+      if (index < 0 || index >= length()) {
+        throw new StringIndexOutOfBoundsException(index);
+      }
+      return p.charAt(start + index);
+    }
+
+    @Override
+    protected void dropParts() {
+      parent = null;
+    }
+  }
+
+  public static final class Rope extends LazyString {
+    private volatile CharSequence left;
+    private volatile CharSequence right;
+
+    private Rope(final CharSequence left, final CharSequence right,
+        final int length) {
+      super(length);
+      this.left  = left;
+      this.right = right;
+    }
+
+    @Override
+    protected void dropParts() {
+      left  = null;
+      right = null;
+    }
+  }
+}
@@ -24,7 +24,7 @@ public abstract class SAbstractObject {
       final String selectorString,
       final Object[] arguments) {
     CompilerAsserts.neverPartOfCompilation("SAbstractObject.send()");
-    SSymbol selector = Universe.current().symbolFor(selectorString);
+    SSymbol selector = Universe.symbolFor(selectorString);
 
     // Lookup the invokable
     SInvokable invokable = Types.getClassOf(arguments[0]).lookupInvokable(selector);
@@ -44,4 +44,10 @@ public abstract class SAbstractObject {
     return send("escapedBlock:", arguments);
   }
 
+  public static final Object sendError(final Object receiver,
+      final String message) {
+    Object[] arguments = {receiver, message};
+    return send("error:", arguments);
+  }
+
 }
@@ -2,6 +2,7 @@ package som.vmobjects;
 
 import java.util.Arrays;
 
+import som.interpreter.AllocationProfiler;
 import som.vm.constants.Classes;
 import som.vm.constants.Nil;
 
@@ -18,22 +19,27 @@ public final class SArray extends SAbstractObject {
   public static final int FIRST_IDX = 0;
 
   public static SArray create(final Object[] values) {
+    AllocationProfiler.recordArray(null, values.length);
     return new SArray(values);
   }
 
   public static SArray create(final long[] values) {
+    AllocationProfiler.recordArray(null, values.length);
     return new SArray(values);
   }
 
   public static SArray create(final double[] values) {
+    AllocationProfiler.recordArray(null, values.length);
     return new SArray(values);
   }
 
   public static SArray create(final boolean[] values) {
+    AllocationProfiler.recordArray(null, values.length);
     return new SArray(values);
   }
 
   public static SArray create(final int length) {
+    AllocationProfiler.recordArray(null, length);
     return new SArray(length);
   }
 
@@ -62,19 +62,19 @@ public final class SBlock extends SAbstractObject {
   }
 
   public static SInvokable getEvaluationPrimitive(final int numberOfArguments,
-      final Universe universe, final SClass rcvrClass) {
+      final SClass rcvrClass) {
     CompilerAsserts.neverPartOfCompilation("SBlock.getEvaluationPrimitive(...)");
-    SSymbol sig = universe.symbolFor(computeSignatureString(numberOfArguments));
+    SSymbol sig = Universe.symbolFor(computeSignatureString(numberOfArguments));
 
     switch (numberOfArguments) {
       case 1: return Primitives.constructPrimitive(sig,
-          ValueNonePrimFactory.getInstance(), universe, rcvrClass);
+          ValueNonePrimFactory.getInstance(), rcvrClass);
       case 2: return Primitives.constructPrimitive(sig,
-          ValueOnePrimFactory.getInstance(), universe, rcvrClass);
+          ValueOnePrimFactory.getInstance(), rcvrClass);
       case 3: return Primitives.constructPrimitive(sig,
-          ValueTwoPrimFactory.getInstance(), universe, rcvrClass);
+          ValueTwoPrimFactory.getInstance(), rcvrClass);
       case 4: return Primitives.constructPrimitive(sig,
-          ValueMorePrimFactory.getInstance(), universe, rcvrClass);
+          ValueMorePrimFactory.getInstance(), rcvrClass);
       default:
         throw new RuntimeException("Should not reach here. SOM only has blocks with up to 2 arguments.");
     }
@@ -26,17 +26,19 @@ package som.vmobjects;
 
 import static som.interpreter.TruffleCompiler.transferToInterpreterAndInvalidate;
 
-import java.lang.reflect.Constructor;
 import java.util.HashMap;
 
 import som.interpreter.objectstorage.ObjectLayout;
-import som.primitives.Primitives;
+import som.primitives.PrimitiveRegistry;
+import som.primitives.PrimitiveRegistry.PrimitivesFactory;
+import som.vm.StartupStatistics;
+import som.vm.StartupStatistics.Phase;
 import som.vm.Universe;
+import som.vm.VmManagement;
 import som.vm.constants.Nil;
 import som.vmobjects.SInvokable.SPrimitive;
 
 import com.oracle.truffle.api.CompilerAsserts;
-import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.profiles.ValueProfile;
@@ -231,24 +233,19 @@ public final class SClass extends SObject {
   public void loadPrimitives(final boolean displayWarning) {
     CompilerAsserts.neverPartOfCompilation();
 
-    // Compute the class name of the Java(TM) class containing the
-    // primitives
-    String className = "som.primitives." + getName().getString() + "Primitives";
-
-    // Try loading the primitives
+    long start = StartupStatistics.start();
     try {
-      Class<?> primitivesClass = Class.forName(className);
-      try {
-        Constructor<?> ctor = primitivesClass.getConstructor(boolean.class);
-        ((Primitives) ctor.newInstance(displayWarning)).installPrimitivesIn(this);
-      } catch (Exception e) {
-        Universe.errorExit("Primitives class " + className
-            + " cannot be instantiated");
-      }
-    } catch (ClassNotFoundException e) {
-      if (displayWarning) {
-        Universe.println("Primitives class " + className + " not found");
+      PrimitivesFactory factory = PrimitiveRegistry.get(getName().getString());
+      if (factory == null) {
+        if (displayWarning) {
+          Universe.println("No primitives registered for class "
+              + getName().getString());
+        }
+      } else {
+        factory.create(displayWarning).installPrimitivesIn(this);
       }
+    } finally {
+      StartupStatistics.stop(Phase.PRIMITIVES, start);
     }
   }
 
@@ -260,8 +257,9 @@ public final class SClass extends SObject {
     ObjectLayout updated = layoutForInstances.withInitializedField(index, type);
 
     if (updated != layoutForInstances) {
-      CompilerDirectives.transferToInterpreterAndInvalidate();
+      transferToInterpreterAndInvalidate("SClass.updateInstanceLayoutWithInitializedField");
       layoutForInstances = updated;
+      VmManagement.countLayoutTransition();
     }
     return layoutForInstances;
   }
@@ -270,8 +268,9 @@ public final class SClass extends SObject {
     ObjectLayout updated = layoutForInstances.withGeneralizedField(index);
 
     if (updated != layoutForInstances) {
-      CompilerDirectives.transferToInterpreterAndInvalidate();
+      transferToInterpreterAndInvalidate("SClass.updateInstanceLayoutWithGeneralizedField");
       layoutForInstances = updated;
+      VmManagement.countLayoutTransition();
     }
     return layoutForInstances;
   }
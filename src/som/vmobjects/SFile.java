@@ -0,0 +1,154 @@
+package som.vmobjects;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import som.vm.Output;
+import som.vm.constants.Classes;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+
+/**
+ * A file for SOM programs.
+ *
+ * Its contents are read through a memory mapping, which is created on the
+ * first read and kept until the file is written or closed, so that reading
+ * does not need to copy the data into an intermediate buffer.
+ * Writing goes through a buffer, and replaces the previous contents with
+ * the first write after opening or closing. Files that are not closed are
+ * flushed when the VM exits.
+ */
+public final class SFile extends SAbstractObject {
+
+  /** The files with a writer, which still may have buffered output. */
+  private static final Set<SFile> openFiles = new LinkedHashSet<>();
+
+  private final Path path;
+
+  private MappedByteBuffer contents;
+  private BufferedWriter   writer;
+
+  /**
+   * @throws java.nio.file.InvalidPathException if the path is not valid
+   */
+  public SFile(final String path) {
+    this.path = Paths.get(path);
+  }
+
+  public String getPath() {
+    return path.toString();
+  }
+
+  @TruffleBoundary
+  public boolean exists() {
+    return Files.exists(path);
+  }
+
+  @TruffleBoundary
+  public long size() throws IOException {
+    return Files.size(path);
+  }
+
+  @TruffleBoundary
+  public byte byteAt(final int index) throws IOException {
+    return getContents().get(index);
+  }
+
+  @TruffleBoundary
+  public long[] readBytes() throws IOException {
+    MappedByteBuffer buffer = getContents();
+    long[] result = new long[buffer.limit()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = buffer.get(i) & 0xFF;
+    }
+    return result;
+  }
+
+  @TruffleBoundary
+  public String readString() throws IOException {
+    return Charset.defaultCharset().decode(getContents().duplicate()).toString();
+  }
+
+  private MappedByteBuffer getContents() throws IOException {
+    if (contents == null) {
+      // read what was written so far
+      flush();
+
+      // the mapping stays valid after the channel is closed
+      try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        if (channel.size() > Integer.MAX_VALUE) {
+          throw new IOException("file larger than 2 GB");
+        }
+        contents = channel.map(MapMode.READ_ONLY, 0, channel.size());
+      }
+    }
+    return contents;
+  }
+
+  @TruffleBoundary
+  public void write(final String str) throws IOException {
+    contents = null;
+    if (writer == null) {
+      writer = Files.newBufferedWriter(path, Charset.defaultCharset());
+      synchronized (openFiles) {
+        openFiles.add(this);
+      }
+    }
+    writer.write(str);
+  }
+
+  @TruffleBoundary
+  public void flush() throws IOException {
+    if (writer != null) {
+      writer.flush();
+    }
+  }
+
+  @TruffleBoundary
+  public void close() throws IOException {
+    contents = null;
+    if (writer != null) {
+      synchronized (openFiles) {
+        openFiles.remove(this);
+      }
+      BufferedWriter w = writer;
+      writer = null;
+      w.close();
+    }
+  }
+
+  /**
+   * Flush the output of all files that were not closed.
+   */
+  @TruffleBoundary
+  public static void flushAll() {
+    SFile[] files;
+    synchronized (openFiles) {
+      files = openFiles.toArray(new SFile[openFiles.size()]);
+    }
+    for (SFile file : files) {
+      try {
+        file.flush();
+      } catch (IOException e) {
+        Output.err.println("Could not write " + file.path + ": "
+            + e.getMessage());
+      }
+    }
+  }
+
+  @Override
+  public SClass getSOMClass() {
+    return Classes.fileClass;
+  }
+}
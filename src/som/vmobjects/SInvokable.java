@@ -26,6 +26,7 @@
 package som.vmobjects;
 
 import static som.interpreter.TruffleCompiler.transferToInterpreterAndInvalidate;
+import som.compiler.LazyMethod;
 import som.interpreter.Invokable;
 import som.vm.constants.Classes;
 
@@ -43,8 +44,14 @@ public abstract class SInvokable extends SAbstractObject {
     this.callTarget  = invokable.createCallTarget();
   }
 
+  protected SInvokable(final SSymbol signature) {
+    this.signature = signature;
+  }
+
   public static final class SMethod extends SInvokable {
-    private final SMethod[] embeddedBlocks;
+    @CompilationFinal private SMethod[] embeddedBlocks;
+
+    private LazyMethod lazyMethod;
 
     public SMethod(final SSymbol signature, final Invokable invokable,
         final SMethod[] embeddedBlocks) {
@@ -52,15 +59,44 @@ public abstract class SInvokable extends SAbstractObject {
       this.embeddedBlocks = embeddedBlocks;
     }
 
+    /**
+     * Create a method of which only the signature is known.
+     * Its body is parsed on first use.
+     */
+    public SMethod(final SSymbol signature, final LazyMethod lazyMethod) {
+      super(signature);
+      this.lazyMethod = lazyMethod;
+    }
+
     public SMethod[] getEmbeddedBlocks() {
+      ensureParsed();
       return embeddedBlocks;
     }
 
+    @Override
+    protected synchronized void parseLazyMethod() {
+      if (lazyMethod == null) {
+        return; // already parsed by another thread
+      }
+      // throws on a syntax error, and leaves the method unparsed
+      SMethod parsed = lazyMethod.parse();
+      embeddedBlocks = parsed.embeddedBlocks;
+      if (getHolder() != null) {
+        for (SMethod m : embeddedBlocks) {
+          m.setHolder(getHolder());
+        }
+      }
+      setInvokable(parsed.getInvokable());
+      lazyMethod = null;
+    }
+
     @Override
     public void setHolder(final SClass value) {
       super.setHolder(value);
-      for (SMethod m : embeddedBlocks) {
-        m.setHolder(value);
+      if (embeddedBlocks != null) {
+        for (SMethod m : embeddedBlocks) {
+          m.setHolder(value);
+        }
       }
     }
 
@@ -84,13 +120,38 @@ public abstract class SInvokable extends SAbstractObject {
   }
 
   public final RootCallTarget getCallTarget() {
+    ensureParsed();
     return callTarget;
   }
 
   public final Invokable getInvokable() {
+    ensureParsed();
     return invokable;
   }
 
+  /**
+   * @return false for a lazily parsed method that was not used yet
+   */
+  public final boolean isParsed() {
+    return callTarget != null;
+  }
+
+  protected final void ensureParsed() {
+    if (callTarget == null) {
+      transferToInterpreterAndInvalidate("SInvokable.parseLazyMethod");
+      parseLazyMethod();
+    }
+  }
+
+  protected void parseLazyMethod() {
+    throw new IllegalStateException("Only methods can be parsed lazily.");
+  }
+
+  protected final void setInvokable(final Invokable invokable) {
+    this.invokable  = invokable;
+    this.callTarget = invokable.createCallTarget();
+  }
+
   public final SSymbol getSignature() {
     return signature;
   }
@@ -109,11 +170,11 @@ public abstract class SInvokable extends SAbstractObject {
   }
 
   public final Object invoke(final Object... arguments) {
-    return callTarget.call(arguments);
+    return getCallTarget().call(arguments);
   }
 
   public final Object invoke(final VirtualFrame frame, final IndirectCallNode node, final Object... arguments) {
-    return node.call(frame, callTarget, arguments);
+    return node.call(frame, getCallTarget(), arguments);
   }
 
   @Override
@@ -126,9 +187,12 @@ public abstract class SInvokable extends SAbstractObject {
     return "Method(" + getHolder().getName().getString() + ">>" + getSignature().toString() + ")";
   }
 
-  // Private variable holding Truffle runtime information
-  private final Invokable              invokable;
-  private final RootCallTarget         callTarget;
+  // Private variable holding Truffle runtime information,
+  // which is only set on first use for lazily parsed methods.
+  // The call target is set last, and is volatile, so that a thread that
+  // sees it also sees the invokable and the embedded blocks.
+  @CompilationFinal private Invokable               invokable;
+  @CompilationFinal private volatile RootCallTarget callTarget;
   private final SSymbol                signature;
   @CompilationFinal private SClass     holder;
 }
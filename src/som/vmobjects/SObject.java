@@ -29,6 +29,7 @@ import static som.interpreter.TruffleCompiler.transferToInterpreterAndInvalidate
 import java.lang.reflect.Field;
 import java.util.Arrays;
 
+import som.interpreter.AllocationProfiler;
 import som.interpreter.objectstorage.ObjectLayout;
 import som.interpreter.objectstorage.StorageLocation;
 import som.interpreter.objectstorage.StorageLocation.AbstractObjectStorageLocation;
@@ -36,9 +37,9 @@ import som.vm.Universe;
 import som.vm.constants.Nil;
 
 import com.oracle.truffle.api.CompilerAsserts;
-import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.Node;
 
 public class SObject extends SAbstractObject {
 
@@ -170,7 +171,7 @@ public class SObject extends SAbstractObject {
   }
 
   private void setLayoutAndTransferFields(final ObjectLayout layout) {
-    CompilerDirectives.transferToInterpreterAndInvalidate();
+    transferToInterpreterAndInvalidate("SObject.setLayoutAndTransferFields");
 
     Object[] fieldValues = getAllFields();
 
@@ -211,6 +212,16 @@ public class SObject extends SAbstractObject {
   }
 
   public static final SObject create(final SClass instanceClass) {
+    return create(instanceClass, null);
+  }
+
+  /**
+   * @param site the node that allocates the object, for the allocation
+   *        statistics, or null if the VM allocates it
+   */
+  public static final SObject create(final SClass instanceClass,
+      final Node site) {
+    AllocationProfiler.recordObject(site, instanceClass);
     return new SObject(instanceClass);
   }
 
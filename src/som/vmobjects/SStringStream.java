@@ -0,0 +1,61 @@
+package som.vmobjects;
+
+import som.vm.constants.Classes;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+
+/**
+ * A stream to assemble a string piece by piece.
+ *
+ * Concatenating strings copies both of them every time, so building a
+ * string in a loop takes quadratic time. The stream appends to a growable
+ * buffer instead, and copies its contents only when they are requested.
+ */
+public final class SStringStream extends SAbstractObject {
+
+  private final StringBuilder builder;
+
+  public SStringStream() {
+    builder = new StringBuilder();
+  }
+
+  @TruffleBoundary
+  public void append(final String str) {
+    builder.append(str);
+  }
+
+  @TruffleBoundary
+  public void append(final LazyString str) {
+    str.appendTo(builder);
+  }
+
+  @TruffleBoundary
+  public void append(final long value) {
+    builder.append(value);
+  }
+
+  @TruffleBoundary
+  public void append(final double value) {
+    builder.append(value);
+  }
+
+  @TruffleBoundary
+  public String getContents() {
+    return builder.toString();
+  }
+
+  public long size() {
+    return builder.length();
+  }
+
+  @TruffleBoundary
+  public void reset() {
+    builder.setLength(0);
+  }
+
+  @Override
+  public SClass getSOMClass() {
+    return Classes.stringStreamClass;
+  }
+}
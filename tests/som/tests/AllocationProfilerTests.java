@@ -0,0 +1,130 @@
+package som.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.oracle.truffle.api.source.Source;
+
+import som.interpreter.AllocationProfiler;
+import som.vm.Universe;
+import som.vm.VmSettings;
+import som.vm.constants.Nil;
+import som.vmobjects.SClass;
+
+
+/**
+ * Checks that the allocation statistics count the allocations of SOM code
+ * by class and location, and the ones of the VM by class.
+ *
+ * The setting is read once, when the VM starts, so the tests need their own
+ * JVM, which the test target forks for each test class.
+ */
+public class AllocationProfilerTests {
+
+  static {
+    System.setProperty("som.allocationStats", "true");
+  }
+
+  private static Universe universe;
+
+  @BeforeClass
+  public static void initializeUniverse() {
+    assertTrue("The allocation statistics need to be enabled before the VM "
+        + "is initialized, run the tests in a separate JVM",
+        VmSettings.ALLOCATION_STATISTICS);
+
+    universe = Universe.current();
+    universe.setAvoidExit(true);
+    universe.setupClassPath("Smalltalk");
+    universe.initializeObjectSystem();
+  }
+
+  /**
+   * @return the number of allocations in the given section of the report by
+   *         class or location
+   */
+  static Map<String, Long> counts(final String section) {
+    String report = AllocationProfiler.report();
+    int byLocation = report.indexOf("Allocations by location");
+    String part = section.equals("class") ? report.substring(0, byLocation)
+                                          : report.substring(byLocation);
+    Map<String, Long> result = new HashMap<>();
+    for (String line : part.split("\n")) {
+      String[] columns = line.trim().split("  +", 3);
+      if (columns.length == 3) {
+        result.put(columns[2], Long.parseLong(columns[0]));
+      }
+    }
+    return result;
+  }
+
+  private static long count(final String section, final String key) {
+    Long count = counts(section).get(key);
+    return count == null ? 0 : count;
+  }
+
+  /** Counts the allocations in the expressions, such as Nil>>#doIt expression:1. */
+  private static long countInExpressions() {
+    long result = 0;
+    for (Map.Entry<String, Long> e : counts("location").entrySet()) {
+      if (e.getKey().contains("#doIt expression")) {
+        result += e.getValue();
+      }
+    }
+    return result;
+  }
+
+  private static void evaluate(final String expression) {
+    universe.evaluateExpression(expression, Nil.nilObject);
+  }
+
+  @Test
+  public void testNewCountedByClassAndLocation() {
+    universe.loadClass(Source.fromText("Allocated = ( )", "Allocated"));
+    long atExpressions = countInExpressions();
+
+    evaluate("1 to: 5 do: [:i | Allocated new. Array new: 3 ]");
+
+    assertEquals(5, count("class", "Allocated"));
+    assertEquals(atExpressions + 10, countInExpressions());
+  }
+
+  @Test
+  public void testCopyCountedAtLocation() {
+    long arrays = count("class", "Array");
+    long atExpressions = countInExpressions();
+
+    evaluate("(Array new: 2) copy");
+
+    assertEquals(arrays + 2, count("class", "Array"));
+    assertEquals(atExpressions + 2, countInExpressions());
+  }
+
+  @Test
+  public void testVmAllocationsCountedByClass() {
+    long arrays = count("class", "Array");
+    long inVm   = count("location", AllocationProfiler.VM_LOCATION);
+
+    // the literal array is allocated when parsing, and split: allocates
+    // its result without a node
+    evaluate("#(1 2 3)");
+    evaluate("'a,b' split: ','");
+
+    assertEquals(arrays + 2, count("class", "Array"));
+    assertEquals(inVm + 2, count("location", AllocationProfiler.VM_LOCATION));
+  }
+
+  @Test
+  public void testVmObjectsCountedByClass() {
+    SClass created = universe.loadClass(Source.fromText("Created = ( )",
+        "Created"));
+    Universe.newInstance(created);
+    assertEquals(1, count("class", "Created"));
+  }
+}
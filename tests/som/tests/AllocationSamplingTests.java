@@ -0,0 +1,107 @@
+package som.tests;
+
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.oracle.truffle.api.source.Source;
+
+import som.interpreter.AllocationProfiler;
+import som.vm.Universe;
+import som.vm.VmSettings;
+import som.vmobjects.SClass;
+
+
+/**
+ * Checks that sampled allocations are extrapolated to the exact count when
+ * several threads allocate, and that the sampling interval is validated.
+ *
+ * The setting is read once, when the VM starts, so the tests need their own
+ * JVM, which the test target forks for each test class.
+ */
+public class AllocationSamplingTests {
+
+  private static final int SAMPLING = 4;
+
+  static {
+    System.setProperty("som.allocationStats", "true");
+    System.setProperty("som.allocationSampling", String.valueOf(SAMPLING));
+  }
+
+  @BeforeClass
+  public static void checkAllocationSamplingEnabled() {
+    assertTrue("The allocation sampling needs to be enabled before the VM "
+        + "is initialized, run the tests in a separate JVM",
+        VmSettings.ALLOCATION_STATISTICS
+        && VmSettings.ALLOCATION_SAMPLING == SAMPLING);
+  }
+
+  @Test
+  public void testSamplingIsExactWithConcurrentAllocations()
+      throws InterruptedException {
+    Universe u = Universe.current();
+    u.setAvoidExit(true);
+    u.setupClassPath("Smalltalk");
+    u.initializeObjectSystem();
+    SClass sampled = u.loadClass(Source.fromText("Sampled = ( )", "Sampled"));
+
+    int threads = 4;
+    int perThread = 10000;
+    List<Thread> allocating = new ArrayList<>();
+    for (int i = 0; i < threads; i++) {
+      Thread t = new Thread(() -> {
+        for (int j = 0; j < perThread; j++) {
+          Universe.newInstance(sampled);
+        }
+      });
+      allocating.add(t);
+      t.start();
+    }
+    for (Thread t : allocating) {
+      t.join();
+    }
+
+    // nothing else allocates meanwhile, so every 4th of the allocations is
+    // sampled, no matter how the threads interleave
+    String report = AllocationProfiler.report();
+    assertTrue(report, report.matches(
+        "(?s).*\\s" + threads * perThread + "\\s+\\d+  Sampled\n.*"));
+  }
+
+  @Test
+  public void testSamplingIntervalIsValidated()
+      throws IOException, InterruptedException {
+    List<String> command = new ArrayList<>();
+    command.add(System.getProperty("java.home") + File.separator + "bin"
+        + File.separator + "java");
+    command.add("-Dsom.allocationSampling=0");
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(Universe.class.getName());
+
+    Process process = new ProcessBuilder(command).redirectErrorStream(true).
+        start();
+    StringBuilder output = new StringBuilder();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+        process.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        output.append(line).append('\n');
+      }
+    }
+
+    assertNotEquals(0, process.waitFor());
+    assertTrue(output.toString(), output.toString().contains(
+        "-Dsom.allocationSampling has to be at least 1, but is 0"));
+  }
+}
@@ -0,0 +1,132 @@
+package som.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.oracle.truffle.api.source.Source;
+
+import som.interpreter.AstDump;
+import som.vm.Universe;
+import som.vm.constants.Nil;
+
+
+/**
+ * Dumps the ASTs of executed methods, and checks that the state of their
+ * nodes is included, in particular the active specializations of the nodes
+ * generated by the DSL.
+ */
+public class AstDumpTests {
+
+  private static final String DUMPED = "Dumped = (\n"
+      + "  | f |\n"
+      + "  add: a to: b = ( f := a. ^ a + b )\n"
+      + "  call: x = ( ^ x foo )\n"
+      + "  foo = ( ^ 1 )\n"
+      + "  notExecuted = ( ^ 2 )\n"
+      + ")\n";
+
+  private static Universe universe;
+
+  @BeforeClass
+  public static void runDumped() {
+    universe = Universe.current();
+    universe.setAvoidExit(true);
+    universe.setupClassPath("Smalltalk");
+    universe.initializeObjectSystem();
+    universe.loadClass(Source.fromText(DUMPED, "Dumped"));
+    universe.loadClass(Source.fromText("Other = ( foo = ( ^ 3 ) )", "Other"));
+
+    universe.evaluateExpression("Dumped new add: 1 to: 2", Nil.nilObject);
+    universe.evaluateExpression("Dumped new call: Dumped new", Nil.nilObject);
+    universe.evaluateExpression("Dumped new call: Other new", Nil.nilObject);
+  }
+
+  /**
+   * @return the part of the dump that belongs to the given method
+   */
+  private static String method(final String dump, final String method) {
+    int start = dump.indexOf(method);
+    assertTrue(dump, start >= 0);
+    int end = dump.indexOf("{\"method\": ", start);
+    return dump.substring(start, end < 0 ? dump.length() : end);
+  }
+
+  @Test
+  public void testJsonContainsSpecializations() {
+    String add = method(AstDump.dump(universe, AstDump.JSON),
+        "Method(Dumped>>#add:to:)");
+    assertTrue(add, add.contains("{\"node\": \"AdditionPrimNodeGen\", "
+        + "\"cost\": \"MONOMORPHIC\", \"childField\": \"primitive\", "
+        + "\"specializations\": [\"doLong(long, long)\"]}"));
+    assertTrue(add, add.contains("\"node\": \"FieldWriteNodeGen\""));
+    assertTrue(add, add.contains("\"fieldIndex\": 0, "
+        + "\"storage\": \"LongDirectStoreLocation\""));
+  }
+
+  @Test
+  public void testSpecializationNodesAreSummarized() {
+    String dump = AstDump.dump(universe, AstDump.JSON);
+    // the generated specialization nodes are not listed as children
+    assertFalse(dump, dump.matches("(?s).*\"node\": \"\\w+Node_\".*"));
+  }
+
+  @Test
+  public void testJsonContainsDispatchChain() {
+    String call = method(AstDump.dump(universe, AstDump.JSON),
+        "Method(Dumped>>#call:)");
+    assertTrue(call, call.contains("\"cost\": \"POLYMORPHIC\""));
+    assertTrue(call, call.contains("\"selector\": \"foo\""));
+    assertTrue(call, call.contains("\"receiver\": \"Dumped\""));
+    assertTrue(call, call.contains("\"receiver\": \"Other\""));
+  }
+
+  @Test
+  public void testUnexecutedMethodsAreNotDumped() {
+    String dump = AstDump.dump(universe, AstDump.JSON);
+    assertFalse(dump.contains("#notExecuted"));
+  }
+
+  @Test
+  public void testJsonIsBalanced() {
+    String dump = AstDump.dump(universe, AstDump.JSON);
+    assertTrue(dump.startsWith("{\"methods\": ["));
+    int depth = 0;
+    boolean inString = false;
+    for (int i = 0; i < dump.length(); i++) {
+      char c = dump.charAt(i);
+      if (inString) {
+        if (c == '\\') {
+          i++;
+        } else if (c == '"') {
+          inString = false;
+        }
+      } else if (c == '"') {
+        inString = true;
+      } else if (c == '{' || c == '[') {
+        depth++;
+      } else if (c == '}' || c == ']') {
+        depth--;
+        assertTrue(depth >= 0);
+      }
+    }
+    assertFalse(inString);
+    assertEquals(0, depth);
+  }
+
+  @Test
+  public void testDot() {
+    String dot = AstDump.dump(universe, AstDump.DOT);
+    assertTrue(dot, dot.startsWith("digraph ast {\n"));
+    assertTrue(dot, dot.endsWith("}\n"));
+    assertTrue(dot, dot.contains("label=\"Method(Dumped>>#add:to:)\";"));
+    assertTrue(dot, dot.matches(
+        "(?s).*\\[label=\"AdditionPrimNodeGen\\\\nmonomorphic\\\\n"
+        + "doLong\\(long, long\\)\"\\];.*"));
+    // polymorphic nodes are highlighted
+    assertTrue(dot, dot.contains(", color=orange];"));
+  }
+}
@@ -0,0 +1,115 @@
+package som.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import som.vm.BenchmarkHarness;
+
+
+/**
+ * Checks the statistics of the benchmark harness, and the comparison of
+ * results with a baseline.
+ */
+public class BenchmarkHarnessTests {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testMedianOfOddNumberOfValues() {
+    assertEquals(3.0, BenchmarkHarness.median(new long[] {5, 1, 3}), 0);
+    assertEquals(7.0, BenchmarkHarness.median(new long[] {7}), 0);
+  }
+
+  @Test
+  public void testMedianOfEvenNumberOfValues() {
+    assertEquals(2.5, BenchmarkHarness.median(new long[] {4, 1, 3, 2}), 0);
+    assertEquals(4.5, BenchmarkHarness.median(new long[] {4, 5}), 0);
+  }
+
+  @Test
+  public void testMedianDoesNotSortValues() {
+    long[] values = {3, 1, 2};
+    BenchmarkHarness.median(values);
+    assertEquals(3, values[0]);
+  }
+
+  @Test
+  public void testStandardDeviation() {
+    // the sample standard deviation, divided by n - 1
+    assertEquals(Math.sqrt(32.0 / 7), BenchmarkHarness.standardDeviation(
+        new long[] {2, 4, 4, 4, 5, 5, 7, 9}), 1e-9);
+    assertEquals(0.0, BenchmarkHarness.standardDeviation(
+        new long[] {6, 6, 6}), 0);
+    assertEquals(0.0, BenchmarkHarness.standardDeviation(new long[] {6}), 0);
+  }
+
+  @Test
+  public void testCompareToThreshold() {
+    long[] baseline = {100, 100, 100};
+    assertTrue(BenchmarkHarness.compareTo("Faster",
+        new long[] {80, 90, 85}, baseline, 10));
+    assertTrue(BenchmarkHarness.compareTo("Within",
+        new long[] {110, 105, 200}, baseline, 10));
+    assertFalse(BenchmarkHarness.compareTo("Slower",
+        new long[] {111, 120, 115}, baseline, 10));
+    assertTrue(BenchmarkHarness.compareTo("New",
+        new long[] {111, 120, 115}, null, 10));
+  }
+
+  private String writeCsv(final String... rows) throws IOException {
+    File file = folder.newFile();
+    StringBuilder csv = new StringBuilder(BenchmarkHarness.CSV_HEADER + "\n");
+    for (String row : rows) {
+      csv.append(row).append('\n');
+    }
+    Files.write(file.toPath(), csv.toString().getBytes(StandardCharsets.UTF_8));
+    return file.getPath();
+  }
+
+  @Test
+  public void testCompareAllChecksEveryBenchmark() throws IOException {
+    String baseline = writeCsv(
+        "A,warmup,1,1000",
+        "A,measured,1,100",
+        "A,measured,2,100",
+        "B,measured,1,100");
+
+    // only the warmup of A is slow
+    String fast = writeCsv(
+        "A,warmup,1,5000",
+        "A,measured,1,100",
+        "A,measured,2,102",
+        "B,measured,1,90",
+        "C,measured,1,500");
+    assertTrue(BenchmarkHarness.compareAll(fast, baseline, 10));
+
+    // the first benchmark that is slower does not end the comparison
+    String slowA = writeCsv(
+        "A,measured,1,200",
+        "A,measured,2,200",
+        "B,measured,1,100");
+    assertFalse(BenchmarkHarness.compareAll(slowA, baseline, 10));
+
+    String slowB = writeCsv(
+        "A,measured,1,100",
+        "B,measured,1,200");
+    assertFalse(BenchmarkHarness.compareAll(slowB, baseline, 10));
+  }
+
+  @Test
+  public void testCompareAllWithoutBaseline() throws IOException {
+    String results = writeCsv("A,measured,1,100");
+    assertTrue(BenchmarkHarness.compareAll(results, null, 10));
+  }
+}
@@ -0,0 +1,37 @@
+package som.tests;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import som.vm.VmSettings;
+
+
+/**
+ * Runs the {@link BasicInterpreterTests} with the bytecode interpreter.
+ *
+ * The setting is read once, when the VM starts, so the tests need their own
+ * JVM, which the test target forks for each test class.
+ */
+@RunWith(Parameterized.class)
+public class BytecodeInterpreterTests extends BasicInterpreterTests {
+
+  static {
+    System.setProperty("som.bytecodes", "true");
+  }
+
+  @BeforeClass
+  public static void checkBytecodesEnabled() {
+    assertTrue("The bytecode interpreter needs to be enabled before the VM "
+        + "is initialized, run the tests in a separate JVM",
+        VmSettings.USE_BYTECODES);
+  }
+
+  public BytecodeInterpreterTests(final String testClass,
+      final String testSelector, final Object expectedResult,
+      final Class<?> resultType) {
+    super(testClass, testSelector, expectedResult, resultType);
+  }
+}
@@ -0,0 +1,113 @@
+package som.tests;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.oracle.truffle.api.source.Source;
+
+import som.interpreter.CallSiteReport;
+import som.interpreter.nodes.dispatch.AbstractDispatchNode;
+import som.vm.Universe;
+import som.vm.VmSettings;
+import som.vm.constants.Nil;
+
+
+/**
+ * Checks the state and counts that the call site report lists for sends
+ * and block evaluations. Without Graal, methods are not split, so only the
+ * original ASTs are reported.
+ *
+ * The setting is read once, when the VM starts, so the tests need their own
+ * JVM, which the test target forks for each test class.
+ */
+public class CallSiteReportTests {
+
+  static {
+    System.setProperty("som.callSiteReport", "true");
+  }
+
+  private static final String SITES = "Sites = (\n"
+      + "  send: x = ( ^ x foo )\n"
+      + "  mono: x = ( ^ x foo )\n"
+      + "  mega: x = ( ^ x foo )\n"
+      + "  never: x = ( ^ x foo )\n"
+      + "  run = (\n"
+      + "    1 to: 3 do: [:i |\n"
+      + "      self send: SiteA new. self send: SiteB new.\n"
+      + "      self mono: SiteA new ].\n"
+      + "    ^ [:b | b value ] value: [ 3 ] )\n"
+      + "  runMegamorphic: classes = (\n"
+      + "    1 to: classes length do: [:i | self mega: (classes at: i) new ] )\n"
+      + ")\n";
+
+  private static Universe universe;
+  private static String   report;
+
+  @BeforeClass
+  public static void runSites() {
+    assertTrue("The call site report needs to be enabled before the VM is "
+        + "initialized, run the tests in a separate JVM",
+        VmSettings.CALL_SITE_REPORT);
+
+    universe = Universe.current();
+    universe.setAvoidExit(true);
+    universe.setupClassPath("Smalltalk");
+    universe.initializeObjectSystem();
+
+    int classes = AbstractDispatchNode.INLINE_CACHE_SIZE + 2;
+    StringBuilder array = new StringBuilder("[:a |");
+    for (int i = 0; i < classes; i++) {
+      String name = "Site" + (char) ('A' + i);
+      universe.loadClass(Source.fromText(
+          name + " = ( foo = ( ^ " + i + " ) )", name));
+      array.append(" a at: ").append(i + 1).append(" put: ").append(name)
+          .append('.');
+    }
+    array.append(" a ] value: (Array new: ").append(classes).append(')');
+
+    universe.loadClass(Source.fromText(SITES, "Sites"));
+    universe.evaluateExpression("Sites new run", Nil.nilObject);
+    universe.evaluateExpression("Sites new runMegamorphic: (" + array + ")",
+        Nil.nilObject);
+    report = CallSiteReport.report(universe);
+  }
+
+  private static void assertSite(final String site) {
+    assertTrue(report, report.matches("(?s).*\n" + site + "\n.*"));
+  }
+
+  @Test
+  public void testPolymorphicSend() {
+    // the most frequent site is listed first
+    assertTrue(report, report.matches("(?s)[^\n]*\n[^\n]*\n\\s+8  send .*"));
+    assertSite("\\s+6  send     polymorphic        2  foo\\s+"
+        + "Method\\(Sites>>#send:\\) Sites:2\\s+SiteA, SiteB");
+  }
+
+  @Test
+  public void testMonomorphicSend() {
+    assertSite("\\s+3  send     monomorphic        1  foo\\s+"
+        + "Method\\(Sites>>#mono:\\) Sites:3\\s+SiteA");
+    assertSite("\\s+3  send     monomorphic        1  new\\s+"
+        + "Method\\(Sites>>#run\\) Sites:8\\s+SiteB class");
+  }
+
+  @Test
+  public void testMegamorphicSend() {
+    assertSite("\\s+8  send     megamorphic        -  foo\\s+"
+        + "Method\\(Sites>>#mega:\\) Sites:4\\s+");
+  }
+
+  @Test
+  public void testBlockEvaluation() {
+    assertSite("\\s+1  value    monomorphic        1  value:\\s+"
+        + "Method\\(Sites>>#run\\) Sites:10\\s+Block of .*");
+  }
+
+  @Test
+  public void testUnexecutedSitesAreNotListed() {
+    assertTrue(report, !report.contains("#never:"));
+  }
+}
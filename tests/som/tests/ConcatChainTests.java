@@ -0,0 +1,109 @@
+package som.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.oracle.truffle.api.nodes.NodeUtil;
+import com.oracle.truffle.api.source.Source;
+
+import som.interpreter.nodes.specialized.ConcatChainNode;
+import som.vm.Universe;
+import som.vmobjects.SClass;
+import som.vmobjects.SInvokable;
+import som.vmobjects.SObject;
+
+
+/**
+ * Checks that chains of string concatenations are merged into one node,
+ * and that the normal sends take over, in the same order, when a part is
+ * not a string.
+ */
+public class ConcatChainTests {
+
+  private static final String CONCAT = "Concat = (\n"
+      + "  | log |\n"
+      + "  chain: a with: b with: c with: d = ( ^ a , b , c , d )\n"
+      + "  first: a with: b with: c with: d = ( ^ a , b , c , d )\n"
+      + "  logged: v = (\n"
+      + "    log := StringStream new.\n"
+      + "    ^ (self part: 'a' value: 'x') , (self part: 'b' value: v)\n"
+      + "      , (self part: 'c' value: 'y') , (self part: 'd' value: 'z') )\n"
+      + "  part: name value: v = ( log nextPutAll: name. ^ v )\n"
+      + "  log = ( ^ log contents )\n"
+      + "  , other = ( ^ 'obj' , other )\n"
+      + ")\n";
+
+  // each test uses its own methods, since their ASTs are changed
+  private static SClass  concat;
+  private static SObject obj;
+
+  @BeforeClass
+  public static void loadClass() {
+    Universe universe = Universe.current();
+    universe.setAvoidExit(true);
+    universe.setupClassPath("Smalltalk");
+    universe.initializeObjectSystem();
+    concat = universe.loadClass(Source.fromText(CONCAT, "Concat"));
+    obj    = Universe.newInstance(concat);
+  }
+
+  private static Object send(final String selector, final Object... args) {
+    SInvokable method = concat.lookupInvokable(Universe.symbolFor(selector));
+    Object[] arguments = new Object[args.length + 1];
+    arguments[0] = obj;
+    System.arraycopy(args, 0, arguments, 1, args.length);
+    return method.invoke(arguments);
+  }
+
+  private static List<ConcatChainNode> chains(final String selector) {
+    SInvokable method = concat.lookupInvokable(Universe.symbolFor(selector));
+    return NodeUtil.findAllNodeInstances(
+        method.getCallTarget().getRootNode(), ConcatChainNode.class);
+  }
+
+  @Test
+  public void testChainIsMerged() {
+    assertEquals("abcd", send("chain:with:with:with:", "a", "b", "c", "d")
+        .toString());
+
+    List<ConcatChainNode> chains = chains("chain:with:with:with:");
+    assertEquals(1, chains.size());
+    assertEquals(4, NodeUtil.findNodeChildren(chains.get(0)).size());
+
+    // symbols are strings, too
+    assertEquals("abcd", send("chain:with:with:with:",
+        Universe.symbolFor("a"), "b", Universe.symbolFor("c"), "d")
+        .toString());
+    assertEquals(1, chains("chain:with:with:with:").size());
+  }
+
+  @Test
+  public void testNonStringPartFallsBackToSends() {
+    assertEquals("xbyz", send("logged:", "b").toString());
+    assertEquals(1, chains("logged:").size());
+    assertEquals("abcd", send("log"));
+
+    // the middle part is an integer, String>>#, converts it
+    assertEquals("x42yz", send("logged:", 42L).toString());
+    assertEquals("abcd", send("log"));
+    assertEquals(0, chains("logged:").size());
+
+    assertEquals("x7yz", send("logged:", 7L).toString());
+    assertEquals("abcd", send("log"));
+  }
+
+  @Test
+  public void testNonStringFirstPartFallsBackToSends() {
+    send("first:with:with:with:", "a", "b", "c", "d");
+    assertEquals(1, chains("first:with:with:with:").size());
+
+    // the receiver of the first send is an object that defines #,
+    assertEquals("objbcd", send("first:with:with:with:", obj, "b", "c", "d")
+        .toString());
+    assertEquals(0, chains("first:with:with:with:").size());
+  }
+}
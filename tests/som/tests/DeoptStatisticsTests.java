@@ -0,0 +1,80 @@
+package som.tests;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import som.interpreter.DeoptStatistics;
+import som.interpreter.TruffleCompiler;
+import som.vm.Universe;
+import som.vm.VmSettings;
+import som.vm.constants.Nil;
+
+
+/**
+ * Checks that the deoptimization statistics count the slow paths in the
+ * interpreter separately from the transfers from compiled code. Without
+ * Graal, nothing runs compiled, so there are no transfers.
+ *
+ * The setting is read once, when the VM starts, so the tests need their own
+ * JVM, which the test target forks for each test class.
+ */
+public class DeoptStatisticsTests {
+
+  private static final String COMPILED    = "Transfers to the interpreter from compiled code";
+  private static final String INTERPRETER = "Slow paths taken in the interpreter";
+
+  static {
+    System.setProperty("som.deoptStats", "true");
+  }
+
+  @BeforeClass
+  public static void checkDeoptStatisticsEnabled() {
+    assertTrue("The deoptimization statistics need to be enabled before the "
+        + "VM is initialized, run the tests in a separate JVM",
+        VmSettings.DEOPT_STATISTICS);
+  }
+
+  private static String section(final String report, final String title) {
+    int start = report.indexOf(title + " by reason:");
+    assertTrue(report, start >= 0);
+    // the transfers from compiled code are reported first
+    int end = title.equals(COMPILED) ? report.indexOf(INTERPRETER)
+                                     : report.length();
+    return report.substring(start, end);
+  }
+
+  @Test
+  public void testSlowPathsAreNotCountedAsTransfers() {
+    TruffleCompiler.transferToInterpreter("Test slow path");
+    TruffleCompiler.transferToInterpreterAndInvalidate("Test slow path");
+    TruffleCompiler.transferToInterpreterAndInvalidate("Test slow path");
+
+    String report = DeoptStatistics.report();
+    String compiled    = section(report, COMPILED);
+    String interpreter = section(report, INTERPRETER);
+
+    assertTrue(compiled, !compiled.contains("Test slow path"));
+    assertTrue(compiled, compiled.contains("none"));
+    assertTrue(interpreter, interpreter.matches(
+        "(?s).*\\s1  Test slow path\n.*"));
+    assertTrue(interpreter, interpreter.matches(
+        "(?s).*\\s2  Test slow path \\(invalidate\\)\n.*"));
+    assertTrue(interpreter, interpreter.contains(
+        "Test slow path at unknown location"));
+  }
+
+  @Test
+  public void testSlowPathsAreCountedByLocation() {
+    Universe u = Universe.current();
+    u.setAvoidExit(true);
+    u.setupClassPath("Smalltalk");
+    u.initializeObjectSystem();
+    u.evaluateExpression("Object", Nil.nilObject);
+
+    String interpreter = section(DeoptStatistics.report(), INTERPRETER);
+    assertTrue(interpreter, interpreter.contains(
+        "Uninitialized Global Node (invalidate) at expression"));
+  }
+}
@@ -0,0 +1,165 @@
+package som.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.oracle.truffle.api.profiles.ValueProfile;
+
+import som.vm.ExitException;
+import som.vm.Output;
+import som.vm.Universe;
+import som.vm.constants.Nil;
+import som.vmobjects.SArray;
+import som.vmobjects.SFile;
+
+
+/**
+ * Reads and writes files with the File primitives, and checks when writes
+ * become visible, and how failures are reported.
+ */
+public class FileTests {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Universe universe;
+
+  @Before
+  public void initializeUniverse() {
+    universe = Universe.current();
+    universe.setAvoidExit(true);
+    universe.setupClassPath("Smalltalk");
+    universe.initializeObjectSystem();
+  }
+
+  private String newPath(final String contents) throws IOException {
+    File file = folder.newFile();
+    Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+    return file.getPath();
+  }
+
+  /**
+   * Evaluate the statements with <code>f</code> bound to the file at the
+   * given path.
+   */
+  private Object onFile(final String path, final String statements) {
+    return universe.evaluateExpression("[:f | " + statements
+        + " ] value: (File on: '" + path + "')", Nil.nilObject);
+  }
+
+  @Test
+  public void testRead() throws IOException {
+    String path = newPath("abc\n");
+    assertEquals(path, onFile(path, "f path"));
+    assertEquals(true, onFile(path, "f exists"));
+    assertEquals(4L, onFile(path, "f size"));
+    assertEquals("abc\n", onFile(path, "f contents"));
+    assertEquals(98L, onFile(path, "f byteAt: 2"));
+    assertSame(Nil.nilObject, onFile(path, "f byteAt: 5"));
+
+    SArray bytes = (SArray) onFile(path, "f bytes");
+    assertArrayEquals(new long[] {97, 98, 99, 10},
+        bytes.getLongStorage(ValueProfile.createClassProfile()));
+  }
+
+  @Test
+  public void testReadEmptyFile() throws IOException {
+    String path = newPath("");
+    assertEquals(0L, onFile(path, "f size"));
+    assertEquals("", onFile(path, "f contents"));
+  }
+
+  @Test
+  public void testWriteReplacesContents() throws IOException {
+    String path = newPath("old contents");
+    assertEquals("ab", onFile(path, "f write: 'a'. f write: #b. f close. "
+        + "f contents"));
+    assertEquals("ab", new String(Files.readAllBytes(new File(path).toPath()),
+        StandardCharsets.UTF_8));
+
+    // after closing, the next write starts over
+    assertEquals("c", onFile(path, "f write: 'a'. f close. f write: 'c'. "
+        + "f close. f contents"));
+  }
+
+  @Test
+  public void testReadSeesBufferedWrites() throws IOException {
+    String path = newPath("");
+    // reading flushes, and writing drops the mapping that was read
+    assertEquals("ab", onFile(path, "f write: 'a'. f contents. "
+        + "f write: 'b'. f contents"));
+    assertEquals(2L, onFile(path, "f flush. f size"));
+  }
+
+  @Test
+  public void testFlushAllWritesOpenFiles() throws IOException {
+    String path = newPath("");
+    onFile(path, "f write: 'unclosed'");
+    assertEquals(0, new File(path).length());
+
+    SFile.flushAll();
+    assertEquals("unclosed", new String(Files.readAllBytes(
+        new File(path).toPath()), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void testMissingFile() {
+    String path = new File(folder.getRoot(), "missing").getPath();
+    assertEquals(false, onFile(path, "f exists"));
+    assertEquals("File not found: " + path, errorOf(path, "f contents"));
+    assertEquals("File not found: " + path, errorOf(path, "f size"));
+  }
+
+  @Test(expected = NoSuchFileException.class)
+  public void testMissingFileThrows() throws IOException {
+    new SFile(new File(folder.getRoot(), "missing").getPath()).readString();
+  }
+
+  @Test
+  public void testInvalidPath() {
+    String error = errorOf("a\u0000b", "f");
+    assertTrue(error, error.startsWith("Invalid path: "));
+  }
+
+  /**
+   * @return the message that <code>Object>>#error:</code> printed before
+   *         it exited
+   */
+  private String errorOf(final String path, final String statements) {
+    PrintStream previous = System.out;
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    Output.out.flush();
+    System.setOut(new PrintStream(output, true));
+    try {
+      onFile(path, statements);
+      fail("Expected an error");
+    } catch (ExitException e) {
+      assertEquals(1, e.getExitCode());
+    } finally {
+      Output.out.flush();
+      System.setOut(previous);
+    }
+
+    String printed = output.toString().trim();
+    assertFalse(printed, printed.isEmpty());
+    assertTrue(printed, printed.startsWith("ERROR: "));
+    return printed.substring("ERROR: ".length());
+  }
+}
@@ -0,0 +1,94 @@
+package som.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.oracle.truffle.api.source.Source;
+
+import som.vm.Universe;
+import som.vm.Universe.Association;
+import som.vm.VmSettings;
+import som.vm.constants.Nil;
+import som.vmobjects.SClass;
+import som.vmobjects.SInvokable;
+
+
+/**
+ * Checks that a global is read as a constant until it changed too often,
+ * and that methods that read it see every change.
+ */
+public class GlobalAssociationTests {
+
+  private static Universe universe;
+
+  @BeforeClass
+  public static void initializeUniverse() {
+    universe = Universe.current();
+    universe.setAvoidExit(true);
+    universe.setupClassPath("Smalltalk");
+    universe.initializeObjectSystem();
+  }
+
+  private static Object read(final SClass cls) {
+    SInvokable method = cls.lookupInvokable(Universe.symbolFor("read"));
+    return method.invoke(Universe.newInstance(cls));
+  }
+
+  @Test
+  public void testConstantUntilChangeLimit() {
+    Association assoc = new Association(Universe.symbolFor("Limited"), 0L);
+    assertTrue(assoc.isConstant());
+    assertEquals(0L, assoc.getValue());
+
+    for (long i = 1; i <= VmSettings.GLOBAL_CHANGE_LIMIT; i++) {
+      assoc.setValue(i);
+      assertTrue(assoc.isConstant());
+      assertEquals(i, assoc.getValue());
+    }
+
+    // the next change makes it a changing global
+    assoc.setValue(-1L);
+    assertFalse(assoc.isConstant());
+    assertEquals(-1L, assoc.getValue());
+
+    assoc.setValue(-2L);
+    assertFalse(assoc.isConstant());
+    assertEquals(-2L, assoc.getValue());
+  }
+
+  @Test
+  public void testReadSeesGlobalPut() {
+    universe.setGlobal("Changed", 1L);
+    SClass cls = universe.loadClass(Source.fromText(
+        "ChangedReader = ( read = ( ^ Changed ) )", "ChangedReader"));
+    assertEquals(1L, read(cls));
+    assertEquals(1L, read(cls));
+
+    universe.evaluateExpression("system global: #Changed put: 2",
+        Nil.nilObject);
+    assertEquals(2L, read(cls));
+    assertTrue(universe.getGlobalsAssociation(
+        Universe.symbolFor("Changed")).isConstant());
+  }
+
+  @Test
+  public void testReadSeesChangesAfterSwitchToChangingGlobal() {
+    universe.setGlobal("Counter", 0L);
+    SClass cls = universe.loadClass(Source.fromText(
+        "CounterReader = ( read = ( ^ Counter ) )", "CounterReader"));
+    Association assoc = universe.getGlobalsAssociation(
+        Universe.symbolFor("Counter"));
+    assertEquals(0L, read(cls));
+
+    for (long i = 1; i <= VmSettings.GLOBAL_CHANGE_LIMIT + 3; i++) {
+      universe.evaluateExpression("system global: #Counter put: " + i,
+          Nil.nilObject);
+      assertEquals(i, read(cls));
+      assertEquals(i <= VmSettings.GLOBAL_CHANGE_LIMIT, assoc.isConstant());
+    }
+  }
+}
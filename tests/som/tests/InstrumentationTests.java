@@ -0,0 +1,147 @@
+package som.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.instrumentation.EventContext;
+import com.oracle.truffle.api.instrumentation.ExecutionEventListener;
+import com.oracle.truffle.api.instrumentation.SourceSectionFilter;
+import com.oracle.truffle.api.instrumentation.StandardTags.CallTag;
+import com.oracle.truffle.api.instrumentation.StandardTags.StatementTag;
+import com.oracle.truffle.api.instrumentation.TruffleInstrument;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.vm.PolyglotEngine;
+
+import som.interpreter.SomLanguage;
+
+
+/**
+ * Runs SOM with an instrument attached to the statements and calls, and
+ * checks which nodes are tagged, and that the instrument does not change
+ * the results.
+ */
+public class InstrumentationTests {
+
+  @TruffleInstrument.Registration(id = TagRecorder.ID)
+  public static final class TagRecorder extends TruffleInstrument {
+    static final String ID = "som-tag-recorder";
+
+    final List<String> statements = new ArrayList<>();
+    final List<String> calls      = new ArrayList<>();
+
+    @Override
+    protected void onCreate(final Env env) {
+      env.registerService(this);
+      record(env, StatementTag.class, statements);
+      record(env, CallTag.class, calls);
+    }
+
+    private static void record(final Env env, final Class<?> tag,
+        final List<String> events) {
+      env.getInstrumenter().attachListener(
+          SourceSectionFilter.newBuilder().tagIs(tag).build(),
+          new ExecutionEventListener() {
+            @Override
+            public void onEnter(final EventContext context,
+                final VirtualFrame frame) {
+              events.add(context.getInstrumentedSourceSection().getCode().
+                  trim());
+            }
+
+            @Override
+            public void onReturnValue(final EventContext context,
+                final VirtualFrame frame, final Object result) { }
+
+            @Override
+            public void onReturnExceptional(final EventContext context,
+                final VirtualFrame frame, final Throwable exception) { }
+          });
+    }
+  }
+
+  private static final String PROGRAM = "Tagged = (\n"
+      + "  run: args = (\n"
+      + "    | sum |\n"
+      + "    sum := 0.\n"
+      + "    1 to: 3 do: [:i | sum := sum + (self double: i) ].\n"
+      + "    [ sum > 100 ] whileFalse: [ sum := sum * 2 ].\n"
+      + "    (sum > 0 and: [ sum < 1000 ]) ifTrue: [ sum := sum + 1 ].\n"
+      + "    ^ sum )\n"
+      + "  double: n = ( ^ n * 2 )\n"
+      + ")\n";
+
+  private PolyglotEngine engine;
+  private TagRecorder    recorder;
+
+  @Before
+  public void createEngine() {
+    engine = PolyglotEngine.newBuilder().config(
+        SomLanguage.MIME_TYPE, SomLanguage.CLASS_PATH, "Smalltalk").build();
+    PolyglotEngine.Instrument instrument = engine.getInstruments().get(
+        TagRecorder.ID);
+    instrument.setEnabled(true);
+    recorder = instrument.lookup(TagRecorder.class);
+  }
+
+  @After
+  public void disposeEngine() {
+    engine.dispose();
+  }
+
+  private Object run() throws IOException {
+    return engine.eval(Source.fromText(PROGRAM, "Tagged").withMimeType(
+        SomLanguage.MIME_TYPE)).get();
+  }
+
+  @Test
+  public void testResultIsUnchanged() throws IOException {
+    // 12 doubled until it exceeds 100, and incremented
+    assertEquals(193L, run());
+    assertEquals(193L, run());
+  }
+
+  @Test
+  public void testStatementsAreTagged() throws IOException {
+    run();
+    List<String> statements = recorder.statements;
+    assertEquals(statements.toString(), 1, count(statements, "sum := 0"));
+    assertEquals(statements.toString(), 1, count(statements,
+        "whileFalse: [ sum := sum * 2 ]"));
+    assertEquals(statements.toString(), 1, count(statements,
+        "ifTrue: [ sum := sum + 1 ]"));
+    assertEquals(statements.toString(), 1, count(statements, "sum"));
+    // the body of #double:, the source section of a send starts at its
+    // selector
+    assertEquals(statements.toString(), 3, count(statements, "* 2"));
+  }
+
+  @Test
+  public void testCallsAreTagged() throws IOException {
+    run();
+    List<String> calls = recorder.calls;
+    assertEquals(calls.toString(), 3, count(calls, "double: i"));
+    assertEquals(calls.toString(), 3, count(calls, "+ (self double: i)"));
+    // #double: and the loop body
+    assertEquals(calls.toString(), 7, count(calls, "* 2"));
+    assertEquals(calls.toString(), 5, count(calls, "> 100"));
+    assertEquals(calls.toString(), 1, count(calls, "< 1000"));
+  }
+
+  private static int count(final List<String> events, final String code) {
+    int n = 0;
+    for (String e : events) {
+      if (e.equals(code)) {
+        n++;
+      }
+    }
+    return n;
+  }
+}
@@ -0,0 +1,176 @@
+package som.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.nodes.InvalidAssumptionException;
+
+import som.interpreter.nodes.dispatch.DispatchGuard;
+import som.vmobjects.LazyString;
+import som.vmobjects.LazyString.Rope;
+import som.vmobjects.LazyString.Slice;
+
+
+/**
+ * Checks that slices and ropes have the characters of the strings they
+ * stand for, before and after they are flattened, also when several threads
+ * flatten them, and that they dispatch like strings.
+ */
+public class LazyStringTests {
+
+  private static String repeat(final String str, final int times) {
+    StringBuilder result = new StringBuilder();
+    for (int i = 0; i < times; i++) {
+      result.append(str);
+    }
+    return result.toString();
+  }
+
+  private static final String ALPHABET = repeat(
+      "abcdefghijklmnopqrstuvwxyz", 10);
+
+  @Test
+  public void testShortSubstringIsCopied() {
+    CharSequence sub = LazyString.substring(ALPHABET, 1, 4);
+    assertTrue(sub instanceof String);
+    assertEquals("bcd", sub);
+  }
+
+  @Test
+  public void testLongSubstringIsSlice() {
+    CharSequence slice = LazyString.substring(ALPHABET, 2, 40);
+    assertTrue(slice instanceof Slice);
+    assertEquals(38, slice.length());
+    assertEquals('c', slice.charAt(0));
+    assertEquals(ALPHABET.substring(2, 40), slice.toString());
+    // the flat string is kept, and the characters are still there
+    assertSame(slice.toString(), slice.toString());
+    assertEquals('c', slice.charAt(0));
+  }
+
+  @Test(expected = StringIndexOutOfBoundsException.class)
+  public void testSliceChecksIndex() {
+    LazyString.substring(ALPHABET, 2, 40).charAt(38);
+  }
+
+  @Test
+  public void testSliceOfSliceIsNotNested() {
+    CharSequence slice = LazyString.substring(ALPHABET, 10, 200);
+    CharSequence inner = LazyString.substring(slice, 5, 100);
+    assertTrue(inner instanceof Slice);
+    assertEquals(ALPHABET.substring(15, 110), inner.toString());
+
+    // also after the outer slice dropped its parent
+    slice.toString();
+    CharSequence afterFlattening = LazyString.substring(slice, 5, 100);
+    assertEquals(ALPHABET.substring(15, 110), afterFlattening.toString());
+  }
+
+  @Test
+  public void testShortConcatenationIsCopied() {
+    CharSequence str = LazyString.concat("abc", "def");
+    assertTrue(str instanceof String);
+    assertEquals("abcdef", str);
+  }
+
+  @Test
+  public void testLongConcatenationIsRope() {
+    CharSequence left  = LazyString.substring(ALPHABET, 0, 100);
+    CharSequence rope  = LazyString.concat(left, ALPHABET);
+    assertTrue(rope instanceof Rope);
+    assertEquals(100 + ALPHABET.length(), rope.length());
+    assertEquals('z', rope.charAt(125));
+
+    StringBuilder builder = new StringBuilder();
+    ((LazyString) rope).appendTo(builder);
+    assertEquals(ALPHABET.substring(0, 100) + ALPHABET, builder.toString());
+    assertEquals(builder.toString(), rope.toString());
+  }
+
+  @Test
+  public void testDeepRopeIsFlattenedWithoutRecursion() {
+    CharSequence rope = "";
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 100000; i++) {
+      rope = LazyString.concat(rope, "ab");
+      expected.append("ab");
+    }
+    assertTrue(rope instanceof Rope);
+    assertEquals(expected.toString(), rope.toString());
+  }
+
+  @Test
+  public void testRopeOfFlattenedParts() {
+    CharSequence slice = LazyString.substring(ALPHABET, 0, 100);
+    CharSequence rope  = LazyString.concat(slice, slice);
+    CharSequence outer = LazyString.concat(rope, "!");
+    slice.toString();
+    rope.toString();
+    assertEquals(ALPHABET.substring(0, 100) + ALPHABET.substring(0, 100)
+        + "!", outer.toString());
+  }
+
+  @Test
+  public void testConcurrentFlattening() throws InterruptedException {
+    // the threads race to flatten each of the strings, and the ones that
+    // lose find parts that the winner dropped
+    int threads = 4;
+    List<CharSequence> shared = new ArrayList<>();
+    for (int i = 0; i < 100000; i++) {
+      CharSequence slice = LazyString.substring(ALPHABET, i % 100, 150);
+      shared.add(LazyString.concat(LazyString.concat(slice, slice), slice));
+    }
+
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    List<Thread> flattening = new ArrayList<>();
+    for (int t = 0; t < threads; t++) {
+      Thread thread = new Thread(() -> {
+        try {
+          start.await();
+          for (int i = 0; i < shared.size(); i++) {
+            String slice = ALPHABET.substring(i % 100, 150);
+            assertEquals(slice + slice + slice, shared.get(i).toString());
+          }
+        } catch (Throwable e) {
+          failure.compareAndSet(null, e);
+        }
+      });
+      flattening.add(thread);
+      thread.start();
+    }
+    start.countDown();
+    for (Thread thread : flattening) {
+      thread.join();
+    }
+    if (failure.get() != null) {
+      throw new AssertionError(failure.get());
+    }
+  }
+
+  @Test
+  public void testLazyStringsDispatchLikeStrings()
+      throws InvalidAssumptionException {
+    CharSequence slice = LazyString.substring(ALPHABET, 0, 100);
+    CharSequence rope  = LazyString.concat(ALPHABET, ALPHABET);
+
+    for (Object receiver : new Object[] {"abc", slice, rope}) {
+      DispatchGuard guard = DispatchGuard.create(receiver);
+      assertEquals("String", guard.describeReceiver());
+      assertTrue(guard.entryMatches("abc"));
+      assertTrue(guard.entryMatches(slice));
+      assertTrue(guard.entryMatches(rope));
+      assertFalse(guard.entryMatches(42L));
+      assertFalse(guard.entryMatches(new StringBuilder("abc")));
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package som.tests;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.oracle.truffle.api.source.Source;
+
+import som.interpreter.SamplingProfiler;
+import som.vm.Universe;
+import som.vm.VmSettings;
+import som.vm.constants.Nil;
+
+
+/**
+ * Runs a busy method with the sampling profiler, which a universe starts
+ * when it initializes its object system, and checks the samples in the
+ * collapsed stacks file and the summary.
+ *
+ * The setting is read once, when the VM starts, so the tests need their own
+ * JVM, which the test target forks for each test class.
+ */
+public class SamplingProfilerTests {
+
+  private static final File PROFILE_FILE;
+
+  static {
+    try {
+      PROFILE_FILE = File.createTempFile("som-profile", ".txt");
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    System.setProperty("som.profile", "true");
+    System.setProperty("som.profileInterval", "1");
+    System.setProperty("som.profileFile", PROFILE_FILE.getPath());
+  }
+
+  private static String summary;
+
+  @BeforeClass
+  public static void runBusyMethod() {
+    assertTrue("The profiler needs to be enabled before the VM is "
+        + "initialized, run the tests in a separate JVM",
+        VmSettings.PROFILE && VmSettings.PROFILE_INTERVAL == 1);
+
+    Universe u = Universe.current();
+    u.setAvoidExit(true);
+    u.setupClassPath("Smalltalk");
+    u.initializeObjectSystem();
+    u.loadClass(Source.fromText("Busy = (\n"
+        + "  spin: n = ( | sum | sum := 0.\n"
+        + "    1 to: n do: [:i | sum := sum + (self step: i) ]. ^ sum )\n"
+        + "  step: i = ( ^ i * 2 )\n"
+        + ")\n", "Busy"));
+
+    // sample for at least a few intervals, without relying on the timing
+    long end = System.currentTimeMillis() + 10000;
+    do {
+      u.evaluateExpression("Busy new spin: 100000", Nil.nilObject);
+      summary = SamplingProfiler.report();
+    } while (!summary.contains("Busy>>#") && System.currentTimeMillis() < end);
+  }
+
+  @AfterClass
+  public static void deleteProfile() {
+    PROFILE_FILE.delete();
+  }
+
+  @Test
+  public void testTimerIsStartedByInitialization() {
+    boolean found = false;
+    for (Thread t : Thread.getAllStackTraces().keySet()) {
+      found |= t.getName().equals("SOM sampling profiler") && t.isDaemon();
+    }
+    assertTrue(found);
+  }
+
+  @Test
+  public void testSummaryListsBusyMethod() {
+    assertTrue(summary, summary.contains(" samples written to "
+        + PROFILE_FILE.getPath()));
+    assertFalse(summary, summary.startsWith("0 samples"));
+    assertTrue(summary, summary.matches(
+        "(?s).*\n\\s+\\d+\\s+\\d+\\.\\d%  Busy>>#(spin:|step:)\n.*"));
+  }
+
+  @Test
+  public void testCollapsedStacks() throws IOException {
+    List<String> lines = Files.readAllLines(PROFILE_FILE.toPath(),
+        StandardCharsets.UTF_8);
+    assertFalse(lines.isEmpty());
+
+    boolean busy = false;
+    for (String line : lines) {
+      // frames separated by semicolons, without spaces, and the count
+      assertTrue(line, line.matches("[^ ;]+(;[^ ;]+)* \\d+"));
+      busy |= line.matches(".*;Busy>>#spin:(;.*)? \\d+");
+    }
+    assertTrue(lines.toString(), busy);
+  }
+}
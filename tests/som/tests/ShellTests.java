@@ -0,0 +1,76 @@
+package som.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import som.compiler.Parser.ParseError;
+import som.vm.Shell;
+import som.vm.Universe;
+import som.vm.constants.Nil;
+
+
+/**
+ * Evaluates statements like the shell does for each line that is entered.
+ */
+public class ShellTests {
+
+  private Universe universe;
+  private Shell    shell;
+
+  @Before
+  public void createShell() {
+    universe = Universe.current();
+    universe.setAvoidExit(true);
+    universe.setupClassPath("Smalltalk");
+    universe.initializeObjectSystem();
+    shell = new Shell(universe);
+  }
+
+  private Object evaluate(final String stmts) throws ParseError, IOException {
+    return shell.evaluate(stmts, Nil.nilObject);
+  }
+
+  @Test
+  public void testVariableIsKeptAcrossStatements() throws ParseError, IOException {
+    assertEquals(3L, evaluate("| a | a := 3"));
+    assertEquals(4L, evaluate("a + 1"));
+    assertEquals(5L, evaluate("a := a + 2"));
+    assertEquals(5L, evaluate("a"));
+  }
+
+  @Test
+  public void testRedefinitionKeepsValue() throws ParseError, IOException {
+    assertEquals(3L, evaluate("| a | a := 3"));
+    assertEquals(3L, evaluate("| a | a"));
+    assertEquals(4L, evaluate("| a b | b := a + 1"));
+    assertEquals(4L, evaluate("b"));
+  }
+
+  @Test
+  public void testItIsPreviousResult() throws ParseError, IOException {
+    assertEquals(7L, shell.evaluate("it + 1", 6L));
+  }
+
+  @Test
+  public void testParseErrorDoesNotDeclareVariables()
+      throws ParseError, IOException {
+    universe.setGlobal("c", 1L);
+    assertEquals(1L, evaluate("c"));
+
+    try {
+      evaluate("| c | c := (");
+      fail("Expected a parse error");
+    } catch (ParseError e) {
+      // expected
+    }
+
+    // the declaration has to flush the statement that read the global
+    assertEquals(3L, evaluate("| c | c := 3"));
+    assertEquals(3L, evaluate("c"));
+  }
+}
@@ -0,0 +1,109 @@
+package som.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.Test;
+
+import com.oracle.truffle.api.profiles.ValueProfile;
+import com.oracle.truffle.api.source.Source;
+import com.oracle.truffle.api.vm.PolyglotEngine;
+
+import som.interpreter.SomLanguage;
+import som.vm.Universe;
+import som.vm.constants.Nil;
+import som.vmobjects.SArray;
+import som.vmobjects.SClass;
+import som.vmobjects.SObject;
+
+
+/**
+ * Runs SOM in a <code>PolyglotEngine</code>, and evaluates expressions in
+ * the context of objects, like an embedding application or a debugger does.
+ */
+public class SomLanguageTests {
+
+  private static Source source(final String code, final String name) {
+    return Source.fromText(code, name).withMimeType(SomLanguage.MIME_TYPE);
+  }
+
+  @Test
+  public void testEvalRunsClass() throws IOException {
+    PolyglotEngine engine = PolyglotEngine.newBuilder().config(
+        SomLanguage.MIME_TYPE, SomLanguage.CLASS_PATH, "Smalltalk").build();
+    Source answer = source(
+        "Answer = ( run: args = ( ^ 6 * 7 + args length ) )", "Answer");
+
+    assertEquals(42L, engine.eval(answer).get());
+    // the second evaluation reuses the class
+    assertEquals(42L, engine.eval(answer).get());
+    assertTrue(engine.findGlobalSymbol("Answer").get() instanceof SClass);
+    engine.dispose();
+  }
+
+  @Test
+  public void testEvalDefinesClassWithoutRun() throws IOException {
+    PolyglotEngine engine = PolyglotEngine.newBuilder().config(
+        SomLanguage.MIME_TYPE, SomLanguage.CLASS_PATH, "Smalltalk").build();
+
+    Object result = engine.eval(source("Plain = ( )", "Plain")).get();
+    assertTrue(result instanceof SClass);
+    assertEquals("Plain", ((SClass) result).getName().getString());
+    engine.dispose();
+  }
+
+  @Test
+  public void testArgumentsAreConverted() {
+    assertEquals(3L, SomLanguage.toSom(3));
+    assertEquals(3L, SomLanguage.toSom((short) 3));
+    assertEquals(3L, SomLanguage.toSom((byte) 3));
+    assertEquals(3L, SomLanguage.toSom(3L));
+    assertEquals(1.5, SomLanguage.toSom(1.5f));
+    assertEquals("a", SomLanguage.toSom('a'));
+    assertEquals("abc", SomLanguage.toSom("abc"));
+    assertEquals(true, SomLanguage.toSom(true));
+    assertSame(Nil.nilObject, SomLanguage.toSom(null));
+
+    SArray array = (SArray) SomLanguage.toSom(new Object[] {1, "b"});
+    assertArrayEquals(new Object[] {1L, "b"},
+        array.getObjectStorage(ValueProfile.createClassProfile()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsupportedArgumentIsRejected() {
+    SomLanguage.toSom(new StringBuilder());
+  }
+
+  @Test
+  public void testEvaluateExpressionInClassOfReceiver() {
+    Universe u = Universe.current();
+    u.setAvoidExit(true);
+    u.setupClassPath("Smalltalk");
+    u.initializeObjectSystem();
+
+    u.loadClass(source("Base = ( | x | "
+        + "x: value = ( x := value ) "
+        + "describe = ( ^ 'base' ) )", "Base"));
+    SClass derived = u.loadClass(source("Derived = Base ( "
+        + "describe = ( ^ 'derived' ) "
+        + "---- "
+        + "| count | "
+        + "describe = ( ^ 'class' ) )", "Derived"));
+
+    SObject obj = Universe.newInstance(derived);
+    u.evaluateExpression("self x: 4", obj);
+    assertEquals(4L, u.evaluateExpression("x", obj));
+    assertEquals(5L, u.evaluateExpression("x := x + 1", obj));
+    assertEquals(5L, u.evaluateExpression("x", obj));
+    assertEquals("derived", u.evaluateExpression("self describe", obj));
+    assertEquals("base", u.evaluateExpression("super describe", obj));
+
+    assertEquals(1L, u.evaluateExpression("count := 1", derived));
+    assertEquals(1L, u.evaluateExpression("count", derived));
+    assertEquals("class", u.evaluateExpression("self describe", derived));
+  }
+}
@@ -0,0 +1,158 @@
+package som.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import som.vm.ExitException;
+import som.vm.StartupStatistics;
+import som.vm.StartupStatistics.Phase;
+import som.vm.Universe;
+import som.vm.VmSettings;
+
+
+/**
+ * Checks that nested phases of the startup, such as loading a superclass
+ * while its subclass is parsed, only count their own time, and that
+ * failures do not leave phases running.
+ *
+ * The setting is read once, when the VM starts, so the tests need their own
+ * JVM, which the test target forks for each test class.
+ */
+public class StartupStatisticsTests {
+
+  static {
+    System.setProperty("som.startupStats", "true");
+  }
+
+  @ClassRule
+  public static TemporaryFolder folder = new TemporaryFolder();
+
+  private static Universe universe;
+  private static File     classes;
+
+  @BeforeClass
+  public static void initializeUniverse() throws IOException {
+    assertTrue("The startup statistics need to be enabled before the VM is "
+        + "initialized, run the tests in a separate JVM",
+        VmSettings.STARTUP_STATISTICS);
+
+    classes = folder.newFolder();
+    // a superclass that takes much longer to parse than its subclass
+    StringBuilder big = new StringBuilder("Big = (\n");
+    for (int i = 0; i < 5000; i++) {
+      big.append("  m").append(i).append(": a = ( | t | t := a + ")
+         .append(i).append(". ^ t * t )\n");
+    }
+    big.append(")\n");
+    write("Big", big.toString());
+    write("Small", "Small = Big ( )\n");
+    write("Broken", "Broken = ( m = ( ^ ( )\n");
+    write("OnBroken", "OnBroken = Broken ( )\n");
+
+    universe = Universe.current();
+    universe.setAvoidExit(true);
+    universe.setupClassPath("Smalltalk" + File.pathSeparator
+        + classes.getPath());
+    universe.initializeObjectSystem();
+  }
+
+  private static void write(final String name, final String source)
+      throws IOException {
+    Files.write(new File(classes, name + ".som").toPath(),
+        source.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * @return the milliseconds in the line of the report that ends with the
+   *         given text, or -1 if there is none
+   */
+  private static double reported(final String section, final String end) {
+    String report = StartupStatistics.report();
+    String part = report.substring(report.indexOf(section));
+    for (String line : part.split("\n")) {
+      if (line.endsWith(end)) {
+        return Double.parseDouble(line.trim().split("\\s+")[0]);
+      }
+    }
+    return -1;
+  }
+
+  private static double phase(final String description) {
+    return reported("Startup phases", "  " + description);
+  }
+
+  private static long phaseCount(final String description) {
+    String report = StartupStatistics.report();
+    for (String line : report.split("\n")) {
+      if (line.endsWith("  " + description)) {
+        return Long.parseLong(line.trim().split("\\s+")[1]);
+      }
+    }
+    return 0;
+  }
+
+  @Test
+  public void testNestedPhaseCountsOnlyItsOwnTime()
+      throws InterruptedException {
+    double outerBefore = Math.max(0, phase("class path"));
+    double innerBefore = Math.max(0, phase("primitives"));
+
+    long outer = StartupStatistics.start();
+    Thread.sleep(20);
+    long inner = StartupStatistics.start();
+    Thread.sleep(300);
+    StartupStatistics.stop(Phase.PRIMITIVES, inner);
+    Thread.sleep(20);
+    StartupStatistics.stop(Phase.CLASS_PATH, outer);
+
+    double outerTime = phase("class path") - outerBefore;
+    double innerTime = phase("primitives") - innerBefore;
+    assertTrue("outer " + outerTime, outerTime >= 39 && outerTime < 300);
+    assertTrue("inner " + innerTime, innerTime >= 299);
+    assertFalse(StartupStatistics.isInPhase());
+  }
+
+  @Test
+  public void testSuperclassParsingIsNotCountedForSubclass() {
+    universe.loadClass(Universe.symbolFor("Small"));
+    assertFalse(StartupStatistics.isInPhase());
+
+    double big   = reported("Parsing by file", File.separator + "Big.som");
+    double small = reported("Parsing by file", File.separator + "Small.som");
+    assertTrue(StartupStatistics.report(), big > 0 && small >= 0);
+    assertTrue("Small.som " + small + " ms, Big.som " + big + " ms",
+        small < big / 2);
+  }
+
+  @Test
+  public void testParseErrorEndsPhases() {
+    long parsed    = phaseCount("parsing");
+    long assembled = phaseCount("class assembly");
+
+    try {
+      universe.loadClass(Universe.symbolFor("OnBroken"));
+      fail("Expected the parse error to end the program");
+    } catch (ExitException e) {
+      assertEquals(1, e.getExitCode());
+    }
+
+    // the superclass failed while the subclass was parsed, both are done
+    assertFalse(StartupStatistics.isInPhase());
+    assertEquals(parsed + 2, phaseCount("parsing"));
+    assertEquals(assembled, phaseCount("class assembly"));
+    assertTrue(reported("Parsing by file", File.separator + "Broken.som") >= 0);
+    assertTrue(reported("Parsing by file", File.separator + "OnBroken.som") >= 0);
+  }
+}
@@ -0,0 +1,176 @@
+package som.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import som.vm.Universe;
+import som.vm.constants.Nil;
+import som.vmobjects.LazyString;
+import som.vmobjects.SSymbol;
+
+
+/**
+ * Evaluates expressions with the string primitives. Strings are compared
+ * by their contents, and symbols as <code>#symbol</code>.
+ */
+@RunWith(Parameterized.class)
+public class StringPrimitiveTests {
+
+  private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz";
+  private static final String DIGITS   = "0123456789";
+
+  /** A substring long enough to be a slice of its parent. */
+  private static final String SLICE_TEXT = ALPHABET + DIGITS;
+  private static final String SLICE = "('--" + SLICE_TEXT
+      + "--' substringFrom: 3 to: " + (SLICE_TEXT.length() + 2) + ")";
+
+  /** A concatenation long enough to be a rope. */
+  private static final String ROPE_LEFT  = ALPHABET + ALPHABET + ALPHABET;
+  private static final String ROPE_RIGHT = DIGITS + DIGITS + DIGITS + DIGITS
+      + DIGITS + DIGITS;
+  private static final String ROPE_TEXT  = ROPE_LEFT + ROPE_RIGHT;
+  private static final String ROPE = "('" + ROPE_LEFT + "' , '" + ROPE_RIGHT
+      + "')";
+
+  @Parameters(name = "{0}")
+  public static Iterable<Object[]> data() {
+    assert SLICE_TEXT.length() >= LazyString.MIN_SLICE_LENGTH;
+    assert ROPE_TEXT.length()  >= LazyString.MIN_ROPE_LENGTH;
+
+    return Arrays.asList(new Object[][] {
+        {"'abc' charAt: 1",                       "a"},
+        {"'abc' charAt: 3",                       "c"},
+        {"#abc charAt: 2",                        "b"},
+        {"('xabcx' substringFrom: 2 to: 4) charAt: 3", "c"},
+        {"'abc' charAt: 0",                       "Error - index out of bounds"},
+        {"'abc' charAt: 4",                       "Error - index out of bounds"},
+        {"'abc' charAt: 4294967297",              "Error - index out of bounds"},
+        {"'' charAt: 1",                          "Error - index out of bounds"},
+
+        {"'hello world' indexOf: 'o'",            5L},
+        {"'hello world' indexOf: #world",         7L},
+        {"'hello' indexOf: 'x'",                  0L},
+        {"'hello' indexOf: ''",                   1L},
+        {"'' indexOf: 'a'",                       0L},
+
+        {"'abababa' occurrencesOf: 'aba'",        2L},
+        {"'hello' occurrencesOf: 'l'",            2L},
+        {"'hello' occurrencesOf: 'x'",            0L},
+        {"'hello' occurrencesOf: ''",             0L},
+        {"'' occurrencesOf: 'a'",                 0L},
+        {"'' occurrencesOf: ''",                  0L},
+
+        {"('a,b,,c' split: ',') length",          4L},
+        {"('a,b,,c' split: ',') at: 3",           ""},
+        {"('a,b,,c' split: ',') at: 4",           "c"},
+        {"('a::b' split: '::') at: 2",            "b"},
+        {"('abc' split: ',') length",             1L},
+        {"('abc' split: '') length",              3L},
+        {"('abc' split: '') at: 2",               "b"},
+        {"('' split: ',') length",                1L},
+        {"('' split: ',') at: 1",                 ""},
+        {"('' split: '') length",                 0L},
+
+        {"'abc' compare: 'abd'",                  -1L},
+        {"'abc' compare: 'abc'",                  0L},
+        {"'b' compare: 'abc'",                    1L},
+        {"'' compare: 'a'",                       -1L},
+        {"#abc compare: 'abc'",                   0L},
+
+        {"'abc' < 'abd'",                         true},
+        {"'abc' < 'abc'",                         false},
+        {"'' < 'a'",                              true},
+        {"#b < #a",                               false},
+
+        {"'hello' startsWith: 'he'",              true},
+        {"'hello' startsWith: 'lo'",              false},
+        {"'hello' startsWith: ''",                true},
+        {"'' startsWith: 'a'",                    false},
+
+        {"'hello' endsWith: 'lo'",                true},
+        {"'hello' endsWith: 'he'",                false},
+        {"'hello' endsWith: ''",                  true},
+        {"#hello endsWith: #lo",                  true},
+
+        {"'abc' asUppercase",                     "ABC"},
+        {"'' asUppercase",                        ""},
+        {"#abc asUppercase",                      "#ABC"},
+
+        {SLICE + " length",                       (long) SLICE_TEXT.length()},
+        {SLICE + " charAt: 1",                    "a"},
+        {SLICE + " charAt: 36",                   "9"},
+        {SLICE + " charAt: 37",                   "Error - index out of bounds"},
+        {SLICE + " indexOf: 'xyz'",               24L},
+        {"'--" + SLICE_TEXT + "' indexOf: " + SLICE, 3L},
+        {SLICE + " occurrencesOf: 'a'",           1L},
+        {"'" + SLICE_TEXT + SLICE_TEXT + "' occurrencesOf: " + SLICE, 2L},
+        {"(" + SLICE + " split: 'z') at: 2",      DIGITS},
+        {"('a' , " + SLICE + " , 'a' split: " + SLICE + ") length", 2L},
+        {SLICE + " compare: '" + SLICE_TEXT + "'", 0L},
+        {"'abc' compare: " + SLICE,               -1L},
+        {SLICE + " < " + ROPE,                    true},
+        {"'--' < " + SLICE,                       true},
+        {SLICE + " startsWith: 'abc'",            true},
+        {"'" + SLICE_TEXT + "--' startsWith: " + SLICE, true},
+        {SLICE + " endsWith: '789'",              true},
+        {"'--" + SLICE_TEXT + "' endsWith: " + SLICE, true},
+        {SLICE + " asUppercase",                  SLICE_TEXT.toUpperCase()},
+
+        {ROPE + " length",                        (long) ROPE_TEXT.length()},
+        {ROPE + " charAt: 79",                    "0"},
+        {ROPE + " charAt: " + (ROPE_TEXT.length() + 1), "Error - index out of bounds"},
+        {ROPE + " indexOf: 'z0'",                 78L},
+        {ROPE + " indexOf: " + ROPE,              1L},
+        {ROPE + " occurrencesOf: 'abc'",          3L},
+        {"'" + ROPE_TEXT + ROPE_TEXT + "' occurrencesOf: " + ROPE, 2L},
+        {"(" + ROPE + " split: '9') length",      7L},
+        {"('x' , " + ROPE + " , 'x' split: " + ROPE + ") at: 2", "x"},
+        {ROPE + " compare: '" + ROPE_TEXT + "'",  0L},
+        {"'abd' compare: " + ROPE,                1L},
+        {ROPE + " < " + SLICE,                    false},
+        {ROPE + " startsWith: 'abc'",             true},
+        {ROPE + " startsWith: " + SLICE,          false},
+        {"'" + ROPE_TEXT + "-' startsWith: " + ROPE, true},
+        {ROPE + " endsWith: '789'",               true},
+        {"'-" + ROPE_TEXT + "' endsWith: " + ROPE, true},
+        {ROPE + " asUppercase",                   ROPE_TEXT.toUpperCase()},
+    });
+  }
+
+  private final String expression;
+  private final Object expectedResult;
+
+  public StringPrimitiveTests(final String expression,
+      final Object expectedResult) {
+    this.expression     = expression;
+    this.expectedResult = expectedResult;
+  }
+
+  @Test
+  public void testStringPrimitive() {
+    Universe u = Universe.current();
+    u.setAvoidExit(true);
+    u.setupClassPath("Smalltalk");
+    u.initializeObjectSystem();
+
+    Object actualResult = u.evaluateExpression(expression, Nil.nilObject);
+
+    assertEquals(expectedResult, normalize(actualResult));
+  }
+
+  private static Object normalize(final Object result) {
+    if (result instanceof SSymbol) {
+      return "#" + ((SSymbol) result).getString();
+    }
+    if (result instanceof CharSequence) {
+      return result.toString();
+    }
+    return result;
+  }
+}
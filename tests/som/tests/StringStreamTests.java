@@ -0,0 +1,85 @@
+package som.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.oracle.truffle.api.source.Source;
+
+import som.vm.Universe;
+import som.vm.constants.Nil;
+
+
+/**
+ * Checks what the <code>StringStream</code> primitives append, in
+ * particular for <code>print:</code>, which sends <code>asString</code> to
+ * objects that are not strings or numbers.
+ */
+public class StringStreamTests {
+
+  private Universe universe;
+
+  @Before
+  public void initializeUniverse() {
+    universe = Universe.current();
+    universe.setAvoidExit(true);
+    universe.setupClassPath("Smalltalk");
+    universe.initializeObjectSystem();
+  }
+
+  /**
+   * Evaluate the statements, which write to the stream <code>s</code>, and
+   * return its contents.
+   */
+  private Object write(final String statements) {
+    return universe.evaluateExpression("[:s | " + statements
+        + ". s contents ] value: StringStream new", Nil.nilObject);
+  }
+
+  @Test
+  public void testNextPutAll() {
+    assertEquals("abcd", write("s nextPutAll: 'ab'. s nextPutAll: #c. "
+        + "s nextPut: 'd'"));
+  }
+
+  @Test
+  public void testSizeAndReset() {
+    // the writing primitives return the stream
+    assertEquals(3L, universe.evaluateExpression(
+        "(StringStream new nextPutAll: 'abc') size", Nil.nilObject));
+    assertEquals("d", write("s nextPutAll: 'abc'. s reset. s nextPutAll: 'd'"));
+  }
+
+  @Test
+  public void testPrintNumbers() {
+    assertEquals("42 -7 1.5", write("s print: 42. s nextPut: ' '. "
+        + "s print: 0 - 7. s nextPut: ' '. s print: 1.5"));
+  }
+
+  @Test
+  public void testPrintStrings() {
+    assertEquals("ab", write("s print: 'a'. s print: #b"));
+  }
+
+  @Test
+  public void testPrintObjectSendsAsString() {
+    universe.loadClass(Source.fromText(
+        "Named = ( asString = ( ^ 'named' ) )", "Named"));
+    universe.loadClass(Source.fromText("Plain = ( )", "Plain"));
+
+    assertEquals("named instance of Plain", write("s print: Named new. "
+        + "s nextPut: ' '. s print: Plain new"));
+  }
+
+  @Test
+  public void testPrintObjectWhoseAsStringIsNoString() {
+    universe.loadClass(Source.fromText(
+        "Number = ( asString = ( ^ 42 ) )", "Number"));
+    universe.loadClass(Source.fromText(
+        "Nested = ( asString = ( ^ Object new ) )", "Nested"));
+
+    assertEquals("42 instance of Object", write("s print: Number new. "
+        + "s nextPut: ' '. s print: Nested new"));
+  }
+}
@@ -0,0 +1,112 @@
+package som.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.oracle.truffle.api.source.Source;
+
+import som.compiler.SourcecodeCompiler;
+import som.vm.Universe;
+import som.vm.constants.Nil;
+import som.vmobjects.SClass;
+
+
+/**
+ * Runs multiple universes, which share the kernel classes and the symbols,
+ * but have their own globals, and load the other classes separately.
+ */
+public class UniverseIsolationTests {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private static Universe createUniverse(final String classPath) {
+    Universe u = Universe.create();
+    u.setAvoidExit(true);
+    u.setupClassPath(classPath);
+    u.initializeObjectSystem();
+    return u;
+  }
+
+  private static Object evaluateIn(final Universe u, final String expression) {
+    Universe previous = Universe.setCurrent(u);
+    try {
+      return u.evaluateExpression(expression, Nil.nilObject);
+    } finally {
+      Universe.setCurrent(previous);
+    }
+  }
+
+  /**
+   * Replace the <code>system</code> global, which
+   * <code>Object>>#unknownGlobal:</code> reads, with an object that answers
+   * the given name.
+   */
+  private static Universe createUniverseWithResolver(final String name) {
+    Universe u = createUniverse("Smalltalk");
+    Universe previous = Universe.setCurrent(u);
+    try {
+      SClass resolver = SourcecodeCompiler.compileClass(Source.fromText(
+          "Resolver = ( resolve: name = ( ^'" + name + "' ) )", "Resolver"),
+          null, u);
+      u.setGlobal("system", Universe.newInstance(resolver));
+    } finally {
+      Universe.setCurrent(previous);
+    }
+    return u;
+  }
+
+  @Test
+  public void testKernelReadsGlobalsOfExecutingUniverse() {
+    Universe a = createUniverseWithResolver("A");
+    Universe b = createUniverseWithResolver("B");
+
+    String resolve = "nil unknownGlobal: #Undefined";
+    assertEquals("B", evaluateIn(b, resolve));
+    assertEquals("A", evaluateIn(a, resolve));
+    assertEquals("B", evaluateIn(b, resolve));
+  }
+
+  @Test
+  public void testClassSideStateIsPerUniverse() throws IOException {
+    File dir = folder.newFolder();
+    Files.write(new File(dir, "Counter.som").toPath(), (
+        "Counter = (\n"
+      + "  ----\n"
+      + "  | count |\n"
+      + "  increment = (\n"
+      + "    count isNil ifTrue: [ count := 0 ].\n"
+      + "    count := count + 1.\n"
+      + "    ^ count )\n"
+      + ")\n").getBytes(StandardCharsets.UTF_8));
+
+    Universe a = createUniverse("Smalltalk:" + dir.getPath());
+    Universe b = createUniverse("Smalltalk:" + dir.getPath());
+
+    assertEquals(1L, evaluateIn(a, "Counter increment"));
+    assertEquals(2L, evaluateIn(a, "Counter increment"));
+    assertEquals(1L, evaluateIn(b, "Counter increment"));
+    assertEquals(3L, evaluateIn(a, "Counter increment"));
+  }
+
+  @Test
+  public void testSymbolsAreSharedByAllUniverses() {
+    Universe a = createUniverse("Smalltalk");
+    Universe b = createUniverse("Smalltalk");
+
+    Object fromA = evaluateIn(a, "'isolated' asSymbol");
+    assertSame(fromA, evaluateIn(b, "#isolated"));
+    assertSame(fromA, evaluateIn(b, "'isolated' asSymbol"));
+    assertEquals(true, evaluateIn(b, "'isolated' asSymbol == #isolated"));
+    assertEquals(true, evaluateIn(a, "#isolated asUppercase == #ISOLATED"));
+  }
+}
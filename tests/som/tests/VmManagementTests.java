@@ -0,0 +1,100 @@
+package som.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.oracle.truffle.api.source.Source;
+
+import som.vm.Universe;
+import som.vm.VmManagement;
+import som.vm.VmSettings;
+import som.vm.constants.Nil;
+
+
+/**
+ * Reads the counters of the VM from the platform MBean server, like a JMX
+ * client does, and checks that they are the totals of all universes.
+ *
+ * The setting is read once, when the VM starts, so the tests need their own
+ * JVM, which the test target forks for each test class.
+ */
+public class VmManagementTests {
+
+  static {
+    System.setProperty("som.management", "true");
+  }
+
+  private static MBeanServer server;
+  private static ObjectName  name;
+
+  @BeforeClass
+  public static void checkManagementEnabled() throws JMException {
+    assertTrue("The management needs to be enabled before the VM is "
+        + "initialized, run the tests in a separate JVM",
+        VmSettings.MANAGEMENT);
+    server = ManagementFactory.getPlatformMBeanServer();
+    name   = new ObjectName(VmManagement.OBJECT_NAME);
+  }
+
+  private static Universe createUniverse() {
+    Universe u = Universe.create();
+    u.setAvoidExit(true);
+    u.setupClassPath("Smalltalk");
+    u.initializeObjectSystem();
+    return u;
+  }
+
+  private static long read(final String attribute) throws JMException {
+    return ((Number) server.getAttribute(name, attribute)).longValue();
+  }
+
+  @Test
+  public void testCountersAreTotalsOfAllUniverses() throws JMException {
+    Universe first  = createUniverse();
+    Universe second = createUniverse();
+    assertTrue(server.isRegistered(name));
+
+    long classes = read("ClassesLoaded");
+    long objects = read("ObjectsAllocated");
+    long arrays  = read("ArraysAllocated");
+
+    for (Universe u : new Universe[] {first, second}) {
+      Universe previous = Universe.setCurrent(u);
+      try {
+        u.loadClass(Source.fromText("Counted = ( )", "Counted"));
+        u.evaluateExpression("Counted new", Nil.nilObject);
+        u.evaluateExpression("Array new: 2", Nil.nilObject);
+      } finally {
+        Universe.setCurrent(previous);
+      }
+    }
+
+    assertEquals(classes + 2, read("ClassesLoaded"));
+    assertEquals(objects + 2, read("ObjectsAllocated"));
+    assertEquals(arrays  + 2, read("ArraysAllocated"));
+  }
+
+  @Test
+  public void testSymbolsAreCountedOnce() throws JMException {
+    createUniverse();
+    createUniverse();
+    long symbols = read("SymbolsInterned");
+    assertEquals(Universe.getNumberOfSymbols(), symbols);
+
+    // the symbol table is shared by the universes, so a symbol is counted
+    // once, no matter which universe interns it
+    Universe.symbolFor("symbolOnlyInThisTest");
+    assertEquals(symbols + 1, read("SymbolsInterned"));
+    Universe.symbolFor("symbolOnlyInThisTest");
+    assertEquals(symbols + 1, read("SymbolsInterned"));
+  }
+}